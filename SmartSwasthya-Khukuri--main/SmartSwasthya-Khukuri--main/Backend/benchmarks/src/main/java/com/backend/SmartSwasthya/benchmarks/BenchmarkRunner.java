@@ -0,0 +1,49 @@
+package com.backend.SmartSwasthya.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs the JMH benchmarks and writes the results as JSON to results/jmh-&lt;commit&gt;.json, so runs on
+ * different commits can be diffed with {@link CompareResults}. Accepts the usual JMH command line.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        String commit = System.getProperty("benchmark.commit", "");
+        if (commit.isBlank()) {
+            commit = gitCommit();
+        }
+        Path results = Path.of("results", "jmh-" + commit + ".json");
+        Files.createDirectories(results.getParent());
+
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.toString())
+                .build();
+        new Runner(options).run();
+        System.out.println("Results written to " + results.toAbsolutePath());
+    }
+
+    private static String gitCommit() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+            String commit = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            return git.waitFor() == 0 && !commit.isEmpty() ? commit : "local";
+        } catch (IOException e) {
+            return "local";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "local";
+        }
+    }
+}
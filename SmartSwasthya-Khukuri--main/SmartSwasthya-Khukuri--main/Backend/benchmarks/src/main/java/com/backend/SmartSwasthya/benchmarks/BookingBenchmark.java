@@ -0,0 +1,99 @@
+package com.backend.SmartSwasthya.benchmarks;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import com.backend.SmartSwasthya.Services.AppointmentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AppointmentService.bookAppointment against the embedded database: the validation path that rejects an
+ * already-booked slot, and a full book + cancel round trip on a free slot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private AppointmentService appointmentService;
+    private Long patientId;
+    private Long departmentId;
+    private Long doctorId;
+    private Long bookedSlotId;
+    private Long freeSlotId;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApplication.start("booking");
+        appointmentService = context.getBean(AppointmentService.class);
+
+        Hospital hospital = new Hospital();
+        hospital.setName("Benchmark Hospital");
+        hospital = context.getBean(HospitalRepository.class).save(hospital);
+        Department department = new Department();
+        department.setName("Benchmark Department");
+        department.setHospital(hospital);
+        department = context.getBean(DepartmentRepository.class).save(department);
+        Doctor doctor = new Doctor();
+        doctor.setName("Benchmark Doctor");
+        doctor.setHospital(hospital);
+        doctor.setDepartment(department);
+        doctor = context.getBean(DoctorRepository.class).save(doctor);
+        Patient patient = new Patient();
+        patient.setName("Benchmark Patient");
+        patient.setHospital(hospital);
+        patient = context.getBean(PatientRepository.class).save(patient);
+
+        patientId = patient.getId();
+        departmentId = department.getId();
+        doctorId = doctor.getId();
+        bookedSlotId = slot(doctor, LocalTime.of(9, 0));
+        freeSlotId = slot(doctor, LocalTime.of(9, 30));
+        appointmentService.bookAppointment(patientId, departmentId, doctorId, bookedSlotId, "Already booked");
+    }
+
+    // bookAndCancel leaves a CANCELLED row per call; without this the table grows across iterations
+    @TearDown(Level.Iteration)
+    public void removeCancelledAppointments() {
+        context.getBean(JdbcTemplate.class).update("DELETE FROM appointments WHERE available_slot_id = ?", freeSlotId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String rejectBookedSlot() {
+        try {
+            appointmentService.bookAppointment(patientId, departmentId, doctorId, bookedSlotId, "Benchmark");
+            throw new AssertionError("Booked slot was accepted");
+        } catch (IllegalStateException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public boolean bookAndCancel() {
+        Appointment appointment = appointmentService.bookAppointment(patientId, departmentId, doctorId, freeSlotId, "Benchmark");
+        return appointmentService.cancelAppointment(appointment.getId());
+    }
+
+    private Long slot(Doctor doctor, LocalTime start) {
+        DoctorAvailability slot = new DoctorAvailability();
+        slot.setDoctor(doctor);
+        slot.setAvailableDate(LocalDate.now().plusDays(1));
+        slot.setStartTime(start);
+        slot.setEndTime(start.plusMinutes(30));
+        return context.getBean(DoctorAvailabilityRepository.class).save(slot).getId();
+    }
+}
@@ -0,0 +1,62 @@
+package com.backend.SmartSwasthya.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files and exits non-zero if any benchmark regressed by more than the
+ * threshold (default 10%). Throughput modes regress when the score drops; time modes when it rises.
+ *
+ *   -Dcompare.baseline=results/jmh-a.json -Dcompare.current=results/jmh-b.json [-Dcompare.threshold=0.10]
+ */
+public class CompareResults {
+
+    public static void main(String[] args) throws IOException {
+        Path baseline = Path.of(System.getProperty("compare.baseline", args.length > 0 ? args[0] : ""));
+        Path current = Path.of(System.getProperty("compare.current", args.length > 1 ? args[1] : ""));
+        double threshold = Double.parseDouble(System.getProperty("compare.threshold", "0.10"));
+
+        Map<String, JsonNode> before = load(baseline);
+        Map<String, JsonNode> after = load(current);
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, JsonNode> entry : after.entrySet()) {
+            JsonNode old = before.get(entry.getKey());
+            if (old == null) {
+                continue;
+            }
+            double was = old.path("primaryMetric").path("score").asDouble();
+            double now = entry.getValue().path("primaryMetric").path("score").asDouble();
+            boolean higherIsBetter = "thrpt".equals(entry.getValue().path("mode").asText());
+            double change = was == 0 ? 0 : (now - was) / was;
+            boolean regressed = higherIsBetter ? change < -threshold : change > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %8.1f%%%s%n", entry.getKey(), was, now, change * 100,
+                    regressed ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than " + Math.round(threshold * 100) + "%");
+            System.exit(1);
+        }
+    }
+
+    // Keyed by benchmark method, mode and parameter values
+    private static Map<String, JsonNode> load(Path file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText())
+                    .append(" [").append(result.path("mode").asText()).append(']');
+            result.path("params").properties().forEach(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
@@ -0,0 +1,28 @@
+package com.backend.SmartSwasthya.benchmarks;
+
+import com.backend.SmartSwasthya.SmartSwasthyaApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the full application context (no web server) against a private in-memory H2 database, for
+ * benchmarks that go through the real services and repositories.
+ */
+final class EmbeddedApplication {
+
+    private EmbeddedApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(SmartSwasthyaApplication.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--smartswasthya.storage.type=local",
+                "--smartswasthya.storage.local.root=target/bench-report-store",
+                "--smartswasthya.upload.spool-dir=target/bench-upload-spool",
+                "--logging.level.root=WARN");
+    }
+}
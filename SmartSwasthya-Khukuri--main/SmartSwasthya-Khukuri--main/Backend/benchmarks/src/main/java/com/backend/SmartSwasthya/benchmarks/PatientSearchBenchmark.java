@@ -0,0 +1,94 @@
+package com.backend.SmartSwasthya.benchmarks;
+
+import com.backend.SmartSwasthya.Models.Hospital;
+import com.backend.SmartSwasthya.Models.Patient;
+import com.backend.SmartSwasthya.Repository.HospitalRepository;
+import com.backend.SmartSwasthya.Repository.PatientRepository;
+import com.backend.SmartSwasthya.Services.PatientSearchIndex;
+import com.backend.SmartSwasthya.Services.PatientService;
+import com.backend.SmartSwasthya.dto.PatientMatch;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Patient lookups over one hospital's patients: through PatientSearchIndex by phone prefix, name prefix
+ * and a misspelt name, and the way reception did it before, loading the hospital's patients and
+ * filtering them in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientSearchBenchmark {
+
+    private static final String[] GIVEN = {"Sita", "Ram", "Hari", "Gita", "Laxmi", "Bishnu", "Krishna", "Sunita", "Binod", "Anita",
+            "Sarita", "Ramesh", "Suresh", "Kamala", "Dipak", "Sabina", "Rajendra", "Manisha", "Prakash", "Puja"};
+    private static final String[] MIDDLE = {"Kumari", "Bahadur", "Prasad", "Maya", "Devi"};
+    private static final String[] FAMILY = {"Shrestha", "Thapa", "Gurung", "Rai", "Limbu", "Tamang", "Magar", "Karki", "Adhikari", "Poudel",
+            "Sharma", "Khadka", "Bhandari", "Basnet", "Koirala", "Sapkota", "Ghimire", "Bista", "Maharjan", "Chaudhary"};
+
+    @Param({"50000"})
+    private int patients;
+
+    private ConfigurableApplicationContext context;
+    private PatientService patientService;
+    private PatientRepository patientRepository;
+    private Long hospitalId;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApplication.start("patient-search");
+        patientService = context.getBean(PatientService.class);
+        patientRepository = context.getBean(PatientRepository.class);
+
+        Hospital hospital = new Hospital();
+        hospital.setName("Benchmark Hospital");
+        hospitalId = context.getBean(HospitalRepository.class).save(hospital).getId();
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < patients; i++) {
+            String name = GIVEN[i % GIVEN.length] + " " + MIDDLE[i % MIDDLE.length] + " " + FAMILY[(i / GIVEN.length) % FAMILY.length];
+            rows.add(new Object[]{name, String.format("98%08d", i), i % 2 == 0 ? "F" : "M", 20 + i % 60, hospitalId});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "INSERT INTO patients (name, phone, gender, age, hospital_id) VALUES (?, ?, ?, ?, ?)", rows);
+        context.getBean(PatientSearchIndex.class).rebuild(); // Seeded behind the index's back
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PatientMatch> phonePrefix() {
+        return patientService.searchPatients("9800012", hospitalId, 10);
+    }
+
+    @Benchmark
+    public List<PatientMatch> namePrefix() {
+        return patientService.searchPatients("sunita gur", hospitalId, 10);
+    }
+
+    @Benchmark
+    public List<PatientMatch> misspeltName() {
+        return patientService.searchPatients("krisna adikary", hospitalId, 10);
+    }
+
+    @Benchmark
+    public List<Patient> loadAndFilter() {
+        String query = "sunita gur";
+        return patientRepository.findByHospitalId(hospitalId).stream()
+                .filter(patient -> patient.getName().toLowerCase(Locale.ROOT).startsWith(query))
+                .limit(10)
+                .toList();
+    }
+}
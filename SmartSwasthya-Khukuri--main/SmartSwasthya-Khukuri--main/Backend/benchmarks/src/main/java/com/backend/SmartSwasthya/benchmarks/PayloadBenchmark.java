@@ -0,0 +1,94 @@
+package com.backend.SmartSwasthya.benchmarks;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.dto.Views;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size and encoding cost of the department listing (departments embedding their doctors) for each
+ * view and wire format the API negotiates. "full"/"json" is what every client received before compact
+ * views and CBOR existed; the gzip benchmark adds what Tomcat's response compression costs on top.
+ * Sizes are printed once per trial so the CPU numbers can be read against bytes on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadBenchmark {
+
+    @Param({"full", "compact"})
+    private String view;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    @Param({"100"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<Department> departments;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Same settings the application's converters get, including default view inclusion
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json().defaultViewInclusion(true);
+        ObjectMapper objectMapper = "cbor".equals(format) ? builder.factory(new CBORFactory()).build() : builder.build();
+        writer = objectMapper.writerWithView("compact".equals(view) ? Views.Compact.class : Views.Full.class);
+
+        Hospital hospital = new Hospital();
+        hospital.setId(1L);
+        hospital.setName("Khukuri Hospital");
+        hospital.setAddress("Dharan");
+        hospital.setEmail("info@khukuri.example");
+
+        departments = new ArrayList<>();
+        for (int d = 0; d < Math.max(1, size / 10); d++) {
+            Department department = new Department();
+            department.setId((long) d);
+            department.setName("Department " + d);
+            department.setDescription("Outpatient department " + d + " with general and specialist clinics");
+            department.setHospital(hospital);
+            department.setDoctors(new ArrayList<>());
+            departments.add(department);
+            for (int n = 0; n < 10; n++) {
+                Doctor doctor = new Doctor();
+                doctor.setId((long) d * 10 + n);
+                doctor.setName("Doctor " + (d * 10 + n));
+                doctor.setContact("98000" + (d * 10 + n));
+                doctor.setSpecialization("General Medicine");
+                doctor.setHospital(hospital);
+                doctor.setDepartment(department);
+                department.getDoctors().add(doctor);
+            }
+        }
+
+        System.out.printf("%n%s/%s: %d bytes raw, %d bytes gzip%n", view, format, encode().length, encodeGzip().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(departments);
+    }
+
+    @Benchmark
+    public byte[] encodeGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            writer.writeValue(gzip, departments);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,89 @@
+package com.backend.SmartSwasthya.benchmarks;
+
+import com.backend.SmartSwasthya.Models.Hospital;
+import com.backend.SmartSwasthya.Models.Patient;
+import com.backend.SmartSwasthya.Models.PatientReport;
+import com.backend.SmartSwasthya.Models.ReportStatus;
+import com.backend.SmartSwasthya.Repository.HospitalRepository;
+import com.backend.SmartSwasthya.Repository.PatientReportRepository;
+import com.backend.SmartSwasthya.Repository.PatientRepository;
+import com.backend.SmartSwasthya.Services.PatientReportService;
+import com.backend.SmartSwasthya.dto.ReportUploadStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a patient's report metadata from the embedded database and mapping it to the response shapes:
+ * the PatientReport list returned by GET /api/patient-reports/patient/{id} and the upload status DTOs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportMetadataBenchmark {
+
+    @Param({"10", "200"})
+    private int reports;
+
+    private ConfigurableApplicationContext context;
+    private PatientReportService patientReportService;
+    private ObjectMapper objectMapper;
+    private Long patientId;
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApplication.start("report-metadata-" + reports);
+        patientReportService = context.getBean(PatientReportService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        Hospital hospital = new Hospital();
+        hospital.setName("Benchmark Hospital");
+        hospital = context.getBean(HospitalRepository.class).save(hospital);
+        Patient patient = new Patient();
+        patient.setName("Benchmark Patient");
+        patient.setHospital(hospital);
+        patient = context.getBean(PatientRepository.class).save(patient);
+        patientId = patient.getId();
+
+        List<PatientReport> rows = new ArrayList<>();
+        for (int i = 0; i < reports; i++) {
+            PatientReport report = new PatientReport();
+            report.setPatient(patient);
+            report.setReportType(i % 2 == 0 ? "Blood Test" : "X-Ray");
+            report.setReportUrl("https://res.cloudinary.com/demo/raw/upload/report-" + i);
+            report.setCloudinaryPublicId("report-" + i);
+            report.setUploadedBy("Lab Technician");
+            report.setUploadedDate(LocalDate.now().minusDays(i));
+            report.setStatus(ReportStatus.UPLOADED);
+            rows.add(report);
+        }
+        context.getBean(PatientReportRepository.class).saveAll(rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] reportList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(patientReportService.getReportsByPatientId(patientId));
+    }
+
+    @Benchmark
+    public byte[] uploadStatuses() throws JsonProcessingException {
+        List<ReportUploadStatus> statuses = patientReportService.getReportsByPatientId(patientId).stream()
+                .map(ReportUploadStatus::from)
+                .toList();
+        return objectMapper.writeValueAsBytes(statuses);
+    }
+}
@@ -0,0 +1,101 @@
+package com.backend.SmartSwasthya.benchmarks;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of the entity lists the controllers return, including the managed/back-reference
+ * graph (departments embed their doctors, doctors and appointments carry back references that Jackson
+ * has to skip). Uses an ObjectMapper configured the way Spring Boot builds its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Appointment> appointments;
+    private List<Doctor> doctors;
+    private List<Department> departments;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Hospital hospital = new Hospital();
+        hospital.setId(1L);
+        hospital.setName("Khukuri Hospital");
+        hospital.setAddress("Dharan");
+
+        Patient patient = new Patient();
+        patient.setId(1L);
+        patient.setName("Benchmark Patient");
+        patient.setHospital(hospital);
+
+        // Ten doctors per department, so the department list is a tenth of the size but embeds every doctor
+        departments = new ArrayList<>();
+        doctors = new ArrayList<>();
+        appointments = new ArrayList<>();
+        for (int d = 0; d < Math.max(1, size / 10); d++) {
+            Department department = new Department();
+            department.setId((long) d);
+            department.setName("Department " + d);
+            department.setDescription("Outpatient department " + d);
+            department.setHospital(hospital);
+            department.setDoctors(new ArrayList<>());
+            departments.add(department);
+            for (int n = 0; n < 10 && doctors.size() < size; n++) {
+                Doctor doctor = new Doctor();
+                doctor.setId((long) doctors.size());
+                doctor.setName("Doctor " + doctors.size());
+                doctor.setContact("98000" + doctors.size());
+                doctor.setSpecialization("General Medicine");
+                doctor.setHospital(hospital);
+                doctor.setDepartment(department);
+                department.getDoctors().add(doctor);
+                doctors.add(doctor);
+            }
+        }
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < size; i++) {
+            Doctor doctor = doctors.get(i % doctors.size());
+            Appointment appointment = new Appointment();
+            appointment.setId((long) i);
+            appointment.setAppointmentTime(start.plusMinutes(15L * i));
+            appointment.setReason("Follow-up visit " + i);
+            appointment.setPatient(patient);
+            appointment.setDoctor(doctor);
+            appointment.setDepartment(doctor.getDepartment());
+            appointments.add(appointment);
+        }
+    }
+
+    @Benchmark
+    public byte[] appointments() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(appointments);
+    }
+
+    @Benchmark
+    public byte[] doctors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(doctors);
+    }
+
+    @Benchmark
+    public byte[] departmentsWithDoctors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(departments);
+    }
+}
@@ -0,0 +1,102 @@
+package com.backend.SmartSwasthya.benchmarks;
+
+import com.backend.SmartSwasthya.Models.Department;
+import com.backend.SmartSwasthya.Models.Doctor;
+import com.backend.SmartSwasthya.Models.DoctorAvailability;
+import com.backend.SmartSwasthya.Models.Hospital;
+import com.backend.SmartSwasthya.Repository.DepartmentRepository;
+import com.backend.SmartSwasthya.Repository.DoctorAvailabilityRepository;
+import com.backend.SmartSwasthya.Repository.DoctorRepository;
+import com.backend.SmartSwasthya.Repository.HospitalRepository;
+import com.backend.SmartSwasthya.Services.DoctorAvailabilityService;
+import com.backend.SmartSwasthya.Services.SlotAvailabilityIndex;
+import com.backend.SmartSwasthya.dto.SlotView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Free-slot lookups for a (doctor, day): through the resident SlotAvailabilityIndex, as the controller
+ * does, and straight from the database for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlotLookupBenchmark {
+
+    private static final int DOCTORS = 20;
+    private static final int DAYS = 30;
+    private static final int SLOTS_PER_DAY = 32;
+
+    private ConfigurableApplicationContext context;
+    private DoctorAvailabilityService availabilityService;
+    private DoctorAvailabilityRepository availabilityRepository;
+    private final List<Long> doctorIds = new ArrayList<>();
+    private final LocalDate firstDay = LocalDate.now().plusDays(1);
+
+    @Setup
+    public void setUp() {
+        context = EmbeddedApplication.start("slot-lookup");
+        availabilityService = context.getBean(DoctorAvailabilityService.class);
+        availabilityRepository = context.getBean(DoctorAvailabilityRepository.class);
+
+        Hospital hospital = new Hospital();
+        hospital.setName("Benchmark Hospital");
+        hospital = context.getBean(HospitalRepository.class).save(hospital);
+        Department department = new Department();
+        department.setName("Benchmark Department");
+        department.setHospital(hospital);
+        department = context.getBean(DepartmentRepository.class).save(department);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (int d = 0; d < DOCTORS; d++) {
+            Doctor doctor = new Doctor();
+            doctor.setName("Doctor " + d);
+            doctor.setHospital(hospital);
+            doctor.setDepartment(department);
+            doctor = context.getBean(DoctorRepository.class).save(doctor);
+            doctorIds.add(doctor.getId());
+            for (int day = 0; day < DAYS; day++) {
+                for (int s = 0; s < SLOTS_PER_DAY; s++) {
+                    LocalTime start = LocalTime.of(9, 0).plusMinutes(15L * s);
+                    rows.add(new Object[]{doctor.getId(), Date.valueOf(firstDay.plusDays(day)),
+                            Time.valueOf(start), Time.valueOf(start.plusMinutes(15)), s % 3 == 0});
+                }
+            }
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("INSERT INTO doctor_availabilities "
+                + "(doctor_id, available_date, start_time, end_time, is_booked) VALUES (?, ?, ?, ?, ?)", rows);
+        context.getBean(SlotAvailabilityIndex.class).warmUp(); // Seeded behind the index's back
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DoctorAvailability> indexLookup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return availabilityService.getAvailableSlotsForDoctorAndDate(
+                doctorIds.get(random.nextInt(DOCTORS)), firstDay.plusDays(random.nextInt(DAYS)));
+    }
+
+    @Benchmark
+    public List<SlotView> databaseLookup() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return availabilityRepository.findSlotViews(
+                doctorIds.get(random.nextInt(DOCTORS)), firstDay.plusDays(random.nextInt(DAYS)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.backend.SmartSwasthya.Config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Application metrics that Spring Boot doesn't provide out of the box. HTTP latency, Hikari pool usage
+ * (hikaricp.connections.*) and JVM meters come from actuator auto-configuration; the service-level timers
+ * live next to the code they measure.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer requestStatementCounter() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new RequestStatementCounter());
+    }
+
+    @Bean
+    public RequestMetricsFilter requestMetricsFilter(MeterRegistry meterRegistry) {
+        return new RequestMetricsFilter(meterRegistry);
+    }
+
+    /**
+     * Records how many SQL statements each request issued, tagged like http.server.requests, so an
+     * endpoint that grows N+1 queries or holds the pool for many round trips stands out.
+     */
+    static class RequestMetricsFilter extends OncePerRequestFilter {
+
+        private final MeterRegistry meterRegistry;
+
+        RequestMetricsFilter(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            RequestStatementCounter.reset();
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                DistributionSummary.builder("smartswasthya.http.db.statements")
+                        .description("SQL statements issued while handling a request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                        .register(meterRegistry)
+                        .record(RequestStatementCounter.current());
+            }
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package com.backend.SmartSwasthya.Config;
 
 import com.cloudinary.Cloudinary;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -16,16 +21,31 @@ import java.util.Map;
 @Configuration
 public class ProjectConfig {
 
-    @Value("${API_NAME}")
+    // Defaults let the app start with smartswasthya.storage.type=local, where no Cloudinary account is configured
+    @Value("${API_NAME:}")
     private String cloudName;
 
-    @Value("${API_KEY}")
+    @Value("${API_KEY:}")
     private String apiKey;
 
-    @Value("${API_SECRET}")
+    @Value("${API_SECRET:}")
     private String apiSecret;
 
+    // Properties without a @JsonView stay in every view; only Views.Full ones are dropped from the compact view
     @Bean
+    public Jackson2ObjectMapperBuilderCustomizer defaultViewInclusion() {
+        return builder -> builder.defaultViewInclusion(true);
+    }
+
+    // CBOR for clients that send Accept: application/cbor, built from Spring Boot's Jackson settings so it
+    // serialises exactly like the JSON converter (dates, views) in a smaller binary form
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "smartswasthya.storage.type", havingValue = "cloudinary", matchIfMissing = true)
     public Cloudinary getCloudinary() {
         Map map = new HashMap();
         map.put("cloud_name", cloudName);
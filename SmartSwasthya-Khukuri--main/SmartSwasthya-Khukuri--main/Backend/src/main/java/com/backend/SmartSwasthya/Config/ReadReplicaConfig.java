@@ -0,0 +1,171 @@
+package com.backend.SmartSwasthya.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.*;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Splits database traffic between the primary (spring.datasource) and a streaming replica
+ * (smartswasthya.datasource.replica) when a replica URL is configured; without one, Spring Boot's single
+ * datasource is used unchanged.
+ *
+ * The datasource handed to JPA and JdbcTemplate is a lazy proxy over a routing datasource, so the physical
+ * connection is only taken at the first statement, after the transaction's read-only flag is known.
+ * ReplicaRouting decides where it comes from. Flyway and schema validation run outside a transaction and
+ * therefore always on the primary.
+ *
+ * Sessions reading from the replica use the second-level cache but never put into it: a lagging replica
+ * would otherwise bring back an entry an edit or delete on the primary just evicted, for the cache's TTL.
+ */
+@Configuration
+@Conditional(ReadReplicaConfig.ReplicaConfigured.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("smartswasthya.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRouting replicaRouting(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${smartswasthya.read-replica.lag-tolerance:PT2S}") Duration lagTolerance,
+            @Value("${smartswasthya.read-replica.lag-query:}") String lagQuery,
+            MeterRegistry meterRegistry) {
+        return new ReplicaRouting(replica, lagTolerance, lagQuery, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaRouting replicaRouting) {
+        RoutingDataSource routing = new RoutingDataSource(replicaRouting);
+        routing.setTargetDataSources(Map.of(ReplicaRouting.Target.PRIMARY, primary, ReplicaRouting.Target.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReplicaRouting.StickyReadsFilter stickyReadsFilter() {
+        return new ReplicaRouting.StickyReadsFilter();
+    }
+
+    // Static so it is registered before the entity manager factory it configures
+    @Bean
+    static BeanPostProcessor replicaAwareJpaDialect(ObjectProvider<ReplicaRouting> replicaRouting) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReplicaAwareJpaDialect(replicaRouting));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Fixes a read-only transaction's target when it begins and, if that is the replica, bypasses cache
+     * stores (CacheMode.GET) for the transaction.
+     */
+    static class ReplicaAwareJpaDialect extends HibernateJpaDialect {
+
+        private final ObjectProvider<ReplicaRouting> replicaRouting;
+
+        ReplicaAwareJpaDialect(ObjectProvider<ReplicaRouting> replicaRouting) {
+            this.replicaRouting = replicaRouting;
+        }
+
+        @Override
+        public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+                throws PersistenceException, SQLException, TransactionException {
+            Object transactionData = super.beginTransaction(entityManager, definition);
+            if (!definition.isReadOnly()) {
+                return transactionData;
+            }
+            Object storeMode = entityManager.getProperties().get(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE);
+            ReadOnlyTransaction readOnly = new ReadOnlyTransaction(transactionData, entityManager,
+                    storeMode != null ? storeMode : CacheStoreMode.USE, replicaRouting.getObject().beginRead());
+            if (ReplicaRouting.readsFromReplica()) {
+                // A session property rather than Session.setCacheMode: find() re-derives its cache mode from it
+                entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+            }
+            return readOnly;
+        }
+
+        @Override
+        public void cleanupTransaction(Object transactionData) {
+            if (transactionData instanceof ReadOnlyTransaction readOnly) {
+                // The session outlives the transaction under open-in-view
+                readOnly.entityManager().setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, readOnly.storeMode());
+                replicaRouting.getObject().endRead(readOnly.enclosingTarget());
+                transactionData = readOnly.transactionData();
+            }
+            super.cleanupTransaction(transactionData);
+        }
+
+        private record ReadOnlyTransaction(Object transactionData, EntityManager entityManager, Object storeMode,
+                                           ReplicaRouting.Target enclosingTarget) {
+        }
+    }
+
+    static class RoutingDataSource extends AbstractRoutingDataSource {
+
+        private final ReplicaRouting replicaRouting;
+
+        RoutingDataSource(ReplicaRouting replicaRouting) {
+            this.replicaRouting = replicaRouting;
+        }
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return replicaRouting.route();
+        }
+    }
+
+    // Enabled by a non-empty URL, so DB_REPLICA_URL can stay unset in application.properties
+    static class ReplicaConfigured implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return StringUtils.hasText(context.getEnvironment().getProperty("smartswasthya.datasource.replica.jdbc-url"));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.backend.SmartSwasthya.Config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache for hospitals, departments and doctors. These rows change a few times a
+ * day but are read by every booking and doctor listing, so findById/getReference on them is served from
+ * memory. Writes made through the entity manager (all of HospitalService, DepartmentService and
+ * DoctorService) update or evict the cached entry when their transaction commits; anything that changes
+ * these tables behind Hibernate's back must evict through EntityManagerFactory.getCache().
+ *
+ * The cache is per instance, so the time-to-live bounds how stale another instance's edit can look.
+ */
+@Configuration
+public class ReferenceDataCacheConfig {
+
+    // Must match the regions named by @Cache on the entities; any other region fails startup
+    static final List<String> REGIONS = List.of("reference.hospitals", "reference.departments", "reference.doctors");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager referenceDataCacheManager(
+            @Value("${smartswasthya.reference-cache.max-entries:10000}") long maxEntries,
+            @Value("${smartswasthya.reference-cache.time-to-live:PT1H}") Duration timeToLive,
+            MeterRegistry meterRegistry) {
+        // A manager of its own per application context, so contexts sharing a JVM (tests) never share entries
+        URI uri = URI.create("smartswasthya-reference-data-" + UUID.randomUUID());
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager(uri, getClass().getClassLoader());
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+            configuration.setStatisticsEnabled(true);
+            JCacheMetrics.monitor(meterRegistry, cacheManager.createCache(region, configuration));
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer referenceDataCache(CacheManager referenceDataCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, referenceDataCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
@@ -0,0 +1,210 @@
+package com.backend.SmartSwasthya.Config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides, per connection, whether work goes to the primary or the read replica (see ReadReplicaConfig).
+ *
+ * Read-only transactions go to the replica unless:
+ * - the request wrote earlier, or carries the cookie set by a write in the last lag-tolerance, so a client
+ *   that just booked or registered a patient reads its own write back;
+ * - the last lag check found the replica more than lag-tolerance behind (or could not reach it).
+ * Everything else, including work outside a transaction, goes to the primary. The choice is made once, when
+ * the read-only transaction begins (see ReadReplicaConfig.ReplicaAwareJpaDialect), so the session knows
+ * whether it reads from the replica before it loads anything.
+ */
+public class ReplicaRouting {
+
+    static final String STICKY_COOKIE = "SS_READ_PRIMARY";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouting.class);
+
+    // The request being handled on this thread; null for scheduled and background work
+    private static final ThreadLocal<RequestState> currentRequest = new ThreadLocal<>();
+    // Where the read-only transaction running on this thread reads from, fixed when it began
+    private static final ThreadLocal<Target> readTarget = new ThreadLocal<>();
+
+    enum Target { PRIMARY, REPLICA }
+
+    private final Duration lagTolerance;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final String lagQuery;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private volatile boolean replicaBehind;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    ReplicaRouting(DataSource replica, Duration lagTolerance, String lagQuery, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.lagTolerance = lagTolerance;
+        this.lagQuery = lagQuery;
+        this.primaryConnections = connections(meterRegistry, Target.PRIMARY);
+        this.replicaConnections = connections(meterRegistry, Target.REPLICA);
+        meterRegistry.gauge("smartswasthya.datasource.replica.lag", lagMillis);
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, Target target) {
+        return Counter.builder("smartswasthya.datasource.connections")
+                .description("Connections handed out by the routing datasource")
+                .tag("target", target.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    Target route() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Target target = readTarget.get() != null ? readTarget.get() : chooseReadTarget();
+            if (target == Target.REPLICA) {
+                replicaConnections.increment();
+                return Target.REPLICA;
+            }
+        } else if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            recordWrite();
+        }
+        primaryConnections.increment();
+        return Target.PRIMARY;
+    }
+
+    private Target chooseReadTarget() {
+        RequestState request = currentRequest.get();
+        return !replicaBehind && (request == null || !request.pinned) ? Target.REPLICA : Target.PRIMARY;
+    }
+
+    // Fixes where the read-only transaction beginning on this thread reads from; returns the enclosing one's
+    Target beginRead() {
+        Target enclosing = readTarget.get();
+        readTarget.set(chooseReadTarget());
+        return enclosing;
+    }
+
+    void endRead(Target enclosing) {
+        if (enclosing == null) {
+            readTarget.remove();
+        } else {
+            readTarget.set(enclosing);
+        }
+    }
+
+    static boolean readsFromReplica() {
+        return readTarget.get() == Target.REPLICA;
+    }
+
+    /**
+     * Sends the rest of the current request's reads to the primary, without the sticky cookie a write sets.
+     * For responses whose validators follow primary commits, such as the catalog ETags. Does nothing outside
+     * a request or without a replica.
+     */
+    public static void readFromPrimary() {
+        RequestState request = currentRequest.get();
+        if (request != null) {
+            request.pinned = true;
+        }
+    }
+
+    boolean isReplicaBehind() {
+        return replicaBehind;
+    }
+
+    // Reads the replica's own idea of its replay delay; an unreachable replica counts as behind
+    @Scheduled(fixedDelayString = "${smartswasthya.read-replica.lag-check-interval:PT5S}")
+    public void checkLag() {
+        if (lagQuery.isBlank()) {
+            return;
+        }
+        boolean behind;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(lagQuery, Double.class);
+            behind = lag == null || lag > lagTolerance.toMillis();
+            lagMillis.set(lag == null ? -1 : lag.longValue());
+        } catch (DataAccessException e) {
+            log.warn("Replica lag check failed; reads go to the primary until it succeeds: {}", e.getMessage());
+            behind = true;
+            lagMillis.set(-1);
+        }
+        if (behind != replicaBehind) {
+            log.info(behind ? "Replica is behind by more than {}; reading from the primary" : "Replica caught up; reads go to it again", lagTolerance);
+        }
+        replicaBehind = behind;
+    }
+
+    private void recordWrite() {
+        RequestState request = currentRequest.get();
+        if (request == null || request.wrote) {
+            return;
+        }
+        request.wrote = true;
+        request.pinned = true;
+        // Ignored if the response is already committed; the rest of this request stays pinned regardless
+        long until = System.currentTimeMillis() + lagTolerance.toMillis();
+        request.response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(STICKY_COOKIE, Long.toString(until))
+                .path("/")
+                .httpOnly(true)
+                .maxAge(Duration.ofSeconds(Math.max(1, (lagTolerance.toMillis() + 999) / 1000)))
+                .build().toString());
+    }
+
+    private static final class RequestState {
+        private final HttpServletResponse response;
+        private boolean pinned;
+        private boolean wrote;
+
+        private RequestState(HttpServletResponse response, boolean pinned) {
+            this.response = response;
+            this.pinned = pinned;
+        }
+    }
+
+    /**
+     * Tracks the request on its thread so writes can set the sticky cookie, and pins requests that carry
+     * an unexpired one to the primary.
+     */
+    static class StickyReadsFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            currentRequest.set(new RequestState(response, wroteRecently(request)));
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                currentRequest.remove();
+            }
+        }
+
+        private static boolean wroteRecently(HttpServletRequest request) {
+            Cookie[] cookies = request.getCookies();
+            if (cookies == null) {
+                return false;
+            }
+            for (Cookie cookie : cookies) {
+                if (STICKY_COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.backend.SmartSwasthya.Config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. RequestMetricsFilter resets the
+ * count when a request starts and records it when the request ends. Statements issued from background
+ * threads (upload queue, outbox, schedulers) are not attributed to any request.
+ */
+public class RequestStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql; // Never rewrites the statement
+    }
+
+    static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    static int current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,46 @@
+package com.backend.SmartSwasthya.Config;
+
+import com.backend.SmartSwasthya.dto.Views;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Serialises any Jackson response body (JSON or CBOR) with the compact view when the request asks for
+ * it with ?view=compact, so slow mobile links can skip descriptions, contact details and embedded
+ * doctor lists. Responses also vary by Accept, because the same URL can be negotiated as JSON or CBOR.
+ * Handlers that answer 304 themselves have to add that Vary header, as this advice only sees bodies.
+ */
+@ControllerAdvice
+public class ResponseViewAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    static final String VIEW_PARAMETER = "view";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request, ServerHttpResponse response) {
+        // CORS has usually added Vary: Origin already, so append rather than addIfAbsent
+        if (!response.getHeaders().getVary().contains(HttpHeaders.ACCEPT)) {
+            response.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && isCompact(servletRequest.getServletRequest().getParameter(VIEW_PARAMETER))) {
+            bodyContainer.setSerializationView(Views.Compact.class);
+        }
+    }
+
+    public static boolean isCompact(WebRequest request) {
+        return isCompact(request.getParameter(VIEW_PARAMETER));
+    }
+
+    private static boolean isCompact(String view) {
+        return "compact".equalsIgnoreCase(view);
+    }
+}
@@ -1,22 +1,35 @@
 package com.backend.SmartSwasthya.Controllers;
 
 import com.backend.SmartSwasthya.Models.Appointment;
+import com.backend.SmartSwasthya.Models.AppointmentStatus;
 import com.backend.SmartSwasthya.Services.AppointmentService;
+import com.backend.SmartSwasthya.dto.AppointmentFilter;
+import com.backend.SmartSwasthya.dto.AppointmentSummary;
+import com.backend.SmartSwasthya.dto.BatchBookingItem;
+import com.backend.SmartSwasthya.dto.BatchBookingResult;
+import com.backend.SmartSwasthya.dto.CursorPage;
 // REMOVED: import com.backend.SmartSwasthya.dto.AppointmentBookingRequest; // This import is no longer needed
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/appointments")
 @CrossOrigin(origins = {"http://localhost:5173", "http://127.0.0.1:5173"})
 public class AppointmentController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final AppointmentService appointmentService;
 
     @Autowired
@@ -52,27 +65,41 @@ public class AppointmentController {
         }
     }
 
+    // Books many patients at once (health camps, referral drives); each item gets its own result
+    @PostMapping("/book/batch")
+    public ResponseEntity<List<BatchBookingResult>> bookAppointments(@RequestBody List<BatchBookingItem> items) {
+        if (items == null || items.isEmpty() || items.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A batch must contain between 1 and " + MAX_BATCH_SIZE + " bookings");
+        }
+        try {
+            return new ResponseEntity<>(appointmentService.bookAppointments(items), HttpStatus.OK);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to book appointments: " + e.getMessage(), e);
+        }
+    }
+
     @GetMapping
-    public ResponseEntity<List<Appointment>> getAllAppointments(
+    public ResponseEntity<CursorPage<AppointmentSummary>> getAllAppointments(
             @RequestParam(required = false) Long patientId,
             @RequestParam(required = false) Long doctorId,
-            @RequestParam(required = false) Long departmentId) {
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) AppointmentStatus status, // default: everything but CANCELLED
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
         try {
-            List<Appointment> appointments;
-            if (patientId != null) {
-                appointments = appointmentService.getAppointmentsByPatientId(patientId);
-            } else if (doctorId != null) {
-                appointments = appointmentService.getAppointmentsByDoctorId(doctorId);
-            } else if (departmentId != null) {
-                appointments = appointmentService.getAppointmentsByDepartmentId(departmentId);
-            }
-            else {
-                appointments = appointmentService.getAllAppointments();
-            }
-            if (appointments.isEmpty()) {
+            AppointmentFilter filter = new AppointmentFilter(patientId, doctorId, departmentId, from, to, status);
+            CursorPage<AppointmentSummary> page = appointmentService.getAppointments(filter, cursor, limit);
+            if (page.items().isEmpty()) {
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT); // 204 if no appointments found matching criteria
             }
-            return new ResponseEntity<>(appointments, HttpStatus.OK);
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e); // 400 for a malformed cursor
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error fetching appointments.", e);
         }
@@ -111,6 +138,25 @@ public class AppointmentController {
         }
     }
 
+    // Lifecycle transition of a BOOKED appointment: CANCELLED (frees the slot), COMPLETED or NO_SHOW
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<Appointment> updateAppointmentStatus(@PathVariable Long id, @RequestParam AppointmentStatus status) {
+        Optional<Appointment> updated;
+        try {
+            updated = appointmentService.updateStatus(id, status);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e); // already completed/no-show/cancelled
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error updating appointment status.", e);
+        }
+        return updated
+                .map(updatedAppointment -> new ResponseEntity<>(updatedAppointment, HttpStatus.OK))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Appointment not found with ID: " + id));
+    }
+
+    // Soft cancel: the appointment is kept with status CANCELLED and its slot is freed
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> cancelAppointment(@PathVariable Long id) {
         try {
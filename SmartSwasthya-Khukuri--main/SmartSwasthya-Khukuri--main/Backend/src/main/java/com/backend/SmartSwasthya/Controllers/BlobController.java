@@ -0,0 +1,96 @@
+package com.backend.SmartSwasthya.Controllers;
+
+import com.backend.SmartSwasthya.Services.LocalFileImageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Serves report files kept by {@link LocalFileImageService}. Blobs are immutable (the id is their hash),
+ * so browsers cache them forever; they are patient records, so shared caches must not keep them at all.
+ * Served with Tomcat's sendfile when the connector supports it.
+ */
+@RestController
+@RequestMapping("/api/blobs")
+@CrossOrigin(origins = {"http://localhost:5173", "http://127.0.0.1:5173"})
+@ConditionalOnProperty(name = "smartswasthya.storage.type", havingValue = "local")
+public class BlobController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LocalFileImageService localFileImageService;
+
+    @Autowired
+    public BlobController(LocalFileImageService localFileImageService) {
+        this.localFileImageService = localFileImageService;
+    }
+
+    @GetMapping("/{id}")
+    public void getBlob(@PathVariable String id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = localFileImageService.resolve(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Blob not found with ID: " + id));
+
+        String etag = "\"" + id + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, max-age=31536000, immutable");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long size = Files.size(file);
+        response.setContentType(sniffContentType(file));
+        response.setContentLengthLong(size);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat hands the file to the kernel (sendfile) after the handler returns: no user-space copy
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private static String sniffContentType(Path file) throws IOException {
+        byte[] head = new byte[8];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(head, 0, head.length);
+        }
+        if (read >= 4 && head[0] == '%' && head[1] == 'P' && head[2] == 'D' && head[3] == 'F') {
+            return MediaType.APPLICATION_PDF_VALUE;
+        }
+        if (read >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        if (read >= 4 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+}
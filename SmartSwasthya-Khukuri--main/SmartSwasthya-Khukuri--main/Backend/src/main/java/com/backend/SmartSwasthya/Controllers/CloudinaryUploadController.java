@@ -1,7 +1,7 @@
 package com.backend.SmartSwasthya.Controllers;
 
 
-import com.backend.SmartSwasthya.Services.CloudinaryImageServiceImpl;
+import com.backend.SmartSwasthya.Services.CloudinaryImageService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,7 +19,7 @@ import java.util.Map;
 public class CloudinaryUploadController {
 
     @Autowired
-    private CloudinaryImageServiceImpl service ;
+    private CloudinaryImageService service ;
 
     @PostMapping
     public ResponseEntity<Map> uploadfile(@RequestParam("Image") MultipartFile file) {
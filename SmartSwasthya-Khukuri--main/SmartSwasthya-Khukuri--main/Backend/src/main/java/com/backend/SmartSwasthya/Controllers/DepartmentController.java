@@ -1,11 +1,14 @@
 package com.backend.SmartSwasthya.Controllers;
 
 import com.backend.SmartSwasthya.Models.Department;
+import com.backend.SmartSwasthya.Services.CatalogVersions;
 import com.backend.SmartSwasthya.Services.DepartmentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -16,10 +19,12 @@ import java.util.List;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final CatalogVersions catalogVersions;
 
     @Autowired
-    public DepartmentController(DepartmentService departmentService) {
+    public DepartmentController(DepartmentService departmentService, CatalogVersions catalogVersions) {
         this.departmentService = departmentService;
+        this.catalogVersions = catalogVersions;
     }
 
     @PostMapping
@@ -35,7 +40,13 @@ public class DepartmentController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Department>> getAllDepartments(@RequestParam(required = false) Long hospitalId) {
+    public ResponseEntity<List<Department>> getAllDepartments(@RequestParam(required = false) Long hospitalId, WebRequest request) {
+        // Departments are serialised with their doctors, so both counters go into the ETag
+        String etag = catalogVersions.etag(request, CatalogVersions.Catalog.DEPARTMENTS, CatalogVersions.Catalog.DOCTORS);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(catalogVersions.cacheControl())
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
         try {
             List<Department> departments;
             if (hospitalId != null) {
@@ -43,7 +54,7 @@ public class DepartmentController {
             } else {
                 departments = departmentService.getAllDepartments();
             }
-            return new ResponseEntity<>(departments, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(etag).cacheControl(catalogVersions.cacheControl()).body(departments);
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error fetching departments.", e);
         }
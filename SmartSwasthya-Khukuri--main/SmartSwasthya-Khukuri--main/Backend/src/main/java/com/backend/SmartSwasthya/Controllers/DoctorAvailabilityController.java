@@ -2,11 +2,17 @@ package com.backend.SmartSwasthya.Controllers;
 
 import com.backend.SmartSwasthya.Models.DoctorAvailability;
 import com.backend.SmartSwasthya.Services.DoctorAvailabilityService;
+import com.backend.SmartSwasthya.Services.SlotEventHub;
+import com.backend.SmartSwasthya.dto.FreeSlot;
+import com.backend.SmartSwasthya.dto.SlotGenerationResult;
+import com.backend.SmartSwasthya.dto.SlotScheduleTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,11 +22,16 @@ import java.util.List;
 @CrossOrigin(origins = {"http://localhost:5173", "http://127.0.0.1:5173"})
 public class DoctorAvailabilityController {
 
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final DoctorAvailabilityService availabilityService;
+    private final SlotEventHub slotEventHub;
 
     @Autowired
-    public DoctorAvailabilityController(DoctorAvailabilityService availabilityService) {
+    public DoctorAvailabilityController(DoctorAvailabilityService availabilityService, SlotEventHub slotEventHub) {
         this.availabilityService = availabilityService;
+        this.slotEventHub = slotEventHub;
     }
 
     @PostMapping
@@ -35,6 +46,19 @@ public class DoctorAvailabilityController {
         }
     }
 
+    // Endpoint for admins to lay out a doctor's schedule from a recurrence template in one request
+    @PostMapping("/generate")
+    public ResponseEntity<SlotGenerationResult> generateSlots(@RequestBody SlotScheduleTemplate template, @RequestParam Long doctorId) {
+        try {
+            SlotGenerationResult result = availabilityService.generateSlots(doctorId, template);
+            return new ResponseEntity<>(result, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error generating doctor availability.", e);
+        }
+    }
+
     // Endpoint for patients to find available slots (unbooked)
     @GetMapping("/available-slots")
     public ResponseEntity<List<DoctorAvailability>> getAvailableSlots(
@@ -51,6 +75,45 @@ public class DoctorAvailabilityController {
         }
     }
 
+    // Live feed for one doctor and date instead of polling /available-slots: a "snapshot" of the free slots,
+    // then "opened", "booked", "released" and "removed" events as they commit
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSlotEvents(@RequestParam Long doctorId, @RequestParam LocalDate date) {
+        try {
+            return slotEventHub.subscribe(doctorId, date);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e);
+        }
+    }
+
+    // "Next free slot in Cardiology": the earliest free slots across a department's doctors, or across a
+    // hospital's doctors of one specialization, in a single request
+    @GetMapping("/earliest")
+    public ResponseEntity<List<FreeSlot>> getEarliestSlots(
+            @RequestParam(required = false) Long departmentId,
+            @RequestParam(required = false) Long hospitalId,
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(defaultValue = "" + DEFAULT_SEARCH_LIMIT) int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        try {
+            List<FreeSlot> slots = availabilityService.findEarliestFreeSlots(departmentId, hospitalId, specialization, from, to, limit);
+            if (slots.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
+            return new ResponseEntity<>(slots, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error searching for free slots.", e);
+        }
+    }
+
     // Endpoint for admins/doctors to see all slots (booked and unbooked)
     @GetMapping
     public ResponseEntity<List<DoctorAvailability>> getAllSlots(
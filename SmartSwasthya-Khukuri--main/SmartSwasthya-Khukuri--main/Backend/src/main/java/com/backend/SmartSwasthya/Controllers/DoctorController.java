@@ -1,13 +1,20 @@
 package com.backend.SmartSwasthya.Controllers;
 
 import com.backend.SmartSwasthya.Models.Doctor;
+import com.backend.SmartSwasthya.Services.CatalogVersions;
+import com.backend.SmartSwasthya.Services.DoctorAvailabilityService;
 import com.backend.SmartSwasthya.Services.DoctorService;
+import com.backend.SmartSwasthya.dto.DoctorSummary;
+import com.backend.SmartSwasthya.dto.ScheduleDay;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,10 +23,14 @@ import java.util.List;
 public class DoctorController {
 
     private final DoctorService doctorService;
+    private final CatalogVersions catalogVersions;
+    private final DoctorAvailabilityService availabilityService;
 
     @Autowired
-    public DoctorController(DoctorService doctorService) {
+    public DoctorController(DoctorService doctorService, CatalogVersions catalogVersions, DoctorAvailabilityService availabilityService) {
         this.doctorService = doctorService;
+        this.catalogVersions = catalogVersions;
+        this.availabilityService = availabilityService;
     }
 
     @PostMapping
@@ -35,11 +46,18 @@ public class DoctorController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Doctor>> getAllDoctors(
+    public ResponseEntity<List<DoctorSummary>> getAllDoctors(
             @RequestParam(required = false) Long hospitalId,
-            @RequestParam(required = false) Long departmentId) {
+            @RequestParam(required = false) Long departmentId,
+            WebRequest request) {
+        // The hospital/department lookups only reject unknown ids; a deleted parent also bumps DOCTORS
+        String etag = catalogVersions.etag(request, CatalogVersions.Catalog.DOCTORS);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(catalogVersions.cacheControl())
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
         try {
-            List<Doctor> doctors;
+            List<DoctorSummary> doctors;
             if (hospitalId != null && departmentId != null) {
                 doctors = doctorService.getDoctorsByHospitalAndDepartment(hospitalId, departmentId);
             } else if (departmentId != null) {
@@ -47,7 +65,7 @@ public class DoctorController {
             } else {
                 doctors = doctorService.getAllDoctors();
             }
-            return new ResponseEntity<>(doctors, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(etag).cacheControl(catalogVersions.cacheControl()).body(doctors);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         } catch (Exception e) {
@@ -62,6 +80,21 @@ public class DoctorController {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Doctor not found with ID: " + id));
     }
 
+    // Day view for the Doctorside app: slots with their booked appointment and patient, for one day or up to a week
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<List<ScheduleDay>> getSchedule(
+            @PathVariable Long id,
+            @RequestParam LocalDate date,
+            @RequestParam(defaultValue = "1") int days) {
+        try {
+            return new ResponseEntity<>(availabilityService.getSchedule(id, date, days), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error fetching doctor schedule.", e);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Doctor> updateDoctor(@PathVariable Long id, @RequestBody Doctor doctor, @RequestParam Long hospitalId, @RequestParam Long departmentId) {
         try {
@@ -1,11 +1,14 @@
 package com.backend.SmartSwasthya.Controllers;
 
 import com.backend.SmartSwasthya.Models.Hospital;
+import com.backend.SmartSwasthya.Services.CatalogVersions;
 import com.backend.SmartSwasthya.Services.HospitalService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -16,10 +19,12 @@ import java.util.List;
 public class HospitalController {
 
     private final HospitalService hospitalService;
+    private final CatalogVersions catalogVersions;
 
     @Autowired
-    public HospitalController(HospitalService hospitalService) {
+    public HospitalController(HospitalService hospitalService, CatalogVersions catalogVersions) {
         this.hospitalService = hospitalService;
+        this.catalogVersions = catalogVersions;
     }
 
     @PostMapping
@@ -33,10 +38,16 @@ public class HospitalController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Hospital>> getAllHospitals() {
+    public ResponseEntity<List<Hospital>> getAllHospitals(WebRequest request) {
+        // Taken before the query, so the body is never newer than its ETag claims
+        String etag = catalogVersions.etag(request, CatalogVersions.Catalog.HOSPITALS);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(catalogVersions.cacheControl())
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
         try {
             List<Hospital> hospitals = hospitalService.getAllHospitals();
-            return new ResponseEntity<>(hospitals, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(etag).cacheControl(catalogVersions.cacheControl()).body(hospitals);
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error fetching hospitals.", e);
         }
@@ -2,6 +2,7 @@ package com.backend.SmartSwasthya.Controllers;
 
 import com.backend.SmartSwasthya.Models.Patient;
 import com.backend.SmartSwasthya.Services.PatientService;
+import com.backend.SmartSwasthya.dto.PatientMatch;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -49,6 +50,21 @@ public class PatientController {
         }
     }
 
+    // Lookup by phone prefix (digits only) or name, including romanisation variants and small misspellings
+    @GetMapping("/search")
+    public ResponseEntity<List<PatientMatch>> searchPatients(
+            @RequestParam String q,
+            @RequestParam(required = false) Long hospitalId,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return new ResponseEntity<>(patientService.searchPatients(q, hospitalId, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error searching patients.", e);
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Patient> getPatientById(@PathVariable Long id) {
         return patientService.getPatientById(id)
@@ -2,6 +2,7 @@ package com.backend.SmartSwasthya.Controllers;
 
 import com.backend.SmartSwasthya.Models.PatientReport;
 import com.backend.SmartSwasthya.Services.PatientReportService;
+import com.backend.SmartSwasthya.dto.ReportUploadStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -31,7 +33,10 @@ public class PatientReportController {
             @RequestParam(value = "uploadedBy", required = false) String uploadedBy) {
         try {
             PatientReport report = patientReportService.uploadReport(patientId, reportType, file, uploadedBy);
-            return new ResponseEntity<>(report, HttpStatus.CREATED);
+            // The file is uploaded in the background; clients poll the status endpoint for the final URL
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/patient-reports/" + report.getId() + "/status"))
+                    .body(report);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         } catch (RuntimeException e) {
@@ -60,6 +65,13 @@ public class PatientReportController {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Patient report not found with ID: " + id));
     }
 
+    @GetMapping("/{id}/status")
+    public ResponseEntity<ReportUploadStatus> getUploadStatus(@PathVariable Long id) {
+        return patientReportService.getReportById(id)
+                .map(report -> new ResponseEntity<>(ReportUploadStatus.from(report), HttpStatus.OK))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Patient report not found with ID: " + id));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteReport(@PathVariable Long id) {
         try {
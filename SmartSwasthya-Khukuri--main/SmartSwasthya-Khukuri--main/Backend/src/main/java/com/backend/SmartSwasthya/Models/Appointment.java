@@ -1,7 +1,9 @@
 package com.backend.SmartSwasthya.Models;
 
+import com.backend.SmartSwasthya.dto.Views;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -15,7 +17,7 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "appointments")
+@Table(name = "appointments") // Indexes live in db/migration (V3__query_indexes.sql)
 public class Appointment {
 
     @Id
@@ -26,8 +28,14 @@ public class Appointment {
     private LocalDateTime appointmentTime; // The date and time of the appointment
 
     @Column(name = "reason", columnDefinition = "TEXT")
+    @JsonView(Views.Full.class)
     private String reason; // Reason for the appointment
 
+    // Cancelled appointments are kept (status CANCELLED) rather than deleted
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private AppointmentStatus status = AppointmentStatus.BOOKED;
+
     // Link directly to Patient (booked by)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id", nullable = false)
@@ -46,10 +54,12 @@ public class Appointment {
     @JsonBackReference("doctor-appointments")
     private Doctor doctor;
 
-    // Link to the specific DoctorAvailability slot that was booked
-    @OneToOne(fetch = FetchType.LAZY)
+    // Link to the specific DoctorAvailability slot that was booked. A slot keeps its cancelled appointments,
+    // but only one that isn't cancelled (partial unique index in V5__appointment_status.sql). Null for a
+    // cancelled appointment whose slot was deleted afterwards.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnore
-    @JoinColumn(name = "available_slot_id", unique = true, nullable = false) // Each slot can only be used once
+    @JoinColumn(name = "available_slot_id")
     private DoctorAvailability availableSlot;
 
     // Optional: Could also directly link to Hospital if you want to query appointments per hospital easily
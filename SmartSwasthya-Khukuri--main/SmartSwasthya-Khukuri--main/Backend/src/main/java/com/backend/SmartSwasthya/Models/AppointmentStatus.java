@@ -0,0 +1,12 @@
+package com.backend.SmartSwasthya.Models;
+
+/**
+ * Lifecycle of an Appointment. Only BOOKED appointments can change state; the other three are final.
+ * A slot holds at most one appointment that isn't CANCELLED (see V5__appointment_status.sql).
+ */
+public enum AppointmentStatus {
+    BOOKED,    // holds its slot
+    CANCELLED, // slot released; the row is kept for history
+    COMPLETED, // the patient was seen
+    NO_SHOW    // the patient didn't come; the slot stays used
+}
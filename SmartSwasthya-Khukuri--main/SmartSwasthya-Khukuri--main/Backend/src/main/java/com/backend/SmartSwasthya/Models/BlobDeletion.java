@@ -0,0 +1,53 @@
+package com.backend.SmartSwasthya.Models;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry for a storage blob that must be deleted once the report pointing at it is gone.
+ * Written in the same transaction as the row delete and drained by BlobDeletionOutbox.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "blob_deletions")
+public class BlobDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "public_id", nullable = false)
+    private String publicId;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    // Set while a drain's remote delete is in flight, until next_attempt_at (the lease) passes
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    // When the remote delete returned; the row is kept for a while so uploads can tell they raced it
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    public BlobDeletion(String publicId) {
+        this.publicId = publicId;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = this.createdAt;
+    }
+}
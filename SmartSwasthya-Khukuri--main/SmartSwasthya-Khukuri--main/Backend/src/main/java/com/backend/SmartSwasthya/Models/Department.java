@@ -1,13 +1,17 @@
 package com.backend.SmartSwasthya.Models;
 
+import com.backend.SmartSwasthya.dto.Views;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -17,6 +21,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "departments")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.departments") // Reference data; see ReferenceDataCacheConfig
 public class Department {
 
     @Id
@@ -24,6 +29,7 @@ public class Department {
     private Long id;
 
     private String name;
+    @JsonView(Views.Full.class)
     private String description;
 
     // Many departments belong to one hospital
@@ -35,6 +41,7 @@ public class Department {
     // One department can have many doctors
     @OneToMany(mappedBy = "department", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @JsonManagedReference("department-doctors")
+    @JsonView(Views.Full.class)
     private List<Doctor> doctors;
 
     // One department can have many appointments
@@ -1,13 +1,17 @@
 package com.backend.SmartSwasthya.Models;
 
+import com.backend.SmartSwasthya.dto.Views;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -17,6 +21,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "doctors")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.doctors") // Reference data; see ReferenceDataCacheConfig
 public class Doctor {
 
     @Id
@@ -24,6 +29,7 @@ public class Doctor {
     private Long id;
 
     private String name;
+    @JsonView(Views.Full.class)
     private String contact;
     private String specialization; // e.g., "Cardiologist", "Neurologist"
 
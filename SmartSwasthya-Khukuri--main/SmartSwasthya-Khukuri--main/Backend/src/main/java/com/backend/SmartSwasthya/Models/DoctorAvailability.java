@@ -1,7 +1,8 @@
 package com.backend.SmartSwasthya.Models;
 
+import com.backend.SmartSwasthya.dto.Views;
 import com.fasterxml.jackson.annotation.JsonBackReference;
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -29,6 +30,7 @@ public class DoctorAvailability {
     private Doctor doctor;
 
     @Column(nullable = false)
+    @JsonView(Views.Full.class)
     private LocalDate availableDate;
 
     @Column(nullable = false)
@@ -40,11 +42,6 @@ public class DoctorAvailability {
     @Column(nullable = false)
     private boolean isBooked = false; // To mark if a slot is taken
 
-    // An availability slot can be linked to one appointment once it's booked
-    @OneToOne(mappedBy = "availableSlot", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
-    @JsonIgnore
-    private Appointment bookedAppointment;
-
     // You might also add a 'duration' or 'slotSize' if times are fixed (e.g., 30 min, 1 hr)
     // private int slotDurationMinutes;
 }
\ No newline at end of file
@@ -1,12 +1,16 @@
 package com.backend.SmartSwasthya.Models;
 
+import com.backend.SmartSwasthya.dto.Views;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -16,6 +20,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "hospitals")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reference.hospitals") // Reference data; see ReferenceDataCacheConfig
 public class Hospital {
 
     @Id
@@ -23,7 +28,9 @@ public class Hospital {
     private Long id;
 
     private String name;
+    @JsonView(Views.Full.class)
     private String address;
+    @JsonView(Views.Full.class)
     private String email;
 
     // A hospital can have many departments
@@ -1,8 +1,10 @@
 package com.backend.SmartSwasthya.Models;
 
+import com.backend.SmartSwasthya.dto.Views;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -24,8 +26,11 @@ public class Patient {
     private Long id;
 
     private String name;
+    @JsonView(Views.Full.class)
     private String phone;
+    @JsonView(Views.Full.class)
     private String gender;
+    @JsonView(Views.Full.class)
     private int age;
 
     // Many patients can be associated with one hospital
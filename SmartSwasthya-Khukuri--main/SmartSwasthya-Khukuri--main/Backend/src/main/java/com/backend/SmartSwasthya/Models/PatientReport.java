@@ -1,6 +1,7 @@
 package com.backend.SmartSwasthya.Models;
 
 import com.fasterxml.jackson.annotation.JsonBackReference; // Import
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
@@ -35,4 +36,17 @@ public class PatientReport {
 
     private String uploadedBy; // e.g., "Lab Technician", "Doctor Name"
     private LocalDate uploadedDate; // Changed to LocalDate for proper date handling.
+
+    // Background upload state. Rows created before the upload queue existed have a null status and count as UPLOADED.
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ReportStatus status;
+
+    @Column(name = "upload_attempts", columnDefinition = "integer default 0 not null")
+    private int uploadAttempts;
+
+    // File name inside the upload spool directory while the report is PENDING
+    @JsonIgnore
+    @Column(name = "spool_file")
+    private String spoolFile;
 }
\ No newline at end of file
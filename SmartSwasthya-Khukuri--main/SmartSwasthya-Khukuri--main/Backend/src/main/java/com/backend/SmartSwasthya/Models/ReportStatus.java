@@ -0,0 +1,10 @@
+package com.backend.SmartSwasthya.Models;
+
+/**
+ * Lifecycle of a PatientReport's file.
+ */
+public enum ReportStatus {
+    PENDING,  // accepted and spooled locally, waiting for the background upload
+    UPLOADED, // stored remotely; reportUrl is set
+    FAILED    // gave up after the configured number of upload attempts
+}
@@ -0,0 +1,17 @@
+package com.backend.SmartSwasthya.Repository;
+
+import com.backend.SmartSwasthya.Models.Appointment;
+
+import java.util.List;
+
+/**
+ * Set-based appointment writes that bypass entity-at-a-time persistence.
+ */
+public interface AppointmentBatchRepository {
+
+    /**
+     * Inserts the given new appointments in JDBC batches and sets their generated ids. Only the ids of
+     * the associations are read, so they may be unloaded references.
+     */
+    void insertAll(List<Appointment> appointments);
+}
@@ -0,0 +1,63 @@
+package com.backend.SmartSwasthya.Repository;
+
+import com.backend.SmartSwasthya.Models.Appointment;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spring Data fragment behind {@link AppointmentBatchRepository}.
+ *
+ * Plain JDBC batching, because Hibernate disables insert batching for IDENTITY ids; the generated ids
+ * come back through the batch's generated keys.
+ */
+class AppointmentBatchRepositoryImpl implements AppointmentBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT =
+            "INSERT INTO appointments (appointment_time, reason, patient_id, department_id, doctor_id, available_slot_id, status) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    AppointmentBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<Appointment> appointments) {
+        for (int from = 0; from < appointments.size(); from += BATCH_SIZE) {
+            List<Appointment> batch = appointments.subList(from, Math.min(from + BATCH_SIZE, appointments.size()));
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT, new String[]{"id"}), new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Appointment appointment = batch.get(i);
+                    ps.setTimestamp(1, Timestamp.valueOf(appointment.getAppointmentTime()));
+                    ps.setString(2, appointment.getReason());
+                    ps.setLong(3, appointment.getPatient().getId());
+                    ps.setLong(4, appointment.getDepartment().getId());
+                    ps.setLong(5, appointment.getDoctor().getId());
+                    ps.setLong(6, appointment.getAvailableSlot().getId());
+                    ps.setString(7, appointment.getStatus().name());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return batch.size();
+                }
+            }, keys);
+            List<Map<String, Object>> rows = keys.getKeyList();
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).setId(((Number) rows.get(i).get("id")).longValue());
+            }
+        }
+    }
+}
@@ -1,14 +1,37 @@
 package com.backend.SmartSwasthya.Repository;
 
 import com.backend.SmartSwasthya.Models.Appointment;
+import com.backend.SmartSwasthya.Models.AppointmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
-    List<Appointment> findByPatientId(Long patientId);
-    List<Appointment> findByDoctorId(Long doctorId);
-    List<Appointment> findByDepartmentId(Long departmentId);
-}
\ No newline at end of file
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, JpaSpecificationExecutor<Appointment>, AppointmentBatchRepository {
+    // Explicit queries compare the foreign key column; derived findByXxxId finders join the parent table first,
+    // which keeps the (xxx_id, appointment_time, id) indexes out of the plan
+    @Query("select a from Appointment a where a.patient.id = :patientId")
+    List<Appointment> findByPatientId(@Param("patientId") Long patientId);
+
+    @Query("select a from Appointment a where a.doctor.id = :doctorId")
+    List<Appointment> findByDoctorId(@Param("doctorId") Long doctorId);
+
+    @Query("select a from Appointment a where a.department.id = :departmentId")
+    List<Appointment> findByDepartmentId(@Param("departmentId") Long departmentId);
+
+    // Moves a BOOKED appointment to another status. Returns 0 if it was no longer BOOKED, so two concurrent
+    // transitions (e.g. a double cancel) can't both release the slot.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Appointment a set a.status = :status where a.id = :id and a.status = com.backend.SmartSwasthya.Models.AppointmentStatus.BOOKED")
+    int transitionFromBooked(@Param("id") Long id, @Param("status") AppointmentStatus status);
+
+    // Cancelled appointments keep referencing their slot; a slot that is deleted leaves them without one, kept as history
+    @Modifying(flushAutomatically = true)
+    @Query("update Appointment a set a.availableSlot = null where a.availableSlot.id = :slotId and a.status = com.backend.SmartSwasthya.Models.AppointmentStatus.CANCELLED")
+    int detachCancelledFromSlot(@Param("slotId") Long slotId);
+}
@@ -0,0 +1,60 @@
+package com.backend.SmartSwasthya.Repository;
+
+import com.backend.SmartSwasthya.Models.Appointment;
+import com.backend.SmartSwasthya.Models.AppointmentStatus;
+import com.backend.SmartSwasthya.dto.AppointmentFilter;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria for the appointment listing. Every combination resolves to a range scan on one of the
+ * (…, appointment_time, id) indexes created in V3__query_indexes.sql; status is checked on the rows
+ * of that range.
+ */
+public final class AppointmentSpecifications {
+
+    private AppointmentSpecifications() {
+    }
+
+    public static Specification<Appointment> matching(AppointmentFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.patientId() != null) {
+                predicates.add(cb.equal(root.get("patient").get("id"), filter.patientId()));
+            }
+            if (filter.doctorId() != null) {
+                predicates.add(cb.equal(root.get("doctor").get("id"), filter.doctorId()));
+            }
+            if (filter.departmentId() != null) {
+                predicates.add(cb.equal(root.get("department").get("id"), filter.departmentId()));
+            }
+            if (filter.from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("appointmentTime"), filter.from()));
+            }
+            if (filter.to() != null) {
+                predicates.add(cb.lessThan(root.get("appointmentTime"), filter.to()));
+            }
+            if (filter.status() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.status()));
+            } else {
+                predicates.add(cb.notEqual(root.get("status"), AppointmentStatus.CANCELLED));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // Keyset predicate: strictly after (appointmentTime, id) in the listing's sort order. The redundant
+    // appointmentTime >= term is the index range's lower bound; the OR alone gives the planner none, and
+    // deep pages would walk the index from the start of the range.
+    public static Specification<Appointment> after(LocalDateTime appointmentTime, Long id) {
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("appointmentTime"), appointmentTime),
+                cb.or(
+                        cb.greaterThan(root.get("appointmentTime"), appointmentTime),
+                        cb.and(cb.equal(root.get("appointmentTime"), appointmentTime), cb.greaterThan(root.get("id"), id))));
+    }
+}
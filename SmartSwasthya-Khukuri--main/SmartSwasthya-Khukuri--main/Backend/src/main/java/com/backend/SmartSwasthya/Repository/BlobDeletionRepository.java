@@ -0,0 +1,32 @@
+package com.backend.SmartSwasthya.Repository;
+
+import com.backend.SmartSwasthya.Models.BlobDeletion;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BlobDeletionRepository extends JpaRepository<BlobDeletion, Long> {
+    // Locked only while the drain claims them; an upload reviving one of these blobs waits for the claim to commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<BlobDeletion> findByDeletedAtIsNullAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(LocalDateTime now, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<BlobDeletion> findByIdIn(Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<BlobDeletion> findByPublicId(String publicId);
+
+    @Modifying
+    @Query("delete from BlobDeletion b where b.deletedAt < :before")
+    int deleteByDeletedAtBefore(@Param("before") LocalDateTime before);
+}
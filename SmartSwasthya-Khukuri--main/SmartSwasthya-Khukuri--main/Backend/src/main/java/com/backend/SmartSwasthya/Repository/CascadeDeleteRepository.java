@@ -0,0 +1,50 @@
+package com.backend.SmartSwasthya.Repository;
+
+import com.backend.SmartSwasthya.dto.SlotView;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based deletes behind hospital, department and doctor deletion (see Services/CascadeDeleter), in
+ * place of loading the whole entity graph for CascadeType.ALL. Finders and deletes taking a limit touch
+ * at most that many rows, so the caller can commit in chunks; the others expect a caller-sized id list.
+ */
+public interface CascadeDeleteRepository {
+
+    List<Long> findDepartmentIdsOfHospital(Long hospitalId);
+
+    // Doctors of the hospital plus doctors of the given departments (a department's doctors go with it)
+    List<Long> findDoctorIdsOfHospital(Long hospitalId, Collection<Long> departmentIds);
+
+    List<Long> findDoctorIdsOfDepartment(Long departmentId);
+
+    // Keyset page of the hospital's patients, ordered by id
+    List<Long> findPatientIdsOfHospital(Long hospitalId, long afterId, int limit);
+
+    List<Long> findAppointmentIdsOfPatients(Collection<Long> patientIds, int limit);
+
+    List<Long> findAppointmentIdsOfDoctors(Collection<Long> doctorIds, int limit);
+
+    List<Long> findAppointmentIdsOfDepartments(Collection<Long> departmentIds, int limit);
+
+    // Frees the slots held by those of the appointments that are BOOKED and returns them as they were
+    List<SlotView> releaseSlotsOf(Collection<Long> appointmentIds);
+
+    int deleteAppointments(Collection<Long> appointmentIds);
+
+    // Queues the blobs of the patients' reports on the blob_deletions outbox, in the caller's transaction
+    int enqueueReportBlobs(Collection<Long> patientIds);
+
+    int deleteReportsOfPatients(Collection<Long> patientIds);
+
+    int deletePatients(Collection<Long> patientIds);
+
+    int deleteSlotsOfDoctors(Collection<Long> doctorIds, int limit);
+
+    int deleteDoctors(Collection<Long> doctorIds);
+
+    int deleteDepartments(Collection<Long> departmentIds);
+
+    int deleteHospital(Long hospitalId);
+}
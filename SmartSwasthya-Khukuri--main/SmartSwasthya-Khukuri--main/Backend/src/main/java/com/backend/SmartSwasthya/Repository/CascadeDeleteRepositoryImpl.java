@@ -0,0 +1,168 @@
+package com.backend.SmartSwasthya.Repository;
+
+import com.backend.SmartSwasthya.dto.SlotView;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spring Data fragment behind {@link CascadeDeleteRepository}.
+ *
+ * Plain JDBC: a bulk DELETE never loads rows, and limits (LIMIT n, or "id IN (SELECT id ... LIMIT n)" for
+ * a DELETE) bound each statement so no single transaction locks more than a chunk. Every statement filters on an indexed foreign key
+ * (V3__query_indexes.sql). Rows deleted here bypass Hibernate, so the caller evicts the second-level cache.
+ */
+class CascadeDeleteRepositoryImpl implements CascadeDeleteRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    CascadeDeleteRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> findDepartmentIdsOfHospital(Long hospitalId) {
+        return jdbcTemplate.queryForList("SELECT id FROM departments WHERE hospital_id = :hospitalId",
+                Map.of("hospitalId", hospitalId), Long.class);
+    }
+
+    @Override
+    public List<Long> findDoctorIdsOfHospital(Long hospitalId, Collection<Long> departmentIds) {
+        // Two index lookups rather than one OR, which would scan the table
+        List<Long> doctorIds = new ArrayList<>(jdbcTemplate.queryForList("SELECT id FROM doctors WHERE hospital_id = :hospitalId",
+                Map.of("hospitalId", hospitalId), Long.class));
+        if (!departmentIds.isEmpty()) {
+            jdbcTemplate.queryForList("SELECT id FROM doctors WHERE department_id IN (:departmentIds)",
+                    Map.of("departmentIds", departmentIds), Long.class).stream()
+                    .filter(id -> !doctorIds.contains(id))
+                    .forEach(doctorIds::add);
+        }
+        return doctorIds;
+    }
+
+    @Override
+    public List<Long> findDoctorIdsOfDepartment(Long departmentId) {
+        return jdbcTemplate.queryForList("SELECT id FROM doctors WHERE department_id = :departmentId",
+                Map.of("departmentId", departmentId), Long.class);
+    }
+
+    @Override
+    public List<Long> findPatientIdsOfHospital(Long hospitalId, long afterId, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM patients WHERE hospital_id = :hospitalId AND id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource("hospitalId", hospitalId).addValue("afterId", afterId).addValue("limit", limit),
+                Long.class);
+    }
+
+    @Override
+    public List<Long> findAppointmentIdsOfPatients(Collection<Long> patientIds, int limit) {
+        return findIdsWhereIn("appointments", "patient_id", patientIds, limit);
+    }
+
+    @Override
+    public List<Long> findAppointmentIdsOfDoctors(Collection<Long> doctorIds, int limit) {
+        return findIdsWhereIn("appointments", "doctor_id", doctorIds, limit);
+    }
+
+    @Override
+    public List<Long> findAppointmentIdsOfDepartments(Collection<Long> departmentIds, int limit) {
+        return findIdsWhereIn("appointments", "department_id", departmentIds, limit);
+    }
+
+    @Override
+    public List<SlotView> releaseSlotsOf(Collection<Long> appointmentIds) {
+        if (appointmentIds.isEmpty()) {
+            return List.of();
+        }
+        List<SlotView> slots = jdbcTemplate.query(
+                "SELECT s.id, s.doctor_id, s.available_date, s.start_time, s.end_time FROM appointments a " +
+                "JOIN doctor_availabilities s ON s.id = a.available_slot_id " +
+                "WHERE a.id IN (:appointmentIds) AND a.status = 'BOOKED'",
+                Map.of("appointmentIds", appointmentIds),
+                (rs, row) -> new SlotView(rs.getLong(1), rs.getLong(2), rs.getDate(3).toLocalDate(),
+                        rs.getTime(4).toLocalTime(), rs.getTime(5).toLocalTime(), true));
+        if (!slots.isEmpty()) {
+            jdbcTemplate.update("UPDATE doctor_availabilities SET is_booked = false WHERE id IN (:slotIds)",
+                    Map.of("slotIds", slots.stream().map(SlotView::id).toList()));
+        }
+        return slots;
+    }
+
+    @Override
+    public int deleteAppointments(Collection<Long> appointmentIds) {
+        return deleteWhereIn("appointments", "id", appointmentIds);
+    }
+
+    @Override
+    public int enqueueReportBlobs(Collection<Long> patientIds) {
+        if (patientIds.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(
+                "INSERT INTO blob_deletions (public_id, attempts, next_attempt_at, created_at) " +
+                "SELECT cloudinary_public_id, 0, :now, :now FROM patient_reports " +
+                "WHERE patient_id IN (:patientIds) AND cloudinary_public_id IS NOT NULL AND cloudinary_public_id <> ''",
+                new MapSqlParameterSource("patientIds", patientIds).addValue("now", now));
+    }
+
+    @Override
+    public int deleteReportsOfPatients(Collection<Long> patientIds) {
+        return deleteWhereIn("patient_reports", "patient_id", patientIds);
+    }
+
+    @Override
+    public int deletePatients(Collection<Long> patientIds) {
+        return deleteWhereIn("patients", "id", patientIds);
+    }
+
+    @Override
+    public int deleteSlotsOfDoctors(Collection<Long> doctorIds, int limit) {
+        return deleteChunk("doctor_availabilities", "doctor_id", doctorIds, limit);
+    }
+
+    @Override
+    public int deleteDoctors(Collection<Long> doctorIds) {
+        return deleteWhereIn("doctors", "id", doctorIds);
+    }
+
+    @Override
+    public int deleteDepartments(Collection<Long> departmentIds) {
+        return deleteWhereIn("departments", "id", departmentIds);
+    }
+
+    @Override
+    public int deleteHospital(Long hospitalId) {
+        return jdbcTemplate.update("DELETE FROM hospitals WHERE id = :hospitalId", Map.of("hospitalId", hospitalId));
+    }
+
+    private int deleteWhereIn(String table, String column, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("DELETE FROM " + table + " WHERE " + column + " IN (:ids)", Map.of("ids", ids));
+    }
+
+    private List<Long> findIdsWhereIn(String table, String column, Collection<Long> ids, int limit) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE " + column + " IN (:ids) LIMIT :limit",
+                new MapSqlParameterSource("ids", ids).addValue("limit", limit), Long.class);
+    }
+
+    private int deleteChunk(String table, String column, Collection<Long> ids, int limit) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(
+                "DELETE FROM " + table + " WHERE id IN (SELECT id FROM " + table + " WHERE " + column + " IN (:ids) LIMIT :limit)",
+                new MapSqlParameterSource("ids", ids).addValue("limit", limit));
+    }
+}
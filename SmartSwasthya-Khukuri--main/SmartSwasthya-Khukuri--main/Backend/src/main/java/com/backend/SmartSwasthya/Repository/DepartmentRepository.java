@@ -1,7 +1,10 @@
 package com.backend.SmartSwasthya.Repository;
 
 import com.backend.SmartSwasthya.Models.Department;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,5 +12,12 @@ import java.util.Optional;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
-    List<Department> findByHospitalId(Long hospitalId); // Custom method to find departments by hospital
-}
\ No newline at end of file
+    // Department.doctors is serialised with every department, so listings fetch it in the same query
+    @EntityGraph(attributePaths = "doctors")
+    @Query("select d from Department d where d.hospital.id = :hospitalId")
+    List<Department> findByHospitalId(@Param("hospitalId") Long hospitalId); // Custom method to find departments by hospital
+
+    @Override
+    @EntityGraph(attributePaths = "doctors")
+    List<Department> findAll();
+}
@@ -0,0 +1,24 @@
+package com.backend.SmartSwasthya.Repository;
+
+import com.backend.SmartSwasthya.dto.BookingContext;
+import com.backend.SmartSwasthya.dto.SlotView;
+
+import java.util.List;
+
+/**
+ * Set-based slot writes that bypass entity-at-a-time persistence.
+ */
+public interface DoctorAvailabilityBatchRepository {
+
+    /**
+     * Inserts the given free slots in JDBC batches, skipping any slot that overlaps an existing slot of
+     * the same doctor on the same day. Returns, per input slot, whether it was inserted.
+     */
+    boolean[] insertIfNoOverlap(List<SlotView> slots);
+
+    /**
+     * Batched form of claimSlot: flips each free slot to booked if it still belongs to the context's
+     * doctor. Returns, per input slot, whether this call claimed it.
+     */
+    boolean[] claimSlots(List<BookingContext> slots);
+}
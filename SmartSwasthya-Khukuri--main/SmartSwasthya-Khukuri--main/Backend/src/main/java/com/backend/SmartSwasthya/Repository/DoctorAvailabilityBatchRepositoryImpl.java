@@ -0,0 +1,72 @@
+package com.backend.SmartSwasthya.Repository;
+
+import com.backend.SmartSwasthya.dto.BookingContext;
+import com.backend.SmartSwasthya.dto.SlotView;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.util.List;
+
+/**
+ * Spring Data fragment behind {@link DoctorAvailabilityBatchRepository}.
+ *
+ * Uses plain JDBC batching: Hibernate silently disables insert batching for IDENTITY ids, and the
+ * conditional INSERT ... SELECT makes re-running the same template idempotent.
+ */
+class DoctorAvailabilityBatchRepositoryImpl implements DoctorAvailabilityBatchRepository {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_IF_NO_OVERLAP =
+            "INSERT INTO doctor_availabilities (doctor_id, available_date, start_time, end_time, is_booked) " +
+            "SELECT ?, ?, ?, ?, false WHERE NOT EXISTS (" +
+            "SELECT 1 FROM doctor_availabilities WHERE doctor_id = ? AND available_date = ? AND start_time < ? AND end_time > ?)";
+
+    private static final String CLAIM =
+            "UPDATE doctor_availabilities SET is_booked = true WHERE id = ? AND doctor_id = ? AND is_booked = false";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    DoctorAvailabilityBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean[] insertIfNoOverlap(List<SlotView> slots) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_IF_NO_OVERLAP, slots, BATCH_SIZE, (ps, slot) -> {
+            Date date = Date.valueOf(slot.availableDate());
+            Time start = Time.valueOf(slot.startTime());
+            Time end = Time.valueOf(slot.endTime());
+            ps.setLong(1, slot.doctorId());
+            ps.setDate(2, date);
+            ps.setTime(3, start);
+            ps.setTime(4, end);
+            ps.setLong(5, slot.doctorId());
+            ps.setDate(6, date);
+            ps.setTime(7, end);
+            ps.setTime(8, start);
+        });
+        return affected(counts, slots.size());
+    }
+
+    @Override
+    public boolean[] claimSlots(List<BookingContext> slots) {
+        int[][] counts = jdbcTemplate.batchUpdate(CLAIM, slots, BATCH_SIZE, (ps, slot) -> {
+            ps.setLong(1, slot.slotId());
+            ps.setLong(2, slot.doctorId());
+        });
+        return affected(counts, slots.size());
+    }
+
+    private static boolean[] affected(int[][] counts, int size) {
+        boolean[] affected = new boolean[size];
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                affected[i++] = count > 0;
+            }
+        }
+        return affected;
+    }
+}
@@ -1,14 +1,74 @@
 package com.backend.SmartSwasthya.Repository;
 
 import com.backend.SmartSwasthya.Models.DoctorAvailability;
+import com.backend.SmartSwasthya.dto.BookingContext;
+import com.backend.SmartSwasthya.dto.ScheduleEntry;
+import com.backend.SmartSwasthya.dto.SlotView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface DoctorAvailabilityRepository extends JpaRepository<DoctorAvailability, Long> {
-    List<DoctorAvailability> findByDoctorIdAndAvailableDateAndIsBookedFalse(Long doctorId, LocalDate availableDate);
-    List<DoctorAvailability> findByDoctorIdAndAvailableDate(Long doctorId, LocalDate availableDate); // For admin to see all slots
-}
\ No newline at end of file
+public interface DoctorAvailabilityRepository extends JpaRepository<DoctorAvailability, Long>, DoctorAvailabilityBatchRepository {
+    // FK comparison on doctor_id (no join to doctors); the literal false matches the partial index of free slots
+    @Query("select a from DoctorAvailability a where a.doctor.id = :doctorId and a.availableDate = :date and a.isBooked = false")
+    List<DoctorAvailability> findByDoctorIdAndAvailableDateAndIsBookedFalse(@Param("doctorId") Long doctorId, @Param("date") LocalDate availableDate);
+
+    @Query("select a from DoctorAvailability a where a.doctor.id = :doctorId and a.availableDate = :date")
+    List<DoctorAvailability> findByDoctorIdAndAvailableDate(@Param("doctorId") Long doctorId, @Param("date") LocalDate availableDate); // For admin to see all slots
+
+    // Flat slot rows for the in-memory availability index (no entity hydration, no doctor join)
+    @Query("select new com.backend.SmartSwasthya.dto.SlotView(a.id, a.doctor.id, a.availableDate, a.startTime, a.endTime, a.isBooked) " +
+            "from DoctorAvailability a where a.doctor.id = :doctorId and a.availableDate = :date")
+    List<SlotView> findSlotViews(@Param("doctorId") Long doctorId, @Param("date") LocalDate date);
+
+    @Query("select new com.backend.SmartSwasthya.dto.SlotView(a.id, a.doctor.id, a.availableDate, a.startTime, a.endTime, a.isBooked) " +
+            "from DoctorAvailability a where a.doctor.id in :doctorIds and a.availableDate between :from and :to")
+    List<SlotView> findSlotViews(@Param("doctorIds") Collection<Long> doctorIds, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select new com.backend.SmartSwasthya.dto.SlotView(a.id, a.doctor.id, a.availableDate, a.startTime, a.endTime, a.isBooked) " +
+            "from DoctorAvailability a where a.availableDate between :from and :to")
+    List<SlotView> findSlotViewsBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // A doctor's schedule: every slot in the range with its appointment and patient, in one query
+    @Query("select new com.backend.SmartSwasthya.dto.ScheduleEntry(a.id, a.availableDate, a.startTime, a.endTime, a.isBooked, " +
+            "ap.id, ap.status, ap.reason, p.id, p.name, p.phone, p.gender, p.age) " +
+            "from DoctorAvailability a " +
+            "left join Appointment ap on ap.availableSlot = a and ap.status <> com.backend.SmartSwasthya.Models.AppointmentStatus.CANCELLED " +
+            "left join ap.patient p " +
+            "where a.doctor.id = :doctorId and a.availableDate between :from and :to " +
+            "order by a.availableDate, a.startTime, a.id")
+    List<ScheduleEntry> findScheduleEntries(@Param("doctorId") Long doctorId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Booking pre-checks in one round trip; empty when either the slot or the patient doesn't exist
+    @Query("select new com.backend.SmartSwasthya.dto.BookingContext(a.id, a.doctor.id, a.availableDate, a.startTime, a.endTime, " +
+            "a.isBooked, d.department.id, dep.hospital.id, p.hospital.id) " +
+            "from DoctorAvailability a join a.doctor d join d.department dep, Patient p " +
+            "where a.id = :slotId and p.id = :patientId")
+    Optional<BookingContext> findBookingContext(@Param("slotId") Long slotId, @Param("patientId") Long patientId);
+
+    // Batch variant: the slot side of the booking context for many slots at once (patientHospitalId is null)
+    @Query("select new com.backend.SmartSwasthya.dto.BookingContext(a.id, a.doctor.id, a.availableDate, a.startTime, a.endTime, " +
+            "a.isBooked, d.department.id, dep.hospital.id, cast(null as Long)) " +
+            "from DoctorAvailability a join a.doctor d join d.department dep " +
+            "where a.id in :slotIds")
+    List<BookingContext> findBookingContexts(@Param("slotIds") Collection<Long> slotIds);
+
+    // Atomically claims a free slot. Returns 1 for the winning caller and 0 for everyone else,
+    // so concurrent bookings of the same slot are serialised by the row lock instead of a read-then-write race.
+    @Modifying
+    @Query("update DoctorAvailability a set a.isBooked = true where a.id = :slotId and a.doctor.id = :doctorId and a.isBooked = false")
+    int claimSlot(@Param("slotId") Long slotId, @Param("doctorId") Long doctorId);
+
+    // Releases a previously claimed slot (used when an appointment is cancelled).
+    @Modifying
+    @Query("update DoctorAvailability a set a.isBooked = false where a.id = :slotId and a.isBooked = true")
+    int releaseSlot(@Param("slotId") Long slotId);
+}
@@ -1,13 +1,37 @@
 package com.backend.SmartSwasthya.Repository;
 
 import com.backend.SmartSwasthya.Models.Doctor;
+import com.backend.SmartSwasthya.dto.DoctorSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
-    List<Doctor> findByHospitalIdAndDepartmentId(Long hospitalId, Long departmentId); // Find doctors by hospital and department
-    List<Doctor> findByDepartmentId(Long departmentId); // Find doctors by department
-}
\ No newline at end of file
+    // FK comparisons, so the (hospital_id, department_id, id) and (department_id, id) indexes apply
+    @Query("select d from Doctor d where d.hospital.id = :hospitalId and d.department.id = :departmentId")
+    List<Doctor> findByHospitalIdAndDepartmentId(@Param("hospitalId") Long hospitalId, @Param("departmentId") Long departmentId); // Find doctors by hospital and department
+
+    @Query("select d from Doctor d where d.department.id = :departmentId")
+    List<Doctor> findByDepartmentId(@Param("departmentId") Long departmentId); // Find doctors by department
+
+    // Listing projections: one statement each, hospital/department ids come straight from the FK columns
+    @Query("select new com.backend.SmartSwasthya.dto.DoctorSummary(d.id, d.name, d.contact, d.specialization, d.hospital.id, d.department.id) " +
+            "from Doctor d order by d.id")
+    List<DoctorSummary> findAllSummaries();
+
+    @Query("select new com.backend.SmartSwasthya.dto.DoctorSummary(d.id, d.name, d.contact, d.specialization, d.hospital.id, d.department.id) " +
+            "from Doctor d where d.department.id = :departmentId order by d.id")
+    List<DoctorSummary> findSummariesByDepartmentId(@Param("departmentId") Long departmentId);
+
+    @Query("select new com.backend.SmartSwasthya.dto.DoctorSummary(d.id, d.name, d.contact, d.specialization, d.hospital.id, d.department.id) " +
+            "from Doctor d where d.hospital.id = :hospitalId and d.department.id = :departmentId order by d.id")
+    List<DoctorSummary> findSummariesByHospitalIdAndDepartmentId(@Param("hospitalId") Long hospitalId, @Param("departmentId") Long departmentId);
+
+    @Query("select new com.backend.SmartSwasthya.dto.DoctorSummary(d.id, d.name, d.contact, d.specialization, d.hospital.id, d.department.id) " +
+            "from Doctor d where d.hospital.id = :hospitalId and lower(d.specialization) = lower(:specialization) order by d.id")
+    List<DoctorSummary> findSummariesByHospitalIdAndSpecialization(@Param("hospitalId") Long hospitalId, @Param("specialization") String specialization);
+}
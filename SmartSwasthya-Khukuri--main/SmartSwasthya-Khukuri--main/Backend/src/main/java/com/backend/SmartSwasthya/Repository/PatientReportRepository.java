@@ -2,11 +2,24 @@ package com.backend.SmartSwasthya.Repository;
 
 import com.backend.SmartSwasthya.Models.PatientReport;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface PatientReportRepository extends JpaRepository<PatientReport, Long> {
-    List<PatientReport> findByPatientId(Long patientId);
+    @Query("select r from PatientReport r where r.patient.id = :patientId") // FK comparison, no join to patients
+    List<PatientReport> findByPatientId(@Param("patientId") Long patientId);
+
+    // Used to resume PENDING uploads after a restart. The literal (not a bound parameter) lets Postgres match the partial index.
+    @Query("select r from PatientReport r where r.status = com.backend.SmartSwasthya.Models.ReportStatus.PENDING")
+    List<PatientReport> findPending();
+
+    // Content-addressed stores share one blob between identical reports, so a blob may only go once nothing references it
+    @Query("select distinct r.cloudinaryPublicId from PatientReport r where r.cloudinaryPublicId in :publicIds")
+    Set<String> findReferencedPublicIds(@Param("publicIds") Collection<String> publicIds);
 }
\ No newline at end of file
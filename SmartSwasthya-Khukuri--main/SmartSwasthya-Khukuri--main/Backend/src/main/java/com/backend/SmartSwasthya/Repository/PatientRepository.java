@@ -1,12 +1,25 @@
 package com.backend.SmartSwasthya.Repository;
 
 import com.backend.SmartSwasthya.Models.Patient;
+import com.backend.SmartSwasthya.dto.PatientMatch;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface PatientRepository extends JpaRepository<Patient, Long> {
-    List<Patient> findByHospitalId(Long hospitalId);
+    @Query("select p from Patient p where p.hospital.id = :hospitalId") // FK comparison, no join to hospitals
+    List<Patient> findByHospitalId(@Param("hospitalId") Long hospitalId);
+
+    @Query("select p.id from Patient p where p.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Everything the patient search index holds, without loading entities
+    @Query("select new com.backend.SmartSwasthya.dto.PatientMatch(p.id, p.hospital.id, p.name, p.phone, p.gender, p.age) from Patient p")
+    List<PatientMatch> findAllMatches();
 }
\ No newline at end of file
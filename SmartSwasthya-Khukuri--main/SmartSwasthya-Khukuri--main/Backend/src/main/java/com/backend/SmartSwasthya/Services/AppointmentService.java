@@ -2,22 +2,40 @@ package com.backend.SmartSwasthya.Services;
 
 import com.backend.SmartSwasthya.Models.*;
 import com.backend.SmartSwasthya.Repository.*;
+import com.backend.SmartSwasthya.dto.AppointmentFilter;
+import com.backend.SmartSwasthya.dto.AppointmentSummary;
+import com.backend.SmartSwasthya.dto.BatchBookingItem;
+import com.backend.SmartSwasthya.dto.BatchBookingResult;
+import com.backend.SmartSwasthya.dto.BookingContext;
+import com.backend.SmartSwasthya.dto.CursorPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class AppointmentService {
 
+    private static final Sort KEYSET_ORDER = Sort.by("appointmentTime", "id");
+
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
     private final DepartmentRepository departmentRepository;
     private final DoctorRepository doctorRepository;
     private final DoctorAvailabilityRepository doctorAvailabilityRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
     public AppointmentService(
@@ -25,12 +43,16 @@ public class AppointmentService {
             PatientRepository patientRepository,
             DepartmentRepository departmentRepository,
             DoctorRepository doctorRepository,
-            DoctorAvailabilityRepository doctorAvailabilityRepository) {
+            DoctorAvailabilityRepository doctorAvailabilityRepository,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
         this.appointmentRepository = appointmentRepository;
         this.patientRepository = patientRepository;
         this.departmentRepository = departmentRepository;
         this.doctorRepository = doctorRepository;
         this.doctorAvailabilityRepository = doctorAvailabilityRepository;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
     }
 
     @Transactional
@@ -40,28 +62,48 @@ public class AppointmentService {
             Long doctorId,
             Long availableSlotId,
             String reason) {
+        // Timed by outcome so a rush of conflicts is distinguishable from slow successful bookings
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Appointment appointment = book(patientId, departmentId, doctorId, availableSlotId, reason);
+            outcome = "booked";
+            return appointment;
+        } catch (IllegalStateException e) {
+            outcome = "conflict";
+            throw e;
+        } catch (IllegalArgumentException e) {
+            outcome = "invalid";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("smartswasthya.booking", "outcome", outcome));
+        }
+    }
 
-        // 1. Validate entities exist
-        Patient patient = patientRepository.findById(patientId)
-                .orElseThrow(() -> new IllegalArgumentException("Patient not found with ID: " + patientId));
-        Department department = departmentRepository.findById(departmentId)
-                .orElseThrow(() -> new IllegalArgumentException("Department not found with ID: " + departmentId));
-        Doctor doctor = doctorRepository.findById(doctorId)
-                .orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + doctorId));
-        DoctorAvailability availableSlot = doctorAvailabilityRepository.findById(availableSlotId)
-                .orElseThrow(() -> new IllegalArgumentException("Available time slot not found with ID: " + availableSlotId));
+    private Appointment book(Long patientId, Long departmentId, Long doctorId, Long availableSlotId, String reason) {
+        // 1. Load everything the checks need in one query. Ids that don't line up may also be ids that
+        //    don't exist; only then are the individual existence lookups made, to name the missing one.
+        BookingContext context = doctorAvailabilityRepository.findBookingContext(availableSlotId, patientId)
+                .orElseThrow(() -> findMissing(patientId, departmentId, doctorId, availableSlotId)
+                        .orElseGet(() -> new IllegalArgumentException("Available time slot not found with ID: " + availableSlotId)));
+        if (!context.doctorId().equals(doctorId) || !context.departmentId().equals(departmentId)) {
+            Optional<IllegalArgumentException> missing = findMissing(patientId, departmentId, doctorId, availableSlotId);
+            if (missing.isPresent()) {
+                throw missing.get();
+            }
+        }
 
         // 2. Perform business validations
-        if (availableSlot.isBooked()) {
+        if (context.booked()) {
             throw new IllegalStateException("This time slot is already booked. Please choose another one.");
         }
-        if (!availableSlot.getDoctor().getId().equals(doctorId)) {
+        if (!context.doctorId().equals(doctorId)) {
             throw new IllegalArgumentException("Selected time slot does not belong to the chosen doctor.");
         }
-        if (!doctor.getDepartment().getId().equals(departmentId)) {
+        if (!context.departmentId().equals(departmentId)) {
             throw new IllegalArgumentException("Chosen doctor does not belong to the selected department.");
         }
-        if (!department.getHospital().getId().equals(patient.getHospital().getId())) { // Assuming patient has a preferred hospital
+        if (!context.hospitalId().equals(context.patientHospitalId())) { // Assuming patient has a preferred hospital
             // This check might be more complex depending on your exact requirements
             // For example, if a patient can book an appointment at a hospital different from their primary one.
             // For simplicity, we'll assume the patient is booking within their registered hospital for now.
@@ -69,59 +111,161 @@ public class AppointmentService {
         }
 
 
-        // 3. Mark the slot as booked
-        availableSlot.setBooked(true);
-        availableSlot.setBookedAppointment(null); // Will be set after appointment is saved, to prevent circular reference during save if mappedBy="bookedAppointment"
-        doctorAvailabilityRepository.save(availableSlot); // Save the updated availability
+        // 3. Claim the slot with a single conditional update. Only one concurrent caller can flip
+        //    is_booked from false to true; everyone else gets 0 rows and a 409 straight away.
+        if (doctorAvailabilityRepository.claimSlot(availableSlotId, doctorId) == 0) {
+            throw new IllegalStateException("This time slot is already booked. Please choose another one.");
+        }
 
-        // 4. Create and save the appointment
+        // 4. Create and save the appointment. The ids were all verified above, so the associations are
+        //    unloaded references that only contribute their foreign keys to the insert.
         Appointment appointment = new Appointment();
-        appointment.setPatient(patient);
-        appointment.setDepartment(department);
-        appointment.setDoctor(doctor);
+        appointment.setPatient(patientRepository.getReferenceById(patientId));
+        appointment.setDepartment(departmentRepository.getReferenceById(departmentId));
+        appointment.setDoctor(doctorRepository.getReferenceById(doctorId));
         // Derive the actual appointment time from the slot's date and start time
-        appointment.setAppointmentTime(LocalDateTime.of(availableSlot.getAvailableDate(), availableSlot.getStartTime()));
+        appointment.setAppointmentTime(LocalDateTime.of(context.availableDate(), context.startTime()));
         appointment.setReason(reason);
-        appointment.setAvailableSlot(availableSlot); // Link appointment to the slot
+        appointment.setAvailableSlot(doctorAvailabilityRepository.getReferenceById(availableSlotId)); // Link appointment to the slot
 
-        Appointment savedAppointment = appointmentRepository.save(appointment);
-
-        // 5. Update the DoctorAvailability with the booked appointment (needed for @OneToOne mappedBy)
-        availableSlot.setBookedAppointment(savedAppointment);
-        doctorAvailabilityRepository.save(availableSlot); // Save again to link
+        Appointment savedAppointment;
+        try {
+            // Flush here so a unique-constraint violation on available_slot_id surfaces as a conflict, not a 500 at commit
+            savedAppointment = appointmentRepository.saveAndFlush(appointment);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("This time slot is already booked. Please choose another one.", e);
+        }
 
+        eventPublisher.publishEvent(new SlotChangedEvent(SlotChangedEvent.Kind.BOOKED, availableSlotId, doctorId,
+                context.availableDate(), context.startTime(), context.endTime()));
         return savedAppointment;
     }
 
-    @Transactional(readOnly = true)
-    public List<Appointment> getAllAppointments() {
-        return appointmentRepository.findAll();
+    // Error path only: the first id that doesn't exist, checked in the order bookings have always reported them
+    private Optional<IllegalArgumentException> findMissing(Long patientId, Long departmentId, Long doctorId, Long availableSlotId) {
+        if (!patientRepository.existsById(patientId)) {
+            return Optional.of(new IllegalArgumentException("Patient not found with ID: " + patientId));
+        }
+        if (!departmentRepository.existsById(departmentId)) {
+            return Optional.of(new IllegalArgumentException("Department not found with ID: " + departmentId));
+        }
+        if (!doctorRepository.existsById(doctorId)) {
+            return Optional.of(new IllegalArgumentException("Doctor not found with ID: " + doctorId));
+        }
+        if (!doctorAvailabilityRepository.existsById(availableSlotId)) {
+            return Optional.of(new IllegalArgumentException("Available time slot not found with ID: " + availableSlotId));
+        }
+        return Optional.empty();
     }
 
-    @Transactional(readOnly = true)
-    public Optional<Appointment> getAppointmentById(Long id) {
-        return appointmentRepository.findById(id);
-    }
+    /**
+     * Books many (patient, doctor, slot) tuples at once, e.g. for a health camp. The ids are validated
+     * with one IN query per table, the slots are claimed in one JDBC batch and the appointments inserted
+     * in another. Every item gets its own result; a conflict or an invalid item doesn't affect the others.
+     */
+    @Transactional
+    public List<BatchBookingResult> bookAppointments(List<BatchBookingItem> items) {
+        Set<Long> slotIds = new HashSet<>();
+        Set<Long> patientIds = new HashSet<>();
+        for (BatchBookingItem item : items) {
+            if (item.availableSlotId() != null) {
+                slotIds.add(item.availableSlotId());
+            }
+            if (item.patientId() != null) {
+                patientIds.add(item.patientId());
+            }
+        }
+        Map<Long, BookingContext> slots = slotIds.isEmpty() ? Map.of() : doctorAvailabilityRepository.findBookingContexts(slotIds)
+                .stream().collect(Collectors.toMap(BookingContext::slotId, Function.identity()));
+        Set<Long> knownPatients = patientIds.isEmpty() ? Set.of() : patientRepository.findExistingIds(patientIds);
 
-    @Transactional(readOnly = true)
-    public List<Appointment> getAppointmentsByPatientId(Long patientId) {
-        // Optional: Validate patient existence
-        // patientRepository.findById(patientId).orElseThrow(() -> new IllegalArgumentException("Patient not found with ID: " + patientId));
-        return appointmentRepository.findByPatientId(patientId);
+        // 1. Per-item checks against the prefetched rows; the first item naming a slot is its only claimant
+        BatchBookingResult[] results = new BatchBookingResult[items.size()];
+        Map<Long, Integer> claimants = new TreeMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchBookingItem item = items.get(i);
+            BookingContext slot = slots.get(item.availableSlotId());
+            if (item.patientId() == null || item.doctorId() == null || item.availableSlotId() == null) {
+                results[i] = BatchBookingResult.invalid(i, "patientId, doctorId and availableSlotId are required.");
+            } else if (!knownPatients.contains(item.patientId())) {
+                results[i] = BatchBookingResult.invalid(i, "Patient not found with ID: " + item.patientId());
+            } else if (slot == null) {
+                results[i] = BatchBookingResult.invalid(i, "Available time slot not found with ID: " + item.availableSlotId());
+            } else if (!slot.doctorId().equals(item.doctorId())) {
+                results[i] = BatchBookingResult.invalid(i, "Selected time slot does not belong to the chosen doctor.");
+            } else if (slot.booked() || claimants.containsKey(slot.slotId())) {
+                results[i] = BatchBookingResult.conflict(i);
+            } else {
+                claimants.put(slot.slotId(), i);
+            }
+        }
+
+        // 2. Claim in slot-id order (the TreeMap's), so two overlapping batches lock rows in the same order
+        //    and can't deadlock. A slot taken since the prefetch comes back unclaimed: a conflict.
+        List<BookingContext> toClaim = claimants.keySet().stream().map(slots::get).toList();
+        boolean[] claimed = toClaim.isEmpty() ? new boolean[0] : doctorAvailabilityRepository.claimSlots(toClaim);
+        List<Appointment> appointments = new ArrayList<>();
+        List<Integer> appointmentItems = new ArrayList<>();
+        for (int c = 0; c < toClaim.size(); c++) {
+            BookingContext slot = toClaim.get(c);
+            int i = claimants.get(slot.slotId());
+            if (!claimed[c]) {
+                results[i] = BatchBookingResult.conflict(i);
+                continue;
+            }
+            Appointment appointment = new Appointment();
+            appointment.setPatient(patientRepository.getReferenceById(items.get(i).patientId()));
+            appointment.setDepartment(departmentRepository.getReferenceById(slot.departmentId()));
+            appointment.setDoctor(doctorRepository.getReferenceById(slot.doctorId()));
+            appointment.setAppointmentTime(LocalDateTime.of(slot.availableDate(), slot.startTime()));
+            appointment.setReason(items.get(i).reason());
+            appointment.setAvailableSlot(doctorAvailabilityRepository.getReferenceById(slot.slotId()));
+            appointments.add(appointment);
+            appointmentItems.add(i);
+        }
+
+        // 3. One batched insert for every claimed slot
+        appointmentRepository.insertAll(appointments);
+        for (int a = 0; a < appointments.size(); a++) {
+            Appointment appointment = appointments.get(a);
+            int i = appointmentItems.get(a);
+            results[i] = BatchBookingResult.booked(i, appointment.getId());
+            BookingContext slot = slots.get(items.get(i).availableSlotId());
+            eventPublisher.publishEvent(new SlotChangedEvent(SlotChangedEvent.Kind.BOOKED, slot.slotId(), slot.doctorId(),
+                    slot.availableDate(), slot.startTime(), slot.endTime()));
+        }
+
+        for (BatchBookingResult result : results) {
+            meterRegistry.counter("smartswasthya.booking.batch.items", "outcome", result.outcome().name().toLowerCase()).increment();
+        }
+        return List.of(results);
     }
 
+    /**
+     * Keyset-paginated listing ordered by (appointmentTime, id). Filters combine; the cost of a page
+     * depends on the page size, not on how many appointments match.
+     */
     @Transactional(readOnly = true)
-    public List<Appointment> getAppointmentsByDoctorId(Long doctorId) {
-        // Optional: Validate doctor existence
-        // doctorRepository.findById(doctorId).orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + doctorId));
-        return appointmentRepository.findByDoctorId(doctorId);
+    public CursorPage<AppointmentSummary> getAppointments(AppointmentFilter filter, String cursor, int limit) {
+        Specification<Appointment> spec = AppointmentSpecifications.matching(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor last = Cursor.decode(cursor);
+            spec = spec.and(AppointmentSpecifications.after(last.appointmentTime(), last.id()));
+        }
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<Appointment> rows = appointmentRepository.findBy(spec,
+                query -> query.sortBy(KEYSET_ORDER).limit(limit + 1).all());
+        List<AppointmentSummary> page = rows.stream().limit(limit).map(AppointmentSummary::from).toList();
+        if (rows.size() <= limit) {
+            return new CursorPage<>(page, null);
+        }
+        AppointmentSummary last = page.get(limit - 1);
+        return new CursorPage<>(page, new Cursor(last.appointmentTime(), last.id()).encode());
     }
 
     @Transactional(readOnly = true)
-    public List<Appointment> getAppointmentsByDepartmentId(Long departmentId) {
-        // Optional: Validate department existence
-        // departmentRepository.findById(departmentId).orElseThrow(() -> new IllegalArgumentException("Department not found with ID: " + departmentId));
-        return appointmentRepository.findByDepartmentId(departmentId);
+    public Optional<Appointment> getAppointmentById(Long id) {
+        return appointmentRepository.findById(id);
     }
 
     @Transactional
@@ -152,7 +296,8 @@ public class AppointmentService {
                         .orElseThrow(() -> new IllegalArgumentException("New Doctor not found with ID: " + doctorId));
                 existingAppointment.setDoctor(newDoctor);
             }
-            if (availableSlotId != null && !existingAppointment.getAvailableSlot().getId().equals(availableSlotId)) {
+            if (availableSlotId != null && (existingAppointment.getAvailableSlot() == null
+                    || !existingAppointment.getAvailableSlot().getId().equals(availableSlotId))) {
                 // If changing slot, you'd need to unbook old slot and book new.
                 // For simplicity, this update method won't handle slot changes, it should be done via re-booking.
                 throw new UnsupportedOperationException("Changing appointment slot via update is not supported. Please cancel and re-book.");
@@ -163,18 +308,61 @@ public class AppointmentService {
         });
     }
 
+    /**
+     * Cancels an appointment by marking it CANCELLED and releasing its slot; the row is kept. Cancelling a
+     * cancelled appointment again is a no-op; a completed or no-show one can't be cancelled.
+     */
     @Transactional
     public boolean cancelAppointment(Long id) {
-        return appointmentRepository.findById(id).map(appointment -> {
-            // Mark the associated slot as unbooked
-            DoctorAvailability slot = appointment.getAvailableSlot();
-            if (slot != null) {
-                slot.setBooked(false);
-                slot.setBookedAppointment(null); // Unlink the appointment
-                doctorAvailabilityRepository.save(slot);
+        return updateStatus(id, AppointmentStatus.CANCELLED).isPresent();
+    }
+
+    /**
+     * Moves a BOOKED appointment to CANCELLED, COMPLETED or NO_SHOW with a single conditional update.
+     * Only a cancellation frees the slot. Repeating the current status is a no-op.
+     */
+    @Transactional
+    public Optional<Appointment> updateStatus(Long id, AppointmentStatus status) {
+        if (status == null || status == AppointmentStatus.BOOKED) {
+            throw new IllegalArgumentException("status must be one of CANCELLED, COMPLETED or NO_SHOW.");
+        }
+        Optional<Appointment> found = appointmentRepository.findById(id);
+        if (found.isEmpty() || found.get().getStatus() == status) {
+            return found;
+        }
+        Appointment appointment = found.get();
+        // The foreign keys are read before the update clears the persistence context
+        // Null only for a cancelled appointment whose slot was deleted, which the check below rejects
+        Long slotId = appointment.getAvailableSlot() != null ? appointment.getAvailableSlot().getId() : null;
+        Long doctorId = appointment.getDoctor().getId();
+        LocalDateTime time = appointment.getAppointmentTime();
+        if (appointment.getStatus() != AppointmentStatus.BOOKED
+                || appointmentRepository.transitionFromBooked(id, status) == 0) {
+            throw new IllegalStateException("Appointment " + id + " is already " + appointment.getStatus().name().toLowerCase() + ".");
+        }
+        if (status == AppointmentStatus.CANCELLED && doctorAvailabilityRepository.releaseSlot(slotId) > 0) {
+            eventPublisher.publishEvent(new SlotChangedEvent(SlotChangedEvent.Kind.RELEASED, slotId,
+                    doctorId, time.toLocalDate(), time.toLocalTime(), null));
+        }
+        return appointmentRepository.findById(id);
+    }
+
+    // Opaque page cursor: the (appointmentTime, id) of the last row already returned
+    private record Cursor(LocalDateTime appointmentTime, Long id) {
+
+        String encode() {
+            String raw = appointmentTime + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
             }
-            appointmentRepository.delete(appointment);
-            return true;
-        }).orElse(false);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.BlobDeletion;
+import com.backend.SmartSwasthya.Repository.BlobDeletionRepository;
+import com.backend.SmartSwasthya.Repository.PatientReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Transactional outbox for remote blob deletes.
+ *
+ * Callers enqueue a public id in the same transaction that removes the row referencing it, so the
+ * delete itself is a pure DB operation. A scheduled drain picks up due entries in batches, skips ids
+ * that are still referenced by another report (content-addressed storage shares blobs), issues one
+ * bulk delete per batch and retries failures with exponential backoff. Entries are never dropped;
+ * they keep retrying at the maximum backoff and carry the last error for inspection.
+ *
+ * No lock or connection is held during the remote call. A short transaction claims the batch (rows
+ * locked, references checked, claimed_at set and next_attempt_at pushed out by the lease), and a second
+ * one records the outcome; a deleted entry is kept for tombstone-retention with the time the delete
+ * returned. An upload that lands on a blob (identical content dedupes to the same id) calls cancel in
+ * the transaction that references it: pending entries are removed, but a claimed one, or one deleted
+ * after the upload started, means the blob may be gone, so cancel throws and the upload is retried.
+ */
+@Component
+public class BlobDeletionOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobDeletionOutbox.class);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final BlobDeletionRepository blobDeletionRepository;
+    private final PatientReportRepository patientReportRepository;
+    private final CloudinaryImageService cloudinaryImageService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration retryBackoff;
+    private final Duration lease;
+    private final Duration tombstoneRetention;
+
+    public BlobDeletionOutbox(
+            BlobDeletionRepository blobDeletionRepository,
+            PatientReportRepository patientReportRepository,
+            CloudinaryImageService cloudinaryImageService,
+            PlatformTransactionManager transactionManager,
+            @Value("${smartswasthya.blob-deletion.batch-size:100}") int batchSize,
+            @Value("${smartswasthya.blob-deletion.retry-backoff:PT30S}") Duration retryBackoff,
+            @Value("${smartswasthya.blob-deletion.lease:PT5M}") Duration lease,
+            @Value("${smartswasthya.blob-deletion.tombstone-retention:PT1H}") Duration tombstoneRetention) {
+        this.blobDeletionRepository = blobDeletionRepository;
+        this.patientReportRepository = patientReportRepository;
+        this.cloudinaryImageService = cloudinaryImageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.retryBackoff = retryBackoff;
+        this.lease = lease;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    // Must join the caller's transaction: the outbox row commits or rolls back with the row delete
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String publicId) {
+        if (publicId != null && !publicId.isEmpty()) {
+            blobDeletionRepository.save(new BlobDeletion(publicId));
+        }
+    }
+
+    /**
+     * Processes every entry that is due. Returns the number of entries completed (deleted or found to be
+     * still referenced).
+     */
+    @Scheduled(initialDelayString = "${smartswasthya.blob-deletion.interval:PT30S}",
+            fixedDelayString = "${smartswasthya.blob-deletion.interval:PT30S}")
+    public int drain() {
+        transactionTemplate.executeWithoutResult(status ->
+                blobDeletionRepository.deleteByDeletedAtBefore(LocalDateTime.now().minus(tombstoneRetention)));
+        int completed = 0;
+        while (true) {
+            // Truncated to the column's precision, so settle can recognise its own claim after a round trip
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            Claim claim = Objects.requireNonNull(transactionTemplate.execute(status -> claim(now)));
+            completed += claim.stillReferenced();
+            if (!claim.entries().isEmpty()) {
+                completed += delete(claim.entries(), now);
+            }
+            if (claim.due() < batchSize) {
+                return completed;
+            }
+        }
+    }
+
+    /**
+     * Cancels pending deletes of a blob that is referenced again. Joins the transaction that stores the
+     * reference, and throws DeleteInProgressException if a delete of the blob is in flight or returned after
+     * uploadStartedAt: the upload has to store the blob again and retry.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void cancel(String publicId, LocalDateTime uploadStartedAt) {
+        List<BlobDeletion> pending = new ArrayList<>();
+        for (BlobDeletion entry : blobDeletionRepository.findByPublicId(publicId)) {
+            if (entry.getClaimedAt() == null) {
+                pending.add(entry);
+            } else if (entry.getDeletedAt() == null || !entry.getDeletedAt().isBefore(uploadStartedAt)) {
+                throw new DeleteInProgressException(publicId);
+            }
+        }
+        blobDeletionRepository.deleteAllInBatch(pending);
+    }
+
+    private Claim claim(LocalDateTime now) {
+        List<BlobDeletion> due = blobDeletionRepository
+                .findByDeletedAtIsNullAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(now, Limit.of(batchSize));
+        if (due.isEmpty()) {
+            return new Claim(0, 0, List.of());
+        }
+
+        Set<String> publicIds = new HashSet<>();
+        due.forEach(entry -> publicIds.add(entry.getPublicId()));
+        Set<String> referenced = new HashSet<>(patientReportRepository.findReferencedPublicIds(publicIds));
+        List<BlobDeletion> stillReferenced = new ArrayList<>();
+        List<BlobDeletion> claimed = new ArrayList<>();
+        for (BlobDeletion entry : due) {
+            if (referenced.contains(entry.getPublicId())) {
+                stillReferenced.add(entry);
+            } else {
+                entry.setClaimedAt(now);
+                entry.setNextAttemptAt(now.plus(lease));
+                claimed.add(entry);
+            }
+        }
+        blobDeletionRepository.deleteAllInBatch(stillReferenced);
+        return new Claim(due.size(), stillReferenced.size(), claimed);
+    }
+
+    // Runs outside any transaction; returns the number of entries deleted
+    private int delete(List<BlobDeletion> claimed, LocalDateTime claimedAt) {
+        Set<String> publicIds = new LinkedHashSet<>();
+        claimed.forEach(entry -> publicIds.add(entry.getPublicId()));
+
+        Set<String> failed;
+        String error = null;
+        try {
+            failed = cloudinaryImageService.deleteImages(publicIds);
+            if (!failed.isEmpty()) {
+                error = "Storage backend did not delete the blob";
+            }
+        } catch (IOException | RuntimeException e) {
+            failed = publicIds;
+            error = e.getMessage();
+        }
+
+        if (!failed.isEmpty()) {
+            log.warn("{} blob deletions failed and will be retried: {}", failed.size(), error);
+        }
+        // Taken after the call returned, so an upload that started later knows its blob survived
+        LocalDateTime returned = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Set<String> notDeleted = failed;
+        String lastError = error;
+        List<Long> ids = claimed.stream().map(BlobDeletion::getId).toList();
+        return Objects.requireNonNull(transactionTemplate.execute(status ->
+                settle(ids, claimedAt, notDeleted, lastError, returned)));
+    }
+
+    private int settle(List<Long> ids, LocalDateTime claimedAt, Set<String> failed, String error, LocalDateTime returned) {
+        int deleted = 0;
+        for (BlobDeletion entry : blobDeletionRepository.findByIdIn(ids)) {
+            if (!claimedAt.equals(entry.getClaimedAt()) || entry.getDeletedAt() != null) {
+                continue; // Our lease ran out and another drain claimed it; that drain settles it
+            }
+            if (failed.contains(entry.getPublicId())) {
+                // Taken as not deleted, so the next attempt is what an upload has to wait for
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setNextAttemptAt(returned.plus(backoff(entry.getAttempts())));
+                entry.setLastError(error);
+                entry.setClaimedAt(null);
+            } else {
+                entry.setDeletedAt(returned);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    private record Claim(int due, int stillReferenced, List<BlobDeletion> entries) {
+    }
+
+    /**
+     * A delete of the blob is in flight or finished after the upload began, so the blob may be gone.
+     */
+    public static class DeleteInProgressException extends IllegalStateException {
+        public DeleteInProgressException(String publicId) {
+            super("Blob " + publicId + " is being deleted");
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.Department;
+import com.backend.SmartSwasthya.Models.Doctor;
+import com.backend.SmartSwasthya.Models.Hospital;
+import com.backend.SmartSwasthya.Repository.HospitalRepository;
+import com.backend.SmartSwasthya.dto.SlotView;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Deletes a hospital, department, doctor or patient with everything that hangs off it, without loading the entity
+ * graph that CascadeType.ALL would walk row by row.
+ *
+ * Dependents go first, leaves to root, as set-based DELETEs of at most chunk-size rows, each chunk in its
+ * own short transaction: patients (keyset pages, with their reports and appointments), then appointments
+ * of the doctors and departments, then slots. Memory stays flat and no lock is held across chunks. A final
+ * transaction sweeps whatever was added meanwhile and deletes the doctors, departments and hospital, so a
+ * deletion interrupted half-way leaves the root in place and simply resumes when it is retried.
+ *
+ * Report blobs are queued on the BlobDeletionOutbox with the rows that reference them. Slots in other
+ * hospitals booked by deleted patients are released, and the caches (second-level regions, catalog ETags,
+ * slot index) are told after each commit.
+ */
+@Component
+public class CascadeDeleter {
+
+    private static final Logger log = LoggerFactory.getLogger(CascadeDeleter.class);
+
+    private final HospitalRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public CascadeDeleter(HospitalRepository repository,
+                          ApplicationEventPublisher eventPublisher,
+                          EntityManagerFactory entityManagerFactory,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${smartswasthya.cascade-delete.chunk-size:1000}") int chunkSize) {
+        this.repository = repository;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public void deleteHospital(Long hospitalId) {
+        List<Long> departmentIds = repository.findDepartmentIdsOfHospital(hospitalId);
+        Set<Long> doctorIds = new HashSet<>(repository.findDoctorIdsOfHospital(hospitalId, departmentIds));
+
+        long afterId = 0;
+        List<Long> patientIds;
+        while (!(patientIds = repository.findPatientIdsOfHospital(hospitalId, afterId, chunkSize)).isEmpty()) {
+            deletePatients(patientIds, doctorIds, chunkSize);
+            afterId = patientIds.getLast();
+        }
+        deleteAppointments(limit -> repository.findAppointmentIdsOfDoctors(doctorIds, limit), doctorIds);
+        deleteAppointments(limit -> repository.findAppointmentIdsOfDepartments(departmentIds, limit), doctorIds);
+        deleteSlots(doctorIds);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Whatever was added while the chunks ran, in one go; normally nothing
+            List<Long> lateDepartments = repository.findDepartmentIdsOfHospital(hospitalId);
+            List<Long> lateDoctors = repository.findDoctorIdsOfHospital(hospitalId, lateDepartments);
+            doctorIds.addAll(lateDoctors);
+            deletePatients(repository.findPatientIdsOfHospital(hospitalId, 0, Integer.MAX_VALUE), doctorIds, Integer.MAX_VALUE);
+            deleteRoots(lateDepartments, doctorIds);
+            repository.deleteHospital(hospitalId);
+            publishRemoved(doctorIds, CatalogVersions.Catalog.values());
+        });
+        evictReferenceData();
+        log.info("Deleted hospital {} with {} departments and {} doctors", hospitalId, departmentIds.size(), doctorIds.size());
+    }
+
+    public void deleteDepartment(Long departmentId) {
+        Set<Long> doctorIds = new HashSet<>(repository.findDoctorIdsOfDepartment(departmentId));
+        List<Long> departmentIds = List.of(departmentId);
+        deleteAppointments(limit -> repository.findAppointmentIdsOfDoctors(doctorIds, limit), doctorIds);
+        deleteAppointments(limit -> repository.findAppointmentIdsOfDepartments(departmentIds, limit), doctorIds);
+        deleteSlots(doctorIds);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            doctorIds.addAll(repository.findDoctorIdsOfDepartment(departmentId));
+            deleteRoots(departmentIds, doctorIds);
+            publishRemoved(doctorIds, CatalogVersions.Catalog.DEPARTMENTS, CatalogVersions.Catalog.DOCTORS);
+        });
+        evictReferenceData();
+    }
+
+    public void deleteDoctor(Long doctorId) {
+        Set<Long> doctorIds = Set.of(doctorId);
+        deleteAppointments(limit -> repository.findAppointmentIdsOfDoctors(doctorIds, limit), doctorIds);
+        deleteSlots(doctorIds);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            deleteRoots(List.of(), doctorIds);
+            publishRemoved(doctorIds, CatalogVersions.Catalog.DOCTORS);
+        });
+        evictReferenceData();
+    }
+
+    // A patient's appointments and reports are few, so all of it goes in one transaction
+    public void deletePatient(Long patientId) {
+        deletePatients(List.of(patientId), Set.of(), chunkSize);
+    }
+
+    // One page of patients with their reports and appointments, joining the caller's transaction if there is one
+    private void deletePatients(List<Long> patientIds, Set<Long> deletedDoctorIds, int limit) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> appointmentIds;
+            while (!(appointmentIds = repository.findAppointmentIdsOfPatients(patientIds, limit)).isEmpty()) {
+                deleteAppointments(appointmentIds, deletedDoctorIds);
+            }
+            repository.enqueueReportBlobs(patientIds);
+            repository.deleteReportsOfPatients(patientIds);
+            repository.deletePatients(patientIds);
+            eventPublisher.publishEvent(new PatientsRemovedEvent(Set.copyOf(patientIds)));
+        });
+    }
+
+    private void deleteAppointments(IntFunction<List<Long>> nextChunk, Set<Long> deletedDoctorIds) {
+        boolean more = true;
+        while (more) {
+            more = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                List<Long> appointmentIds = nextChunk.apply(chunkSize);
+                deleteAppointments(appointmentIds, deletedDoctorIds);
+                return appointmentIds.size() == chunkSize;
+            }));
+        }
+    }
+
+    private void deleteAppointments(List<Long> appointmentIds, Set<Long> deletedDoctorIds) {
+        // Slots of doctors that are being deleted go anyway; any other booked slot becomes free again
+        for (SlotView slot : repository.releaseSlotsOf(appointmentIds)) {
+            if (!deletedDoctorIds.contains(slot.doctorId())) {
+                eventPublisher.publishEvent(new SlotChangedEvent(SlotChangedEvent.Kind.RELEASED,
+                        slot.id(), slot.doctorId(), slot.availableDate(), slot.startTime(), slot.endTime()));
+            }
+        }
+        repository.deleteAppointments(appointmentIds);
+    }
+
+    private void deleteSlots(Set<Long> doctorIds) {
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                repository.deleteSlotsOfDoctors(doctorIds, chunkSize) == chunkSize))) {
+            // next chunk
+        }
+    }
+
+    // Last leftovers of the doctors and departments, then the rows themselves
+    private void deleteRoots(List<Long> departmentIds, Set<Long> doctorIds) {
+        deleteAppointments(repository.findAppointmentIdsOfDoctors(doctorIds, Integer.MAX_VALUE), doctorIds);
+        deleteAppointments(repository.findAppointmentIdsOfDepartments(departmentIds, Integer.MAX_VALUE), doctorIds);
+        repository.deleteSlotsOfDoctors(doctorIds, Integer.MAX_VALUE);
+        repository.deleteDoctors(doctorIds);
+        repository.deleteDepartments(departmentIds);
+    }
+
+    private void publishRemoved(Set<Long> doctorIds, CatalogVersions.Catalog... catalogs) {
+        eventPublisher.publishEvent(CatalogChangedEvent.of(catalogs));
+        if (!doctorIds.isEmpty()) {
+            eventPublisher.publishEvent(new DoctorsRemovedEvent(Set.copyOf(doctorIds)));
+        }
+    }
+
+    // The DELETEs bypassed Hibernate, so the second-level cache would still serve the removed rows
+    private void evictReferenceData() {
+        entityManagerFactory.getCache().evict(Hospital.class);
+        entityManagerFactory.getCache().evict(Department.class);
+        entityManagerFactory.getCache().evict(Doctor.class);
+    }
+}
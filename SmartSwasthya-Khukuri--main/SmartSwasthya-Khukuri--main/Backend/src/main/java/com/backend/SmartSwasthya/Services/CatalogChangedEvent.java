@@ -0,0 +1,14 @@
+package com.backend.SmartSwasthya.Services;
+
+import java.util.Set;
+
+/**
+ * Published by the hospital, department and doctor services whenever a write changes what one of the
+ * catalog listings returns. Listeners receive it after the transaction commits.
+ */
+public record CatalogChangedEvent(Set<CatalogVersions.Catalog> catalogs) {
+
+    public static CatalogChangedEvent of(CatalogVersions.Catalog... catalogs) {
+        return new CatalogChangedEvent(Set.of(catalogs));
+    }
+}
@@ -0,0 +1,79 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Config.ReplicaRouting;
+import com.backend.SmartSwasthya.Config.ResponseViewAdvice;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Change counters behind the ETags of the hospital, department and doctor listings. A listing's ETag
+ * is computed from memory, so a conditional GET that still matches is answered with 304 without
+ * touching the database.
+ *
+ * Counters are bumped after the writing transaction commits on the primary; controllers read the ETag
+ * before they query, and the query then goes to the primary too (a lagging replica could still return the
+ * old rows), so a body is never labelled with a version newer than its data. The ETag includes a random
+ * per-process epoch, so a restart or another instance never produces a false match. Writes made on
+ * another instance aren't seen here, so every counter is also bumped each max-staleness interval.
+ */
+@Component
+public class CatalogVersions {
+
+    public enum Catalog {
+        HOSPITALS,
+        DEPARTMENTS,
+        DOCTORS
+    }
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLongArray versions = new AtomicLongArray(Catalog.values().length);
+    private final CacheControl cacheControl;
+
+    public CatalogVersions(@Value("${smartswasthya.catalog.max-age:PT1M}") Duration maxAge) {
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * ETag over the given catalogs, for listings whose body depends on all of them. The compact view drops
+     * fields, so it gets its own tag. The tag is weak because JSON and CBOR encodings of the same listing
+     * share it; responses carry Vary: Accept so caches still keep the two apart. The rest of the request
+     * reads from the primary, which the counters follow.
+     */
+    public String etag(WebRequest request, Catalog... catalogs) {
+        ReplicaRouting.readFromPrimary();
+        StringBuilder etag = new StringBuilder("W/\"").append(epoch);
+        for (Catalog catalog : catalogs) {
+            etag.append('-').append(versions.get(catalog.ordinal()));
+        }
+        if (ResponseViewAdvice.isCompact(request)) {
+            etag.append("-compact");
+        }
+        return etag.append('"').toString();
+    }
+
+    // Lets clients and shared caches reuse a listing for a short while without asking at all
+    public CacheControl cacheControl() {
+        return cacheControl;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        event.catalogs().forEach(catalog -> versions.incrementAndGet(catalog.ordinal()));
+    }
+
+    @Scheduled(initialDelayString = "${smartswasthya.catalog.max-staleness:PT5M}",
+            fixedRateString = "${smartswasthya.catalog.max-staleness:PT5M}")
+    public void expire() {
+        for (Catalog catalog : Catalog.values()) {
+            versions.incrementAndGet(catalog.ordinal());
+        }
+    }
+}
@@ -2,9 +2,43 @@ package com.backend.SmartSwasthya.Services;
 
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 public interface CloudinaryImageService {
-    Map<String, Object> upload(MultipartFile file) throws IOException;
+    // Streams the file from disk; implementations must not read it fully into memory
+    Map<String, Object> upload(Path file) throws IOException;
     void deleteImage(String publicId) throws IOException; // Method to delete from Cloudinary
-}
\ No newline at end of file
+
+    // Deletes several blobs at once and returns the ids that could not be deleted (already-missing blobs count as deleted).
+    // Backends without a bulk API fall back to one call per id.
+    default Set<String> deleteImages(Collection<String> publicIds) throws IOException {
+        Set<String> failed = new HashSet<>();
+        for (String publicId : publicIds) {
+            try {
+                deleteImage(publicId);
+            } catch (IOException e) {
+                failed.add(publicId);
+            }
+        }
+        return failed;
+    }
+
+    default Map<String, Object> upload(MultipartFile file) throws IOException {
+        // Multipart parts are already spooled to disk by the container. transferTo(File) hands that file over
+        // with Part.write, which Tomcat renames into place when it can (copying only across file systems);
+        // transferTo(Path) would always stream a copy.
+        Path spooled = Path.of(System.getProperty("java.io.tmpdir"), "upload-" + UUID.randomUUID() + ".part");
+        try {
+            file.transferTo(spooled.toFile());
+            return upload(spooled);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+}
@@ -1,31 +1,67 @@
 package com.backend.SmartSwasthya.Services;
 
 import com.cloudinary.Cloudinary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Service
+@ConditionalOnProperty(name = "smartswasthya.storage.type", havingValue = "cloudinary", matchIfMissing = true)
 public class CloudinaryImageServiceImpl implements CloudinaryImageService {
 
+    private static final int DELETE_BATCH_SIZE = 100;
+
     private final Cloudinary cloudinary;
+    private final StorageMeters meters;
 
     @Autowired
-    public CloudinaryImageServiceImpl(Cloudinary cloudinary) {
+    public CloudinaryImageServiceImpl(Cloudinary cloudinary, MeterRegistry meterRegistry) {
         this.cloudinary = cloudinary;
+        this.meters = new StorageMeters(meterRegistry, "cloudinary");
     }
 
     @Override
-    public Map<String, Object> upload(MultipartFile file) throws IOException {
+    public Map<String, Object> upload(Path file) throws IOException {
+        // Passing a File (not byte[]) makes the HTTP client stream the multipart body from disk
         // You can add more options here, like folder, tags etc.
-        return cloudinary.uploader().upload(file.getBytes(), Map.of());
+        return meters.upload(file, () -> cloudinary.uploader().upload(file.toFile(), Map.of()));
     }
 
     @Override
     public void deleteImage(String publicId) throws IOException {
-        cloudinary.uploader().destroy(publicId, Map.of());
+        meters.delete(1, () -> cloudinary.uploader().destroy(publicId, Map.of()));
+    }
+
+    @Override
+    public Set<String> deleteImages(Collection<String> publicIds) throws IOException {
+        // The Admin API deletes up to 100 resources per call
+        List<String> ids = List.copyOf(publicIds);
+        Set<String> failed = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += DELETE_BATCH_SIZE) {
+            List<String> batch = ids.subList(from, Math.min(from + DELETE_BATCH_SIZE, ids.size()));
+            Map<?, ?> deleted = meters.delete(batch.size(), () -> {
+                try {
+                    return (Map<?, ?>) cloudinary.api().deleteResources(batch, Map.of()).get("deleted");
+                } catch (Exception e) {
+                    throw new IOException("Cloudinary bulk delete failed: " + e.getMessage(), e);
+                }
+            });
+            for (String publicId : batch) {
+                Object outcome = deleted != null ? deleted.get(publicId) : null;
+                if (!"deleted".equals(outcome) && !"not_found".equals(outcome)) {
+                    failed.add(publicId);
+                }
+            }
+        }
+        return failed;
     }
-}
\ No newline at end of file
+}
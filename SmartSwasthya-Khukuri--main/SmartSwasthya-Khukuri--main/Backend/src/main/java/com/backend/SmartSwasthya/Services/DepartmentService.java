@@ -5,6 +5,7 @@ import com.backend.SmartSwasthya.Models.Hospital;
 import com.backend.SmartSwasthya.Repository.DepartmentRepository;
 import com.backend.SmartSwasthya.Repository.HospitalRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,11 +17,16 @@ public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
     private final HospitalRepository hospitalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CascadeDeleter cascadeDeleter;
 
     @Autowired
-    public DepartmentService(DepartmentRepository departmentRepository, HospitalRepository hospitalRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository, HospitalRepository hospitalRepository,
+                             ApplicationEventPublisher eventPublisher, CascadeDeleter cascadeDeleter) {
         this.departmentRepository = departmentRepository;
         this.hospitalRepository = hospitalRepository;
+        this.eventPublisher = eventPublisher;
+        this.cascadeDeleter = cascadeDeleter;
     }
 
     @Transactional
@@ -28,6 +34,7 @@ public class DepartmentService {
         Hospital hospital = hospitalRepository.findById(hospitalId)
                 .orElseThrow(() -> new IllegalArgumentException("Hospital not found with ID: " + hospitalId));
         department.setHospital(hospital);
+        eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogVersions.Catalog.DEPARTMENTS));
         return departmentRepository.save(department);
     }
 
@@ -58,14 +65,15 @@ public class DepartmentService {
                         .orElseThrow(() -> new IllegalArgumentException("New Hospital not found with ID: " + hospitalId));
                 existingDepartment.setHospital(newHospital);
             }
+            eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogVersions.Catalog.DEPARTMENTS));
             return departmentRepository.save(existingDepartment);
         });
     }
 
-    @Transactional
+    // Its doctors go with it; committed in chunks by CascadeDeleter
     public boolean deleteDepartment(Long id) {
         if (departmentRepository.existsById(id)) {
-            departmentRepository.deleteById(id);
+            cascadeDeleter.deleteDepartment(id);
             return true;
         }
         return false;
@@ -2,26 +2,59 @@ package com.backend.SmartSwasthya.Services;
 
 import com.backend.SmartSwasthya.Models.Doctor;
 import com.backend.SmartSwasthya.Models.DoctorAvailability;
+import com.backend.SmartSwasthya.Repository.AppointmentRepository;
 import com.backend.SmartSwasthya.Repository.DoctorAvailabilityRepository;
 import com.backend.SmartSwasthya.Repository.DoctorRepository;
+import com.backend.SmartSwasthya.dto.DoctorSummary;
+import com.backend.SmartSwasthya.dto.FreeSlot;
+import com.backend.SmartSwasthya.dto.ScheduleDay;
+import com.backend.SmartSwasthya.dto.ScheduleEntry;
+import com.backend.SmartSwasthya.dto.SlotGenerationResult;
+import com.backend.SmartSwasthya.dto.SlotScheduleTemplate;
+import com.backend.SmartSwasthya.dto.SlotView;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class DoctorAvailabilityService {
 
+    private static final int MAX_TEMPLATE_DAYS = 366;
+    private static final int MIN_SLOT_MINUTES = 5;
+    private static final int MAX_SLOT_MINUTES = 480;
+    private static final int MAX_SEARCH_DAYS = 31;
+    private static final int MAX_SCHEDULE_DAYS = 7;
+
     private final DoctorAvailabilityRepository availabilityRepository;
     private final DoctorRepository doctorRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final SlotAvailabilityIndex slotIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public DoctorAvailabilityService(DoctorAvailabilityRepository availabilityRepository, DoctorRepository doctorRepository) {
+    public DoctorAvailabilityService(DoctorAvailabilityRepository availabilityRepository, DoctorRepository doctorRepository,
+                                     AppointmentRepository appointmentRepository, SlotAvailabilityIndex slotIndex,
+                                     ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
         this.availabilityRepository = availabilityRepository;
         this.doctorRepository = doctorRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.slotIndex = slotIndex;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
     }
 
     @Transactional
@@ -30,20 +63,112 @@ public class DoctorAvailabilityService {
                 .orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + doctorId));
         availability.setDoctor(doctor);
         availability.setBooked(false); // Ensure new slots are not booked by default
-        return availabilityRepository.save(availability);
+        DoctorAvailability saved = availabilityRepository.save(availability);
+        publish(SlotChangedEvent.Kind.OPENED, saved, doctorId);
+        return saved;
+    }
+
+    /**
+     * Expands a recurrence template into slots for one doctor and inserts them in JDBC batches.
+     * Slots overlapping an existing slot are skipped, so re-submitting a template is harmless.
+     */
+    @Transactional
+    public SlotGenerationResult generateSlots(Long doctorId, SlotScheduleTemplate template) {
+        if (!doctorRepository.existsById(doctorId)) {
+            throw new IllegalArgumentException("Doctor not found with ID: " + doctorId);
+        }
+        List<SlotView> slots = expand(doctorId, template);
+        if (slots.isEmpty()) {
+            return new SlotGenerationResult(0, 0);
+        }
+        boolean[] inserted = availabilityRepository.insertIfNoOverlap(slots);
+        int created = 0;
+        for (boolean wasInserted : inserted) {
+            if (wasInserted) {
+                created++;
+            }
+        }
+        eventPublisher.publishEvent(new DoctorScheduleChangedEvent(doctorId, template.fromDate(), template.toDate()));
+        return new SlotGenerationResult(created, slots.size() - created);
     }
 
-    @Transactional(readOnly = true)
     public List<DoctorAvailability> getAvailableSlotsForDoctorAndDate(Long doctorId, LocalDate date) {
-        // Optional: Validate doctor existence
-        // doctorRepository.findById(doctorId).orElseThrow(() -> new IllegalArgumentException("Doctor not found with ID: " + doctorId));
-        return availabilityRepository.findByDoctorIdAndAvailableDateAndIsBookedFalse(doctorId, date);
+        // Served from the in-memory index; only a cold doctor-day touches the database.
+        return meterRegistry.timer("smartswasthya.availability.query", "query", "free").record(() ->
+                slotIndex.getFreeSlots(doctorId, date).stream()
+                        .map(DoctorAvailabilityService::toAvailability)
+                        .toList());
+    }
+
+    /**
+     * The limit earliest free slots across the doctors of a department, or of a hospital with a given
+     * specialization, between two dates (inclusive). One query finds the doctors; the slots are merged
+     * from the in-memory index. Slots that already started today are skipped.
+     */
+    public List<FreeSlot> findEarliestFreeSlots(Long departmentId, Long hospitalId, String specialization,
+                                                LocalDate from, LocalDate to, int limit) {
+        LocalDate today = LocalDate.now();
+        LocalDate start = from == null || from.isBefore(today) ? today : from;
+        LocalDate end = to != null ? to : start.plusDays(MAX_SEARCH_DAYS - 1);
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("to must not be before from.");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_SEARCH_DAYS) {
+            throw new IllegalArgumentException("A search may span at most " + MAX_SEARCH_DAYS + " days.");
+        }
+        List<DoctorSummary> doctors;
+        if (departmentId != null) {
+            doctors = doctorRepository.findSummariesByDepartmentId(departmentId);
+        } else if (hospitalId != null && specialization != null && !specialization.isBlank()) {
+            doctors = doctorRepository.findSummariesByHospitalIdAndSpecialization(hospitalId, specialization.trim());
+        } else {
+            throw new IllegalArgumentException("Either departmentId, or hospitalId with specialization, is required.");
+        }
+        if (doctors.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, DoctorSummary> byId = doctors.stream().collect(Collectors.toMap(DoctorSummary::id, Function.identity()));
+        LocalTime notBefore = start.equals(today) ? LocalTime.now() : LocalTime.MIDNIGHT;
+        return meterRegistry.timer("smartswasthya.availability.query", "query", "earliest").record(() ->
+                slotIndex.earliestFree(byId.keySet(), start, end, notBefore, limit).stream()
+                        .map(slot -> FreeSlot.of(slot, byId.get(slot.doctorId())))
+                        .toList());
+    }
+
+    /**
+     * A doctor's day (or up to a week from date) for the Doctorside app: each slot with its appointment and
+     * patient, grouped by date. One query covers the whole range; an unknown doctor is only looked up
+     * (from the reference cache) when the range has no slots at all.
+     */
+    @Transactional(readOnly = true)
+    public List<ScheduleDay> getSchedule(Long doctorId, LocalDate date, int days) {
+        if (date == null) {
+            throw new IllegalArgumentException("date is required.");
+        }
+        if (days < 1 || days > MAX_SCHEDULE_DAYS) {
+            throw new IllegalArgumentException("days must be between 1 and " + MAX_SCHEDULE_DAYS + ".");
+        }
+        LocalDate to = date.plusDays(days - 1L);
+        List<ScheduleEntry> entries = meterRegistry.timer("smartswasthya.availability.query", "query", "schedule").record(() ->
+                availabilityRepository.findScheduleEntries(doctorId, date, to));
+        if (entries.isEmpty() && doctorRepository.findById(doctorId).isEmpty()) {
+            throw new IllegalArgumentException("Doctor not found with ID: " + doctorId);
+        }
+
+        Map<LocalDate, List<ScheduleEntry>> byDate = entries.stream().collect(Collectors.groupingBy(ScheduleEntry::date));
+        List<ScheduleDay> schedule = new ArrayList<>(days);
+        for (LocalDate day = date; !day.isAfter(to); day = day.plusDays(1)) {
+            schedule.add(ScheduleDay.of(day, byDate.getOrDefault(day, List.of())));
+        }
+        return schedule;
     }
 
     @Transactional(readOnly = true)
     public List<DoctorAvailability> getAllSlotsForDoctorAndDate(Long doctorId, LocalDate date) {
         // For admin/management to see all slots, even booked ones
-        return availabilityRepository.findByDoctorIdAndAvailableDate(doctorId, date);
+        return meterRegistry.timer("smartswasthya.availability.query", "query", "all").record(() ->
+                availabilityRepository.findByDoctorIdAndAvailableDate(doctorId, date));
     }
 
     @Transactional(readOnly = true)
@@ -54,12 +179,16 @@ public class DoctorAvailabilityService {
     @Transactional
     public Optional<DoctorAvailability> updateAvailability(Long id, DoctorAvailability availabilityDetails) {
         return availabilityRepository.findById(id).map(existingAvailability -> {
+            Long doctorId = existingAvailability.getDoctor().getId();
+            publish(SlotChangedEvent.Kind.REMOVED, existingAvailability, doctorId); // the slot may move to another day
             existingAvailability.setAvailableDate(availabilityDetails.getAvailableDate());
             existingAvailability.setStartTime(availabilityDetails.getStartTime());
             existingAvailability.setEndTime(availabilityDetails.getEndTime());
             existingAvailability.setBooked(availabilityDetails.isBooked()); // Allow updating booked status (e.g., for cancellation)
             // Doctor cannot be changed for an existing slot
-            return availabilityRepository.save(existingAvailability);
+            DoctorAvailability saved = availabilityRepository.save(existingAvailability);
+            publish(saved.isBooked() ? SlotChangedEvent.Kind.BOOKED : SlotChangedEvent.Kind.OPENED, saved, doctorId);
+            return saved;
         });
     }
 
@@ -72,9 +201,87 @@ public class DoctorAvailabilityService {
                 // You might throw an exception here or handle deletion of linked appointment first
                 throw new IllegalStateException("Cannot delete a booked time slot. Cancel the associated appointment first.");
             }
-            availabilityRepository.deleteById(id);
+            appointmentRepository.detachCancelledFromSlot(id);
+            availabilityRepository.delete(slot);
+            try {
+                // Flushed here so an appointment still on the slot is a conflict, not a 500 at commit
+                availabilityRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                throw new IllegalStateException("Cannot delete a time slot that still has appointments.", e);
+            }
+            publish(SlotChangedEvent.Kind.REMOVED, slot, slot.getDoctor().getId());
             return true;
         }
         return false;
     }
-}
\ No newline at end of file
+
+    private void publish(SlotChangedEvent.Kind kind, DoctorAvailability slot, Long doctorId) {
+        eventPublisher.publishEvent(new SlotChangedEvent(kind, slot.getId(), doctorId,
+                slot.getAvailableDate(), slot.getStartTime(), slot.getEndTime()));
+    }
+
+    private static List<SlotView> expand(Long doctorId, SlotScheduleTemplate template) {
+        if (template.fromDate() == null || template.toDate() == null || template.toDate().isBefore(template.fromDate())) {
+            throw new IllegalArgumentException("A valid fromDate/toDate range is required.");
+        }
+        if (ChronoUnit.DAYS.between(template.fromDate(), template.toDate()) >= MAX_TEMPLATE_DAYS) {
+            throw new IllegalArgumentException("A template may span at most " + MAX_TEMPLATE_DAYS + " days.");
+        }
+        if (template.workStart() == null || template.workEnd() == null || !template.workStart().isBefore(template.workEnd())) {
+            throw new IllegalArgumentException("workStart must be before workEnd.");
+        }
+        if (template.slotMinutes() < MIN_SLOT_MINUTES || template.slotMinutes() > MAX_SLOT_MINUTES) {
+            throw new IllegalArgumentException("slotMinutes must be between " + MIN_SLOT_MINUTES + " and " + MAX_SLOT_MINUTES + ".");
+        }
+        List<SlotScheduleTemplate.Break> breaks = template.breaks() != null ? template.breaks() : List.of();
+        for (SlotScheduleTemplate.Break pause : breaks) {
+            if (pause.start() == null || pause.end() == null || !pause.start().isBefore(pause.end())) {
+                throw new IllegalArgumentException("Each break needs a start before its end.");
+            }
+        }
+
+        // Lay out one day's slot times (in minutes of day), then stamp them onto every matching date
+        List<int[]> daySlots = new ArrayList<>();
+        int end = template.workEnd().toSecondOfDay() / 60;
+        int start = template.workStart().toSecondOfDay() / 60;
+        while (start + template.slotMinutes() <= end) {
+            int slotEnd = start + template.slotMinutes();
+            int resumeAt = start;
+            for (SlotScheduleTemplate.Break pause : breaks) {
+                int breakStart = pause.start().toSecondOfDay() / 60;
+                int breakEnd = pause.end().toSecondOfDay() / 60;
+                if (start < breakEnd && slotEnd > breakStart) {
+                    resumeAt = Math.max(resumeAt, breakEnd);
+                }
+            }
+            if (resumeAt > start) {
+                start = resumeAt;
+                continue;
+            }
+            daySlots.add(new int[]{start, slotEnd});
+            start = slotEnd;
+        }
+
+        List<SlotView> slots = new ArrayList<>();
+        for (LocalDate date = template.fromDate(); !date.isAfter(template.toDate()); date = date.plusDays(1)) {
+            if (template.daysOfWeek() != null && !template.daysOfWeek().isEmpty() && !template.daysOfWeek().contains(date.getDayOfWeek())) {
+                continue;
+            }
+            for (int[] times : daySlots) {
+                slots.add(new SlotView(null, doctorId, date,
+                        LocalTime.ofSecondOfDay(times[0] * 60L), LocalTime.ofSecondOfDay(times[1] * 60L), false));
+            }
+        }
+        return slots;
+    }
+
+    private static DoctorAvailability toAvailability(SlotView slot) {
+        DoctorAvailability availability = new DoctorAvailability();
+        availability.setId(slot.id());
+        availability.setAvailableDate(slot.availableDate());
+        availability.setStartTime(slot.startTime());
+        availability.setEndTime(slot.endTime());
+        availability.setBooked(slot.booked());
+        return availability;
+    }
+}
@@ -0,0 +1,10 @@
+package com.backend.SmartSwasthya.Services;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a doctor's slots change in bulk between two dates (inclusive), where per-slot
+ * SlotChangedEvents are not available. Listeners receive it after the transaction commits.
+ */
+public record DoctorScheduleChangedEvent(Long doctorId, LocalDate fromDate, LocalDate toDate) {
+}
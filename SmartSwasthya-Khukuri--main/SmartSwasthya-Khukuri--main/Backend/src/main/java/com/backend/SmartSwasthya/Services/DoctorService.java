@@ -6,7 +6,9 @@ import com.backend.SmartSwasthya.Models.Hospital;
 import com.backend.SmartSwasthya.Repository.DepartmentRepository;
 import com.backend.SmartSwasthya.Repository.DoctorRepository;
 import com.backend.SmartSwasthya.Repository.HospitalRepository;
+import com.backend.SmartSwasthya.dto.DoctorSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,12 +21,17 @@ public class DoctorService {
     private final DoctorRepository doctorRepository;
     private final HospitalRepository hospitalRepository;
     private final DepartmentRepository departmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CascadeDeleter cascadeDeleter;
 
     @Autowired
-    public DoctorService(DoctorRepository doctorRepository, HospitalRepository hospitalRepository, DepartmentRepository departmentRepository) {
+    public DoctorService(DoctorRepository doctorRepository, HospitalRepository hospitalRepository, DepartmentRepository departmentRepository,
+                         ApplicationEventPublisher eventPublisher, CascadeDeleter cascadeDeleter) {
         this.doctorRepository = doctorRepository;
         this.hospitalRepository = hospitalRepository;
         this.departmentRepository = departmentRepository;
+        this.eventPublisher = eventPublisher;
+        this.cascadeDeleter = cascadeDeleter;
     }
 
     @Transactional
@@ -41,12 +48,13 @@ public class DoctorService {
 
         doctor.setHospital(hospital);
         doctor.setDepartment(department);
+        eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogVersions.Catalog.DOCTORS));
         return doctorRepository.save(doctor);
     }
 
     @Transactional(readOnly = true)
-    public List<Doctor> getAllDoctors() {
-        return doctorRepository.findAll();
+    public List<DoctorSummary> getAllDoctors() {
+        return doctorRepository.findAllSummaries();
     }
 
     @Transactional(readOnly = true)
@@ -55,20 +63,20 @@ public class DoctorService {
     }
 
     @Transactional(readOnly = true)
-    public List<Doctor> getDoctorsByDepartmentId(Long departmentId) {
+    public List<DoctorSummary> getDoctorsByDepartmentId(Long departmentId) {
         // Optional: Validate department existence
         // departmentRepository.findById(departmentId).orElseThrow(() -> new IllegalArgumentException("Department not found with ID: " + departmentId));
-        return doctorRepository.findByDepartmentId(departmentId);
+        return doctorRepository.findSummariesByDepartmentId(departmentId);
     }
 
     @Transactional(readOnly = true)
-    public List<Doctor> getDoctorsByHospitalAndDepartment(Long hospitalId, Long departmentId) {
+    public List<DoctorSummary> getDoctorsByHospitalAndDepartment(Long hospitalId, Long departmentId) {
         // Validate existence for both for robust error handling
         hospitalRepository.findById(hospitalId)
                 .orElseThrow(() -> new IllegalArgumentException("Hospital not found with ID: " + hospitalId));
         departmentRepository.findById(departmentId)
                 .orElseThrow(() -> new IllegalArgumentException("Department not found with ID: " + departmentId));
-        return doctorRepository.findByHospitalIdAndDepartmentId(hospitalId, departmentId);
+        return doctorRepository.findSummariesByHospitalIdAndDepartmentId(hospitalId, departmentId);
     }
 
     @Transactional
@@ -101,14 +109,15 @@ public class DoctorService {
                     throw new IllegalArgumentException("Updated department with ID " + newDepartment.getId() + " does not belong to the (new) Hospital with ID " + newHospital.getId());
                 }
             }
+            eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogVersions.Catalog.DOCTORS));
             return doctorRepository.save(existingDoctor);
         });
     }
 
-    @Transactional
+    // Slots and appointments go with the doctor; committed in chunks by CascadeDeleter
     public boolean deleteDoctor(Long id) {
         if (doctorRepository.existsById(id)) {
-            doctorRepository.deleteById(id);
+            cascadeDeleter.deleteDoctor(id);
             return true;
         }
         return false;
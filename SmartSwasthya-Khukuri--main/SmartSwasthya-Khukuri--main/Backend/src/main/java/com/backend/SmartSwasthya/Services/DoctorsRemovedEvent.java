@@ -0,0 +1,10 @@
+package com.backend.SmartSwasthya.Services;
+
+import java.util.Set;
+
+/**
+ * Published when doctors are deleted together with all of their slots, which are removed in bulk without
+ * one SlotChangedEvent each. Listeners receive it after the transaction commits.
+ */
+public record DoctorsRemovedEvent(Set<Long> doctorIds) {
+}
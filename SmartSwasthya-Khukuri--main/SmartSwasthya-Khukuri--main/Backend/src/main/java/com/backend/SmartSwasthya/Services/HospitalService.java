@@ -3,6 +3,7 @@ package com.backend.SmartSwasthya.Services;
 import com.backend.SmartSwasthya.Models.Hospital;
 import com.backend.SmartSwasthya.Repository.HospitalRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -13,14 +14,19 @@ import java.util.Optional;
 public class HospitalService {
 
     private final HospitalRepository hospitalRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CascadeDeleter cascadeDeleter;
 
     @Autowired
-    public HospitalService(HospitalRepository hospitalRepository) {
+    public HospitalService(HospitalRepository hospitalRepository, ApplicationEventPublisher eventPublisher, CascadeDeleter cascadeDeleter) {
         this.hospitalRepository = hospitalRepository;
+        this.eventPublisher = eventPublisher;
+        this.cascadeDeleter = cascadeDeleter;
     }
 
     @Transactional
     public Hospital createHospital(Hospital hospital) {
+        eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogVersions.Catalog.HOSPITALS));
         return hospitalRepository.save(hospital);
     }
 
@@ -41,14 +47,15 @@ public class HospitalService {
             existingHospital.setAddress(hospitalDetails.getAddress());
             existingHospital.setEmail(hospitalDetails.getEmail());
             // Update relationships if necessary, though direct update is uncommon here.
+            eventPublisher.publishEvent(CatalogChangedEvent.of(CatalogVersions.Catalog.HOSPITALS));
             return hospitalRepository.save(existingHospital);
         });
     }
 
-    @Transactional
+    // Not one transaction: the cascade commits in chunks (see CascadeDeleter) and the hospital row goes last
     public boolean deleteHospital(Long id) {
         if (hospitalRepository.existsById(id)) {
-            hospitalRepository.deleteById(id);
+            cascadeDeleter.deleteHospital(id);
             return true;
         }
         return false;
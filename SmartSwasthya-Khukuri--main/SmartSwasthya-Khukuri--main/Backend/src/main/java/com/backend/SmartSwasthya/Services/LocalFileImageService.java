@@ -0,0 +1,118 @@
+package com.backend.SmartSwasthya.Services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Stores report files on local disk instead of Cloudinary (smartswasthya.storage.type=local).
+ *
+ * Blobs are content-addressed: the public id is the SHA-256 of the bytes and the file lives at
+ * root/ab/cd/abcd…, so identical uploads are stored once. Files are written to root/tmp first and
+ * moved into place atomically, so readers never see a partial blob.
+ */
+@Service
+@ConditionalOnProperty(name = "smartswasthya.storage.type", havingValue = "local")
+public class LocalFileImageService implements CloudinaryImageService {
+
+    private static final Pattern BLOB_ID = Pattern.compile("[0-9a-f]{64}");
+    private static final int DIGEST_BUFFER_BYTES = 64 * 1024;
+
+    private final Path root;
+    private final String publicUrl;
+    private final StorageMeters meters;
+
+    public LocalFileImageService(
+            @Value("${smartswasthya.storage.local.root:report-store}") String root,
+            @Value("${smartswasthya.storage.local.public-url:/api/blobs}") String publicUrl,
+            MeterRegistry meterRegistry) throws IOException {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+        this.publicUrl = publicUrl.endsWith("/") ? publicUrl.substring(0, publicUrl.length() - 1) : publicUrl;
+        this.meters = new StorageMeters(meterRegistry, "local");
+        Files.createDirectories(this.root.resolve("tmp"));
+    }
+
+    @Override
+    public Map<String, Object> upload(Path file) throws IOException {
+        return meters.upload(file, () -> store(file));
+    }
+
+    private Map<String, Object> store(Path file) throws IOException {
+        String hash = sha256(file);
+        Path target = resolvePath(hash);
+        if (!Files.exists(target)) {
+            Files.createDirectories(target.getParent());
+            Path staging = root.resolve("tmp").resolve(UUID.randomUUID().toString());
+            try {
+                // A hard link avoids copying when the upload already sits on the same file system
+                try {
+                    Files.createLink(staging, file);
+                } catch (IOException | UnsupportedOperationException e) {
+                    Files.copy(file, staging);
+                }
+                Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // A concurrent upload of the same content won the race; its copy is identical
+            } finally {
+                Files.deleteIfExists(staging);
+            }
+        }
+        return Map.of(
+                "url", publicUrl + "/" + hash,
+                "public_id", hash,
+                "bytes", Files.size(target));
+    }
+
+    @Override
+    public void deleteImage(String publicId) throws IOException {
+        if (BLOB_ID.matcher(publicId).matches()) {
+            meters.delete(1, () -> Files.deleteIfExists(resolvePath(publicId)));
+        }
+    }
+
+    /**
+     * Returns the file backing a blob id, if the id is well-formed and the blob exists.
+     */
+    public Optional<Path> resolve(String publicId) {
+        if (publicId == null || !BLOB_ID.matcher(publicId).matches()) {
+            return Optional.empty();
+        }
+        Path path = resolvePath(publicId);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path resolvePath(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
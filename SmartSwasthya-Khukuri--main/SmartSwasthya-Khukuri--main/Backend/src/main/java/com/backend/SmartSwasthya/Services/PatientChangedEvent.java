@@ -0,0 +1,10 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.dto.PatientMatch;
+
+/**
+ * Published by PatientService when a patient is created or updated, carrying the patient as it now is.
+ * Listeners receive it after the transaction commits.
+ */
+public record PatientChangedEvent(PatientMatch patient) {
+}
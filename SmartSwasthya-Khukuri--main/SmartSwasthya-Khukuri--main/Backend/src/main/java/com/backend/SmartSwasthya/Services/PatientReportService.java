@@ -1,38 +1,56 @@
 package com.backend.SmartSwasthya.Services;
 
-import com.backend.SmartSwasthya.Models.Patient;
 import com.backend.SmartSwasthya.Models.PatientReport;
+import com.backend.SmartSwasthya.Models.ReportStatus;
 import com.backend.SmartSwasthya.Repository.PatientReportRepository;
 import com.backend.SmartSwasthya.Repository.PatientRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class PatientReportService {
 
+    private static final Logger log = LoggerFactory.getLogger(PatientReportService.class);
+
     private final PatientReportRepository patientReportRepository;
     private final PatientRepository patientRepository;
     private final CloudinaryImageService cloudinaryImageService;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportUploadQueue reportUploadQueue;
+    private final BlobDeletionOutbox blobDeletionOutbox;
 
     @Autowired
     public PatientReportService(
             PatientReportRepository patientReportRepository,
             PatientRepository patientRepository,
-            CloudinaryImageService cloudinaryImageService) {
+            CloudinaryImageService cloudinaryImageService,
+            PlatformTransactionManager transactionManager,
+            ReportUploadQueue reportUploadQueue,
+            BlobDeletionOutbox blobDeletionOutbox) {
         this.patientReportRepository = patientReportRepository;
         this.patientRepository = patientRepository;
         this.cloudinaryImageService = cloudinaryImageService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reportUploadQueue = reportUploadQueue;
+        this.blobDeletionOutbox = blobDeletionOutbox;
     }
 
-    @Transactional // Ensure the transaction covers both upload and save
+    // No surrounding transaction and no remote call: the file is spooled to local disk, a PENDING row is
+    // written in a short transaction and the actual upload happens on the ReportUploadQueue workers.
     public PatientReport uploadReport(Long patientId, String reportType, MultipartFile file, String uploadedBy) {
         // 1. Validate input parameters
         if (patientId == null) {
@@ -45,35 +63,42 @@ public class PatientReportService {
             throw new IllegalArgumentException("Report file cannot be empty.");
         }
 
-        // 2. Find the patient
-        Patient patient = patientRepository.findById(patientId)
-                .orElseThrow(() -> new IllegalArgumentException("Patient not found with ID: " + patientId));
+        // 2. Make sure the patient exists before accepting the file
+        if (!patientRepository.existsById(patientId)) {
+            throw new IllegalArgumentException("Patient not found with ID: " + patientId);
+        }
 
-        // 3. Upload file to Cloudinary
-        Map<String, Object> uploadResult;
+        // 3. Spool the file. transferTo(File) lets the container rename its temp file into the spool when both
+        // are on one file system and copies otherwise; the bytes never pass through a byte[].
+        String spoolName = UUID.randomUUID().toString();
+        Path spooled = reportUploadQueue.spoolDirectory().resolve(spoolName);
         try {
-            uploadResult = cloudinaryImageService.upload(file);
-            if (uploadResult == null || !uploadResult.containsKey("url") || !uploadResult.containsKey("public_id")) {
-                throw new RuntimeException("Cloudinary upload failed: URL or public ID not returned.");
-            }
-        } catch (IOException e) { // Catch specific IOException for Cloudinary upload
-            throw new RuntimeException("Failed to upload report file to Cloudinary: " + e.getMessage(), e);
+            file.transferTo(spooled.toFile());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to spool report file: " + e.getMessage(), e);
         }
 
-        String reportUrl = (String) uploadResult.get("url");
-        String publicId = (String) uploadResult.get("public_id");
-
-        // 4. Create a new PatientReport object
-        PatientReport report = new PatientReport();
-        report.setPatient(patient);
-        report.setReportType(reportType);
-        report.setReportUrl(reportUrl); // Set the Cloudinary URL
-        report.setCloudinaryPublicId(publicId); // Store the public ID for deletion
-        report.setUploadedBy(uploadedBy != null && !uploadedBy.trim().isEmpty() ? uploadedBy : "System");
-        report.setUploadedDate(LocalDate.now());
+        // 4. Persist the PENDING PatientReport row in a short transaction
+        PatientReport saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                PatientReport report = new PatientReport();
+                report.setPatient(patientRepository.getReferenceById(patientId));
+                report.setReportType(reportType);
+                report.setUploadedBy(uploadedBy != null && !uploadedBy.trim().isEmpty() ? uploadedBy : "System");
+                report.setUploadedDate(LocalDate.now());
+                report.setStatus(ReportStatus.PENDING);
+                report.setSpoolFile(spoolName);
+                return patientReportRepository.save(report);
+            });
+        } catch (RuntimeException e) {
+            deleteSpoolFile(spoolName);
+            throw e;
+        }
 
-        // 5. Save the report to the database
-        return patientReportRepository.save(report);
+        // 5. Hand it to the background workers; the row itself is the durable queue entry
+        reportUploadQueue.enqueue(saved.getId());
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -91,18 +116,21 @@ public class PatientReportService {
     @Transactional
     public boolean deleteReport(Long id) {
         return patientReportRepository.findById(id).map(report -> {
-            String publicId = report.getCloudinaryPublicId();
-            if (publicId != null && !publicId.isEmpty()) {
-                try {
-                    cloudinaryImageService.deleteImage(publicId); // Delete from Cloudinary
-                } catch (IOException e) {
-                    // Log the error but don't prevent database deletion if Cloudinary fails
-                    System.err.println("Failed to delete report from Cloudinary (publicId: " + publicId + "): " + e.getMessage());
-                    // Potentially throw a custom exception if Cloudinary deletion is critical
-                }
+            // The remote blob is removed by the outbox drain after commit, never inside this transaction
+            blobDeletionOutbox.enqueue(report.getCloudinaryPublicId());
+            if (report.getSpoolFile() != null) {
+                deleteSpoolFile(report.getSpoolFile()); // Still waiting for the upload queue
             }
             patientReportRepository.deleteById(id); // Delete from database
             return true;
         }).orElse(false);
     }
+
+    private void deleteSpoolFile(String spoolName) {
+        try {
+            Files.deleteIfExists(reportUploadQueue.spoolDirectory().resolve(spoolName));
+        } catch (IOException e) {
+            log.warn("Failed to remove spooled report file {}", spoolName, e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,435 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Repository.PatientRepository;
+import com.backend.SmartSwasthya.dto.PatientMatch;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Resident index for looking patients up by phone or name, so reception doesn't download a hospital's
+ * whole patient list to filter it in the browser.
+ *
+ * Phones are kept as normalised digit strings (no separators, no +977) in an ordered map: every number
+ * starting with the typed digits is one contiguous key range, as a trie walk would give, and the range
+ * is read in order until enough patients are found. Names are split into tokens, each
+ * reduced to a phonetic key that folds the usual romanisations of Nepali names together (aa/a, ee/i,
+ * sh/s, th/t, bh/b, v/w/b, x/ks: Shrestha, Srestha and Shresta share a key). Every query token must
+ * prefix one of a patient's keys; a token that prefixes no key at all is taken as misspelt and matches the
+ * keys that share enough trigrams with it, looked up in the vocabulary of distinct keys rather than per
+ * patient. Only the patients of the most selective token are visited. Matches are ranked literal prefix
+ * of the full name first, then literal token prefixes, then phonetic, then misspelt matches; ties go by
+ * name. Phone and name postings are kept once over all patients and once per hospital, so a search
+ * narrowed to a hospital only walks that hospital's patients.
+ *
+ * The index is built from the patients table at startup, kept current by PatientService and
+ * CascadeDeleter events after each commit, and rebuilt periodically to pick up writes made by other
+ * instances. Writers are serialised; searches read the concurrent maps without locking.
+ */
+@Component
+public class PatientSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PatientSearchIndex.class);
+    static final int MAX_LIMIT = 50;
+    private static final int MIN_PHONE_DIGITS = 3;
+    private static final double MIN_SIMILARITY = 0.5;
+
+    private final PatientRepository patientRepository;
+    private final Object writeLock = new Object();
+    private volatile Index index = new Index();
+    // Changes applied while a rebuild is loading, replayed onto the new index before it is published
+    private Map<Long, PatientMatch> changedDuringRebuild;
+
+    public PatientSearchIndex(PatientRepository patientRepository, MeterRegistry meterRegistry) {
+        this.patientRepository = patientRepository;
+        meterRegistry.gauge("smartswasthya.patient-search.size", this, PatientSearchIndex::size);
+    }
+
+    /**
+     * Up to limit patients matching a phone number prefix (a query without letters) or a name, optionally
+     * only those of one hospital.
+     */
+    public List<PatientMatch> search(String query, Long hospitalId, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("A search query is required.");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        Index current = index;
+        if (query.chars().noneMatch(Character::isLetter)) {
+            String digits = normalisePhone(query);
+            if (digits.length() < MIN_PHONE_DIGITS) {
+                throw new IllegalArgumentException("Type at least " + MIN_PHONE_DIGITS + " digits of a phone number.");
+            }
+            return current.byPhone(digits, hospitalId, limit);
+        }
+        return current.byName(query, hospitalId, limit);
+    }
+
+    public int size() {
+        return index.entries.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${smartswasthya.patient-search.rebuild-interval:PT10M}",
+            fixedDelayString = "${smartswasthya.patient-search.rebuild-interval:PT10M}")
+    public void rebuild() {
+        synchronized (writeLock) {
+            changedDuringRebuild = new HashMap<>();
+        }
+        Index fresh = new Index();
+        patientRepository.findAllMatches().forEach(fresh::put);
+        synchronized (writeLock) {
+            changedDuringRebuild.forEach((id, patient) -> {
+                if (patient == null) {
+                    fresh.remove(id);
+                } else {
+                    fresh.put(patient);
+                }
+            });
+            changedDuringRebuild = null;
+            index = fresh;
+        }
+        log.info("Patient search index built with {} patients", fresh.entries.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientChanged(PatientChangedEvent event) {
+        synchronized (writeLock) {
+            index.put(event.patient());
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(event.patient().id(), event.patient());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPatientsRemoved(PatientsRemovedEvent event) {
+        synchronized (writeLock) {
+            for (Long id : event.patientIds()) {
+                index.remove(id);
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.put(id, null);
+                }
+            }
+        }
+    }
+
+    // Digits only, without the +977 country code
+    static String normalisePhone(String phone) {
+        String digits = phone.replaceAll("\\D", "");
+        return digits.length() > 10 && digits.startsWith("977") ? digits.substring(3) : digits;
+    }
+
+    // Lower case, Latin accents and punctuation removed, single spaces; Devanagari is kept as typed
+    static String normaliseName(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{InCombiningDiacriticalMarks}", "");
+        return decomposed.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{M}\\p{Nd}]+", " ").trim();
+    }
+
+    static String phoneticKey(String token) {
+        String key = token
+                .replace("aa", "a").replace("ee", "i").replace("ii", "i").replace("oo", "u").replace("uu", "u")
+                .replace("x", "ks") // Laxmi, Lakshmi
+                .replace('q', 'k').replace('z', 'j').replace('v', 'b').replace('w', 'b').replace('f', 'p');
+        key = key.replaceAll("([bcdgjkpst])h+", "$1"); // aspirates and sh: bh/b, th/t, sh/s
+        return key.replaceAll("(.)\\1+", "$1");
+    }
+
+    private static List<String> tokenise(String normalisedName) {
+        return normalisedName.isEmpty() ? List.of() : List.of(normalisedName.split(" "));
+    }
+
+    private static Set<String> trigrams(String key) {
+        String padded = "$" + key + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Identity equality on purpose: entries are held in the posting sets directly, so a search reads them
+    // without a lookup by id
+    private static final class Entry {
+
+        private final PatientMatch patient;
+        private final long hospitalId;
+        private final String name;
+        private final String phone;
+        private final String[] tokens;
+        private final String[] keys;
+
+        private Entry(PatientMatch patient) {
+            this.patient = patient;
+            this.hospitalId = patient.hospitalId();
+            this.name = patient.name() == null ? "" : normaliseName(patient.name());
+            this.phone = patient.phone() == null ? "" : normalisePhone(patient.phone());
+            this.tokens = tokenise(name).toArray(String[]::new);
+            this.keys = Arrays.stream(tokens).map(PatientSearchIndex::phoneticKey).distinct().toArray(String[]::new);
+        }
+    }
+
+    // The patients one query token matches: those with a key it prefixes or, failing that, a key spelt like it
+    private record TokenMatch(String key, Map<String, Double> similarKeys, List<Set<Entry>> postings) {
+
+        int size() {
+            return postings.stream().mapToInt(Set::size).sum();
+        }
+
+        // 1 for a prefix match, the spelling similarity for a similar key, 0 if the patient doesn't match
+        double fit(Entry entry) {
+            double fit = 0;
+            for (String candidate : entry.keys) {
+                if (similarKeys.isEmpty()) {
+                    if (candidate.startsWith(key)) {
+                        return 1;
+                    }
+                } else {
+                    fit = Math.max(fit, similarKeys.getOrDefault(candidate, 0.0));
+                }
+            }
+            return fit;
+        }
+    }
+
+    private record Scored(Entry entry, double score) {
+
+        static final Comparator<Scored> BEST_FIRST = (a, b) -> {
+            int byScore = Double.compare(b.score(), a.score());
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byName = a.entry().name.compareTo(b.entry().name);
+            return byName != 0 ? byName : a.entry().patient.id().compareTo(b.entry().patient.id());
+        };
+    }
+
+    // Phone and name postings over one set of patients: all of them, or those of one hospital
+    private static final class Postings {
+
+        private final ConcurrentSkipListMap<String, Set<Entry>> phones = new ConcurrentSkipListMap<>();
+        private final ConcurrentSkipListMap<String, Set<Entry>> nameKeys = new ConcurrentSkipListMap<>();
+
+        void add(Entry entry) {
+            if (!entry.phone.isEmpty()) {
+                Index.add(phones, entry.phone, entry);
+            }
+            for (String key : entry.keys) {
+                Index.add(nameKeys, key, entry);
+            }
+        }
+
+        void remove(Entry entry) {
+            Index.drop(phones, entry.phone, entry);
+            for (String key : entry.keys) {
+                Index.drop(nameKeys, key, entry);
+            }
+        }
+
+        boolean isEmpty() {
+            return phones.isEmpty() && nameKeys.isEmpty();
+        }
+    }
+
+    private static final class Index {
+
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final Postings all = new Postings();
+        private final Map<Long, Postings> byHospital = new ConcurrentHashMap<>();
+        // Trigrams of the distinct name keys, not of patients: misspellings are looked up in the vocabulary
+        private final Map<String, Set<String>> keyTrigrams = new ConcurrentHashMap<>();
+
+        void put(PatientMatch patient) {
+            remove(patient.id());
+            Entry entry = new Entry(patient);
+            entries.put(patient.id(), entry);
+            for (String key : entry.keys) {
+                if (!all.nameKeys.containsKey(key)) {
+                    trigrams(key).forEach(gram -> add(keyTrigrams, gram, key));
+                }
+            }
+            all.add(entry);
+            byHospital.computeIfAbsent(entry.hospitalId, id -> new Postings()).add(entry);
+        }
+
+        void remove(Long id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            all.remove(entry);
+            Postings hospital = byHospital.get(entry.hospitalId);
+            if (hospital != null) {
+                hospital.remove(entry);
+                if (hospital.isEmpty()) {
+                    byHospital.remove(entry.hospitalId, hospital);
+                }
+            }
+            for (String key : entry.keys) {
+                if (!all.nameKeys.containsKey(key)) {
+                    trigrams(key).forEach(gram -> drop(keyTrigrams, gram, key));
+                }
+            }
+        }
+
+        // All patients, or only those of the hospital; null for a hospital without patients
+        private Postings postings(Long hospitalId) {
+            return hospitalId == null ? all : byHospital.get(hospitalId);
+        }
+
+        // Exact number first, then longer numbers in key order; stops as soon as limit are found
+        List<PatientMatch> byPhone(String digits, Long hospitalId, int limit) {
+            Postings postings = postings(hospitalId);
+            if (postings == null) {
+                return List.of();
+            }
+            List<PatientMatch> found = new ArrayList<>(limit);
+            for (Set<Entry> matching : postings.phones.subMap(digits, digits + Character.MAX_VALUE).values()) {
+                for (Entry entry : matching) {
+                    found.add(entry.patient);
+                    if (found.size() == limit) {
+                        return found;
+                    }
+                }
+            }
+            return found;
+        }
+
+        List<PatientMatch> byName(String query, Long hospitalId, int limit) {
+            Postings postings = postings(hospitalId);
+            if (postings == null) {
+                return List.of();
+            }
+            String name = normaliseName(query);
+            List<String> queryTokens = tokenise(name);
+            List<TokenMatch> matches = new ArrayList<>(queryTokens.size());
+            for (String token : queryTokens) {
+                TokenMatch match = match(phoneticKey(token), postings.nameKeys);
+                if (match.postings().isEmpty()) {
+                    return List.of();
+                }
+                matches.add(match);
+            }
+            if (matches.isEmpty()) {
+                return List.of();
+            }
+
+            // Walk the patients of the most selective token and check the others against each patient's keys
+            TokenMatch driver = Collections.min(matches, Comparator.comparingInt(TokenMatch::size));
+            List<TokenMatch> others = new ArrayList<>(matches);
+            if (driver.similarKeys().isEmpty()) {
+                others.remove(driver); // every patient in its postings is a prefix match
+            }
+            PriorityQueue<Scored> best = new PriorityQueue<>(limit + 1, Scored.BEST_FIRST.reversed());
+            // A patient can only turn up twice when the token prefixes several keys
+            Set<Entry> seen = driver.postings().size() > 1 ? new HashSet<>() : null;
+            for (Set<Entry> matching : driver.postings()) {
+                for (Entry entry : matching) {
+                    if (seen != null && !seen.add(entry)) {
+                        continue;
+                    }
+                    double fit = 1;
+                    for (TokenMatch match : others) {
+                        fit = Math.min(fit, match.fit(entry));
+                    }
+                    if (fit > 0) {
+                        // A misspelt token ranks the patient below every prefix match
+                        offer(best, new Scored(entry, fit < 1 ? fit : literalScore(entry, name, queryTokens)), limit);
+                    }
+                }
+            }
+
+            List<PatientMatch> found = new ArrayList<>(best.size());
+            best.stream().sorted(Scored.BEST_FIRST).forEach(scored -> found.add(scored.entry().patient));
+            return found;
+        }
+
+        private TokenMatch match(String key, ConcurrentSkipListMap<String, Set<Entry>> nameKeys) {
+            List<Set<Entry>> postings = new ArrayList<>(nameKeys.subMap(key, key + Character.MAX_VALUE).values());
+            if (!postings.isEmpty()) {
+                return new TokenMatch(key, Map.of(), postings);
+            }
+            // No key starts with it: keys sharing enough trigrams with it (Dice coefficient). The vocabulary spans
+            // all hospitals, so a similar key may have no patients in this one
+            Set<String> grams = trigrams(key);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String gram : grams) {
+                for (String candidate : keyTrigrams.getOrDefault(gram, Set.of())) {
+                    shared.merge(candidate, 1, Integer::sum);
+                }
+            }
+            Map<String, Double> similarKeys = new HashMap<>();
+            for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+                double similarity = 2.0 * candidate.getValue() / (grams.size() + trigrams(candidate.getKey()).size());
+                Set<Entry> matching = nameKeys.get(candidate.getKey());
+                if (similarity >= MIN_SIMILARITY && matching != null) {
+                    similarKeys.put(candidate.getKey(), similarity);
+                    postings.add(matching);
+                }
+            }
+            return new TokenMatch(key, similarKeys, postings);
+        }
+
+        private static double literalScore(Entry entry, String name, List<String> queryTokens) {
+            if (entry.name.startsWith(name)) {
+                return 3;
+            }
+            for (String token : queryTokens) {
+                if (!startsAny(entry.tokens, token)) {
+                    return 1;
+                }
+            }
+            return 2;
+        }
+
+        private static boolean startsAny(String[] tokens, String prefix) {
+            for (String token : tokens) {
+                if (token.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static void offer(PriorityQueue<Scored> best, Scored scored, int limit) {
+            // Once full, most candidates lose to the worst kept one; one comparison turns them away
+            if (best.size() == limit && Scored.BEST_FIRST.compare(scored, best.peek()) >= 0) {
+                return;
+            }
+            best.add(scored);
+            if (best.size() > limit) {
+                best.poll(); // the worst
+            }
+        }
+
+        private static <T> void add(Map<String, Set<T>> map, String key, T value) {
+            map.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(value);
+        }
+
+        private static <T> void drop(Map<String, Set<T>> map, String key, T value) {
+            Set<T> values = map.get(key);
+            if (values != null) {
+                values.remove(value);
+                if (values.isEmpty()) {
+                    map.remove(key, values);
+                }
+            }
+        }
+    }
+}
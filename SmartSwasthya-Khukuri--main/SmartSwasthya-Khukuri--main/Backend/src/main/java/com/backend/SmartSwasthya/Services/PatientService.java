@@ -4,7 +4,10 @@ import com.backend.SmartSwasthya.Models.Hospital;
 import com.backend.SmartSwasthya.Models.Patient;
 import com.backend.SmartSwasthya.Repository.HospitalRepository;
 import com.backend.SmartSwasthya.Repository.PatientRepository;
+import com.backend.SmartSwasthya.dto.PatientMatch;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,11 +19,21 @@ public class PatientService {
 
     private final PatientRepository patientRepository;
     private final HospitalRepository hospitalRepository;
+    private final PatientSearchIndex patientSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CascadeDeleter cascadeDeleter;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public PatientService(PatientRepository patientRepository, HospitalRepository hospitalRepository) {
+    public PatientService(PatientRepository patientRepository, HospitalRepository hospitalRepository,
+                          PatientSearchIndex patientSearchIndex, ApplicationEventPublisher eventPublisher,
+                          CascadeDeleter cascadeDeleter, MeterRegistry meterRegistry) {
         this.patientRepository = patientRepository;
         this.hospitalRepository = hospitalRepository;
+        this.patientSearchIndex = patientSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.cascadeDeleter = cascadeDeleter;
+        this.meterRegistry = meterRegistry;
     }
 
     @Transactional
@@ -28,7 +41,9 @@ public class PatientService {
         Hospital hospital = hospitalRepository.findById(hospitalId)
                 .orElseThrow(() -> new IllegalArgumentException("Hospital not found with ID: " + hospitalId));
         patient.setHospital(hospital);
-        return patientRepository.save(patient);
+        Patient saved = patientRepository.save(patient);
+        eventPublisher.publishEvent(new PatientChangedEvent(PatientMatch.of(saved)));
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -48,6 +63,12 @@ public class PatientService {
         return patientRepository.findByHospitalId(hospitalId);
     }
 
+    // Served from PatientSearchIndex; no SQL
+    public List<PatientMatch> searchPatients(String query, Long hospitalId, int limit) {
+        return meterRegistry.timer("smartswasthya.patient.search").record(() ->
+                patientSearchIndex.search(query, hospitalId, limit));
+    }
+
     @Transactional
     public Optional<Patient> updatePatient(Long id, Patient patientDetails, Long hospitalId) {
         return patientRepository.findById(id).map(existingPatient -> {
@@ -60,14 +81,16 @@ public class PatientService {
                         .orElseThrow(() -> new IllegalArgumentException("New Hospital not found with ID: " + hospitalId));
                 existingPatient.setHospital(newHospital);
             }
-            return patientRepository.save(existingPatient);
+            Patient saved = patientRepository.save(existingPatient);
+            eventPublisher.publishEvent(new PatientChangedEvent(PatientMatch.of(saved)));
+            return saved;
         });
     }
 
-    @Transactional
+    // Booked slots are released and report blobs queued for deletion by CascadeDeleter, as for a hospital delete
     public boolean deletePatient(Long id) {
         if (patientRepository.existsById(id)) {
-            patientRepository.deleteById(id);
+            cascadeDeleter.deletePatient(id);
             return true;
         }
         return false;
@@ -0,0 +1,10 @@
+package com.backend.SmartSwasthya.Services;
+
+import java.util.Set;
+
+/**
+ * Published when patients are deleted, one at a time by PatientService or a chunk at a time by
+ * CascadeDeleter. Listeners receive it after the transaction commits.
+ */
+public record PatientsRemovedEvent(Set<Long> patientIds) {
+}
@@ -0,0 +1,195 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.PatientReport;
+import com.backend.SmartSwasthya.Models.ReportStatus;
+import com.backend.SmartSwasthya.Repository.PatientReportRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Pushes spooled report files to the configured CloudinaryImageService in the background.
+ *
+ * A fixed number of virtual-thread workers drain an in-memory queue of report ids. Failed uploads
+ * are retried with exponential backoff up to max-attempts, after which the report is marked FAILED and
+ * its spool file removed (a FAILED report has to be uploaded again). An upload that raced a delete of
+ * the blob it deduped onto is simply uploaded again, without counting an attempt. All state (status,
+ * attempts, spool file name) lives on the patient_reports row, so PENDING reports are simply re-queued
+ * on startup.
+ */
+@Component
+public class ReportUploadQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportUploadQueue.class);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+    private final PatientReportRepository patientReportRepository;
+    private final CloudinaryImageService cloudinaryImageService;
+    private final BlobDeletionOutbox blobDeletionOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final Path spoolDirectory;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retryScheduler;
+
+    public ReportUploadQueue(
+            PatientReportRepository patientReportRepository,
+            CloudinaryImageService cloudinaryImageService,
+            BlobDeletionOutbox blobDeletionOutbox,
+            PlatformTransactionManager transactionManager,
+            @Value("${smartswasthya.upload.spool-dir:upload-spool}") String spoolDirectory,
+            @Value("${smartswasthya.upload.workers:4}") int workerCount,
+            @Value("${smartswasthya.upload.max-attempts:5}") int maxAttempts,
+            @Value("${smartswasthya.upload.retry-backoff:PT2S}") Duration retryBackoff) throws IOException {
+        this.patientReportRepository = patientReportRepository;
+        this.cloudinaryImageService = cloudinaryImageService;
+        this.blobDeletionOutbox = blobDeletionOutbox;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.spoolDirectory = Path.of(spoolDirectory).toAbsolutePath().normalize();
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), Thread.ofVirtual().name("report-upload-", 0).factory());
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("report-upload-retry").daemon().factory());
+        Files.createDirectories(this.spoolDirectory);
+    }
+
+    public Path spoolDirectory() {
+        return spoolDirectory;
+    }
+
+    public void enqueue(Long reportId) {
+        workers.execute(() -> process(reportId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePending() {
+        var pending = patientReportRepository.findPending();
+        pending.forEach(report -> enqueue(report.getId()));
+        if (!pending.isEmpty()) {
+            log.info("Re-queued {} pending report uploads from the spool", pending.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        workers.shutdownNow(); // Anything still PENDING is picked up again on the next start
+    }
+
+    private void process(Long reportId) {
+        PatientReport report = patientReportRepository.findById(reportId).orElse(null);
+        if (report == null || report.getStatus() != ReportStatus.PENDING || report.getSpoolFile() == null) {
+            return;
+        }
+        Path spooled = spoolDirectory.resolve(report.getSpoolFile());
+        if (!Files.exists(spooled)) {
+            markFailed(reportId, "spool file missing");
+            return;
+        }
+
+        // Truncated like the outbox's timestamps, so the comparison in cancel errs towards uploading again
+        LocalDateTime uploadStartedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Map<String, Object> uploadResult;
+        try {
+            uploadResult = cloudinaryImageService.upload(spooled);
+            if (uploadResult == null || !uploadResult.containsKey("url") || !uploadResult.containsKey("public_id")) {
+                throw new IOException("URL or public ID not returned.");
+            }
+        } catch (IOException | RuntimeException e) {
+            if (workers.isShutdown()) {
+                return; // Interrupted by shutdown; not the upload's fault, it stays PENDING for the next start
+            }
+            retryOrFail(reportId, e);
+            return;
+        }
+
+        String reportUrl = (String) uploadResult.get("url");
+        String publicId = (String) uploadResult.get("public_id");
+        boolean stored;
+        try {
+            stored = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                    patientReportRepository.findById(reportId).map(current -> {
+                        // Identical content may share a blob whose delete is pending or in flight
+                        blobDeletionOutbox.cancel(publicId, uploadStartedAt);
+                        current.setReportUrl(reportUrl);
+                        current.setCloudinaryPublicId(publicId);
+                        current.setStatus(ReportStatus.UPLOADED);
+                        current.setSpoolFile(null);
+                        return true;
+                    }).orElse(false)));
+        } catch (BlobDeletionOutbox.DeleteInProgressException e) {
+            // Uploading again stores the blob again if the delete removed it
+            log.info("Blob {} of report {} is being deleted; uploading again in {}", publicId, reportId, retryBackoff);
+            retryScheduler.schedule(() -> enqueue(reportId), retryBackoff.toMillis(), TimeUnit.MILLISECONDS);
+            return;
+        }
+        if (!stored) {
+            // The report was deleted while its file was in flight
+            transactionTemplate.executeWithoutResult(status -> blobDeletionOutbox.enqueue(publicId));
+        }
+        deleteSpoolFile(spooled);
+    }
+
+    private void retryOrFail(Long reportId, Exception cause) {
+        Integer attempts = transactionTemplate.execute(status ->
+                patientReportRepository.findById(reportId).map(report -> {
+                    report.setUploadAttempts(report.getUploadAttempts() + 1);
+                    return report.getUploadAttempts();
+                }).orElse(null));
+        if (attempts == null) {
+            return;
+        }
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on report {} after {} upload attempts", reportId, attempts, cause);
+            markFailed(reportId, "gave up after " + attempts + " upload attempts");
+            return;
+        }
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(MAX_BACKOFF) > 0) {
+            delay = MAX_BACKOFF;
+        }
+        log.warn("Upload of report {} failed (attempt {}), retrying in {}", reportId, attempts, delay, cause);
+        retryScheduler.schedule(() -> enqueue(reportId), delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void markFailed(Long reportId, String reason) {
+        log.error("Report {} cannot be uploaded: {}", reportId, reason);
+        String spoolFile = transactionTemplate.execute(status ->
+                patientReportRepository.findById(reportId).map(report -> {
+                    String name = report.getSpoolFile();
+                    report.setStatus(ReportStatus.FAILED);
+                    report.setSpoolFile(null);
+                    return name;
+                }).orElse(null));
+        // Removed after commit: if the update failed, the row still points at the file
+        if (spoolFile != null) {
+            deleteSpoolFile(spoolDirectory.resolve(spoolFile));
+        }
+    }
+
+    private void deleteSpoolFile(Path spooled) {
+        try {
+            Files.deleteIfExists(spooled);
+        } catch (IOException e) {
+            log.warn("Could not remove spooled upload {}", spooled, e);
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Repository.DoctorAvailabilityRepository;
+import com.backend.SmartSwasthya.dto.SlotView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Period;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Resident index of doctor slots keyed by (doctorId, date), so availability reads don't hit Postgres.
+ *
+ * Each day is an immutable snapshot of primitive arrays (slot ids, start/end seconds-of-day) plus a
+ * booked bitmap; writers replace the snapshot copy-on-write. The index is warmed with every slot from
+ * today to the horizon at startup, kept current by SlotChangedEvents after each commit, and its resident
+ * days are periodically reconciled against the doctor_availabilities table.
+ *
+ * Only days from today to the horizon are kept, and at most max-days of them; anything else a client
+ * asks for is read from the table and not retained, so arbitrary dates can't grow the index.
+ */
+@Component
+public class SlotAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SlotAvailabilityIndex.class);
+    private static final int STRIPES = 256;
+    // Doctors per reconcile query
+    private static final int RECONCILE_BATCH = 500;
+
+    private final DoctorAvailabilityRepository availabilityRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConcurrentHashMap<DayKey, DaySlots> days = new ConcurrentHashMap<>();
+    // Bumped on every change to a key in the stripe. A DB snapshot is only published into the index
+    // if its stripe did not move while the query ran, so a slow load can't overwrite a newer event.
+    private final AtomicLongArray stripeVersions = new AtomicLongArray(STRIPES);
+
+    private final Period horizon;
+    private final int maxDays;
+
+    public SlotAvailabilityIndex(DoctorAvailabilityRepository availabilityRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${smartswasthya.slot-index.horizon:P90D}") Period horizon,
+                                 @Value("${smartswasthya.slot-index.max-days:200000}") int maxDays) {
+        this.availabilityRepository = availabilityRepository;
+        this.eventPublisher = eventPublisher;
+        this.horizon = horizon;
+        this.maxDays = maxDays;
+        meterRegistry.gaugeMapSize("smartswasthya.slot-index.days", List.of(), days);
+    }
+
+    public List<SlotView> getFreeSlots(Long doctorId, LocalDate date) {
+        return day(doctorId, date).free(doctorId, date);
+    }
+
+    /**
+     * The limit earliest free slots of the given doctors from one date to another (inclusive), ordered by
+     * date, start time and slot id. Slots on the first date that start before notBefore are skipped.
+     * Each doctor-day is already sorted, so a day is a k-way merge of one cursor per doctor and the walk
+     * stops as soon as limit slots are found. Doctor-days of the window that aren't resident are loaded
+     * together in one query first.
+     */
+    public List<SlotView> earliestFree(Collection<Long> doctorIds, LocalDate from, LocalDate to, LocalTime notBefore, int limit) {
+        Map<DayKey, DaySlots> loaded = loadMissing(doctorIds, from, to);
+        List<SlotView> found = new ArrayList<>(limit);
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+        for (LocalDate date = from; !date.isAfter(to) && found.size() < limit; date = date.plusDays(1)) {
+            int minStart = date.equals(from) ? notBefore.toSecondOfDay() : 0;
+            for (Long doctorId : doctorIds) {
+                DaySlots slots = loaded.get(new DayKey(doctorId, date));
+                if (slots == null) {
+                    slots = day(doctorId, date);
+                }
+                int first = slots.nextFree(slots.firstStartingAt(minStart));
+                if (first >= 0) {
+                    cursors.add(new Cursor(doctorId, slots, first));
+                }
+            }
+            while (!cursors.isEmpty() && found.size() < limit) {
+                Cursor cursor = cursors.poll();
+                found.add(cursor.slots().view(cursor.position(), cursor.doctorId(), date));
+                int next = cursor.slots().nextFree(cursor.position() + 1);
+                if (next >= 0) {
+                    cursors.add(new Cursor(cursor.doctorId(), cursor.slots(), next));
+                }
+            }
+            cursors.clear();
+        }
+        return found;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long[] versions = snapshotVersions();
+        LocalDate today = LocalDate.now();
+        Map<DayKey, List<SlotView>> rows = availabilityRepository.findSlotViewsBetween(today, today.plus(horizon)).stream()
+                .collect(Collectors.groupingBy(slot -> new DayKey(slot.doctorId(), slot.availableDate())));
+        rows.forEach((key, slots) -> publish(key, DaySlots.of(slots), versions));
+        log.info("Slot availability index warmed with {} doctor-days", rows.size());
+    }
+
+    /**
+     * Compares every resident day with the table, replaces days that drifted, and drops days that are in
+     * the past, beyond the horizon, or still empty (they are reloaded when next asked for). Only the
+     * resident doctors' days are read, a batch of doctors per query. A SlotDayRepairedEvent is published
+     * for each day replaced, so live subscribers get a fresh snapshot. Returns the number of days that had
+     * to be repaired.
+     */
+    @Scheduled(initialDelayString = "${smartswasthya.slot-index.reconcile-interval:PT5M}",
+            fixedDelayString = "${smartswasthya.slot-index.reconcile-interval:PT5M}")
+    public int reconcile() {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(key -> !retained(key, today));
+
+        Map<Long, List<DayKey>> byDoctor = days.keySet().stream().collect(Collectors.groupingBy(DayKey::doctorId));
+        List<Long> doctorIds = new ArrayList<>(byDoctor.keySet());
+        int repaired = 0;
+        for (int start = 0; start < doctorIds.size(); start += RECONCILE_BATCH) {
+            List<Long> batch = doctorIds.subList(start, Math.min(start + RECONCILE_BATCH, doctorIds.size()));
+            List<DayKey> keys = batch.stream().flatMap(doctorId -> byDoctor.get(doctorId).stream()).toList();
+            LocalDate from = keys.stream().map(DayKey::date).min(Comparator.naturalOrder()).orElseThrow();
+            LocalDate to = keys.stream().map(DayKey::date).max(Comparator.naturalOrder()).orElseThrow();
+
+            long[] versions = snapshotVersions();
+            Map<DayKey, List<SlotView>> rows = availabilityRepository.findSlotViews(batch, from, to).stream()
+                    .collect(Collectors.groupingBy(slot -> new DayKey(slot.doctorId(), slot.availableDate())));
+            for (DayKey key : keys) {
+                DaySlots resident = days.get(key);
+                if (resident == null) {
+                    continue;
+                }
+                DaySlots actual = DaySlots.of(rows.getOrDefault(key, List.of()));
+                boolean unchanged = actual.sameAs(resident);
+                if (!unchanged) {
+                    repaired++;
+                }
+                if (!unchanged || actual.isEmpty()) {
+                    DaySlots kept = days.computeIfPresent(key, (k, current) -> stripeVersions.get(stripe(k)) != versions[stripe(k)]
+                            ? current : actual.isEmpty() ? null : actual);
+                    // Not if a newer event got there first; its subscribers heard about that one
+                    if (!unchanged && (kept == null || kept == actual)) {
+                        eventPublisher.publishEvent(new SlotDayRepairedEvent(key.doctorId(), key.date()));
+                    }
+                }
+            }
+        }
+        if (repaired > 0) {
+            log.warn("Slot availability index repaired {} doctor-days that drifted from the table", repaired);
+        }
+        return repaired;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE) // before SlotEventHub, whose snapshots read this index
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotChanged(SlotChangedEvent event) {
+        DayKey key = new DayKey(event.doctorId(), event.date());
+        stripeVersions.incrementAndGet(stripe(key));
+        // Days that aren't resident are loaded lazily on the next read; nothing to patch.
+        days.computeIfPresent(key, (k, slots) -> switch (event.kind()) {
+            case OPENED, RELEASED -> slots.upsert(event.slotId(), event.startTime(), event.endTime(), false);
+            case BOOKED -> slots.upsert(event.slotId(), event.startTime(), event.endTime(), true);
+            case REMOVED -> slots.remove(event.slotId());
+        });
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(DoctorScheduleChangedEvent event) {
+        // Bulk inserts don't report ids, so drop the affected days and let the next read reload them
+        for (LocalDate date = event.fromDate(); !date.isAfter(event.toDate()); date = date.plusDays(1)) {
+            DayKey key = new DayKey(event.doctorId(), date);
+            stripeVersions.incrementAndGet(stripe(key));
+            days.remove(key);
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorsRemoved(DoctorsRemovedEvent event) {
+        days.keySet().removeIf(key -> {
+            if (!event.doctorIds().contains(key.doctorId())) {
+                return false;
+            }
+            stripeVersions.incrementAndGet(stripe(key));
+            return true;
+        });
+    }
+
+    int residentDays() {
+        return days.size();
+    }
+
+    boolean isResident(Long doctorId, LocalDate date) {
+        return days.containsKey(new DayKey(doctorId, date));
+    }
+
+    private DaySlots day(Long doctorId, LocalDate date) {
+        DayKey key = new DayKey(doctorId, date);
+        DaySlots resident = days.get(key);
+        if (resident != null) {
+            return resident;
+        }
+        long[] versions = snapshotVersions();
+        DaySlots loaded = DaySlots.of(availabilityRepository.findSlotViews(doctorId, date));
+        DaySlots published = publish(key, loaded, versions);
+        return published != null ? published : loaded;
+    }
+
+    // Loads the window's non-resident days in one query; returned as well, since not all may be retained
+    private Map<DayKey, DaySlots> loadMissing(Collection<Long> doctorIds, LocalDate from, LocalDate to) {
+        Set<DayKey> missing = new HashSet<>();
+        for (Long doctorId : doctorIds) {
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                DayKey key = new DayKey(doctorId, date);
+                if (!days.containsKey(key)) {
+                    missing.add(key);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return Map.of();
+        }
+        long[] versions = snapshotVersions();
+        Set<Long> doctors = missing.stream().map(DayKey::doctorId).collect(Collectors.toSet());
+        Map<DayKey, List<SlotView>> rows = availabilityRepository.findSlotViews(doctors, from, to).stream()
+                .collect(Collectors.groupingBy(slot -> new DayKey(slot.doctorId(), slot.availableDate())));
+        // Days without rows are published too (empty), so they aren't queried again one by one until
+        // the next reconcile drops them
+        Map<DayKey, DaySlots> loaded = new HashMap<>();
+        for (DayKey key : missing) {
+            DaySlots slots = DaySlots.of(rows.getOrDefault(key, List.of()));
+            DaySlots published = publish(key, slots, versions);
+            loaded.put(key, published != null ? published : slots);
+        }
+        return loaded;
+    }
+
+    // Null when the day is not retained: outside the window, the index is full, or the stripe moved
+    private DaySlots publish(DayKey key, DaySlots loaded, long[] versions) {
+        if (!retained(key, LocalDate.now())) {
+            return null;
+        }
+        int stripe = stripe(key);
+        return days.compute(key, (k, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return stripeVersions.get(stripe) == versions[stripe] && days.size() < maxDays ? loaded : null;
+        });
+    }
+
+    private boolean retained(DayKey key, LocalDate today) {
+        return !key.date().isBefore(today) && !key.date().isAfter(today.plus(horizon));
+    }
+
+    private long[] snapshotVersions() {
+        long[] versions = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            versions[i] = stripeVersions.get(i);
+        }
+        return versions;
+    }
+
+    private static int stripe(DayKey key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+
+    // Position of the next free slot of one doctor-day in the earliest-slot merge
+    private record Cursor(Long doctorId, DaySlots slots, int position) implements Comparable<Cursor> {
+
+        @Override
+        public int compareTo(Cursor other) {
+            int byStart = Integer.compare(slots.startSeconds[position], other.slots.startSeconds[other.position]);
+            return byStart != 0 ? byStart : Long.compare(slots.ids[position], other.slots.ids[other.position]);
+        }
+    }
+
+    /**
+     * Immutable slots of one doctor-day, ordered by start time then id.
+     */
+    static final class DaySlots {
+
+        private final long[] ids;
+        private final int[] startSeconds;
+        private final int[] endSeconds;
+        private final BitSet booked;
+
+        private DaySlots(long[] ids, int[] startSeconds, int[] endSeconds, BitSet booked) {
+            this.ids = ids;
+            this.startSeconds = startSeconds;
+            this.endSeconds = endSeconds;
+            this.booked = booked;
+        }
+
+        static DaySlots of(List<SlotView> slots) {
+            List<SlotView> sorted = new ArrayList<>(slots);
+            sorted.sort(Comparator.comparing(SlotView::startTime).thenComparing(SlotView::id));
+            int n = sorted.size();
+            long[] ids = new long[n];
+            int[] starts = new int[n];
+            int[] ends = new int[n];
+            BitSet booked = new BitSet(n);
+            for (int i = 0; i < n; i++) {
+                SlotView slot = sorted.get(i);
+                ids[i] = slot.id();
+                starts[i] = slot.startTime().toSecondOfDay();
+                ends[i] = slot.endTime().toSecondOfDay();
+                booked.set(i, slot.booked());
+            }
+            return new DaySlots(ids, starts, ends, booked);
+        }
+
+        List<SlotView> free(Long doctorId, LocalDate date) {
+            List<SlotView> free = new ArrayList<>(ids.length - booked.cardinality());
+            for (int i = booked.nextClearBit(0); i < ids.length; i = booked.nextClearBit(i + 1)) {
+                free.add(new SlotView(ids[i], doctorId, date,
+                        LocalTime.ofSecondOfDay(startSeconds[i]), LocalTime.ofSecondOfDay(endSeconds[i]), false));
+            }
+            return free;
+        }
+
+        // Index of the first slot starting at or after the given second of the day (binary search on the sorted starts)
+        int firstStartingAt(int second) {
+            int low = 0;
+            int high = startSeconds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (startSeconds[mid] < second) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Index of the first free slot at or after the given index, or -1
+        int nextFree(int from) {
+            int next = booked.nextClearBit(from);
+            return next < ids.length ? next : -1;
+        }
+
+        SlotView view(int index, Long doctorId, LocalDate date) {
+            return new SlotView(ids[index], doctorId, date,
+                    LocalTime.ofSecondOfDay(startSeconds[index]), LocalTime.ofSecondOfDay(endSeconds[index]), booked.get(index));
+        }
+
+        /**
+         * Returns a copy with the slot inserted or updated, or null (forcing a reload) when the slot is
+         * unknown and the event didn't carry enough to place it.
+         */
+        DaySlots upsert(Long slotId, LocalTime start, LocalTime end, boolean isBooked) {
+            int existing = indexOf(slotId);
+            if (existing >= 0 && (start == null || end == null
+                    || (startSeconds[existing] == start.toSecondOfDay() && endSeconds[existing] == end.toSecondOfDay()))) {
+                BitSet copy = (BitSet) booked.clone();
+                copy.set(existing, isBooked);
+                return new DaySlots(ids, startSeconds, endSeconds, copy);
+            }
+            if (start == null || end == null) {
+                return null;
+            }
+            DaySlots base = existing >= 0 ? remove(slotId) : this;
+            int n = base.ids.length;
+            int at = 0;
+            int startSecond = start.toSecondOfDay();
+            while (at < n && (base.startSeconds[at] < startSecond
+                    || (base.startSeconds[at] == startSecond && base.ids[at] < slotId))) {
+                at++;
+            }
+            long[] newIds = new long[n + 1];
+            int[] newStarts = new int[n + 1];
+            int[] newEnds = new int[n + 1];
+            BitSet newBooked = new BitSet(n + 1);
+            for (int i = 0, j = 0; i <= n; i++) {
+                if (i == at) {
+                    newIds[i] = slotId;
+                    newStarts[i] = startSecond;
+                    newEnds[i] = end.toSecondOfDay();
+                    newBooked.set(i, isBooked);
+                } else {
+                    newIds[i] = base.ids[j];
+                    newStarts[i] = base.startSeconds[j];
+                    newEnds[i] = base.endSeconds[j];
+                    newBooked.set(i, base.booked.get(j));
+                    j++;
+                }
+            }
+            return new DaySlots(newIds, newStarts, newEnds, newBooked);
+        }
+
+        DaySlots remove(Long slotId) {
+            int at = indexOf(slotId);
+            if (at < 0) {
+                return this;
+            }
+            int n = ids.length - 1;
+            long[] newIds = new long[n];
+            int[] newStarts = new int[n];
+            int[] newEnds = new int[n];
+            BitSet newBooked = new BitSet(n);
+            for (int i = 0, j = 0; i <= n; i++) {
+                if (i == at) {
+                    continue;
+                }
+                newIds[j] = ids[i];
+                newStarts[j] = startSeconds[i];
+                newEnds[j] = endSeconds[i];
+                newBooked.set(j, booked.get(i));
+                j++;
+            }
+            return new DaySlots(newIds, newStarts, newEnds, newBooked);
+        }
+
+        boolean isEmpty() {
+            return ids.length == 0;
+        }
+
+        boolean sameAs(DaySlots other) {
+            return Arrays.equals(ids, other.ids)
+                    && Arrays.equals(startSeconds, other.startSeconds)
+                    && Arrays.equals(endSeconds, other.endSeconds)
+                    && booked.equals(other.booked);
+        }
+
+        private int indexOf(Long slotId) {
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == slotId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
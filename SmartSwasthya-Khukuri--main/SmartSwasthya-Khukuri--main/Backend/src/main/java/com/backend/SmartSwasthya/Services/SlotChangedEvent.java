@@ -0,0 +1,25 @@
+package com.backend.SmartSwasthya.Services;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published whenever a DoctorAvailability slot is created, booked, released or removed.
+ * Listeners receive it after the surrounding transaction commits.
+ * endTime may be null when the publisher only knows the slot's start (e.g. on cancellation).
+ */
+public record SlotChangedEvent(
+        Kind kind,
+        Long slotId,
+        Long doctorId,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime) {
+
+    public enum Kind {
+        OPENED,   // new free slot
+        BOOKED,   // slot is now taken
+        RELEASED, // previously booked slot is free again
+        REMOVED   // slot no longer exists (deleted, or moved to another date)
+    }
+}
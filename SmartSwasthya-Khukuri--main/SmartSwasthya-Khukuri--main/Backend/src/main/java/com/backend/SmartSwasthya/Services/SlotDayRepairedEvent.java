@@ -0,0 +1,11 @@
+package com.backend.SmartSwasthya.Services;
+
+import java.time.LocalDate;
+
+/**
+ * Published by SlotAvailabilityIndex.reconcile for a resident day it replaced because it had drifted from
+ * the table, typically after a write on another instance. Per-slot changes are not known, so listeners
+ * treat the day as a whole.
+ */
+public record SlotDayRepairedEvent(Long doctorId, LocalDate date) {
+}
@@ -0,0 +1,206 @@
+package com.backend.SmartSwasthya.Services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Server-sent event feed of slot changes per (doctorId, date), so apps can watch a day fill up instead of
+ * polling /available-slots.
+ *
+ * A new subscriber first receives a "snapshot" event with the day's free slots from the
+ * SlotAvailabilityIndex, then one event per SlotChangedEvent ("opened", "booked", "released", "removed"),
+ * and a fresh snapshot when the day's schedule is regenerated in bulk. Idle subscribers are just an async
+ * request and an empty queue; no thread is held. After commit, an event is only queued on its
+ * subscribers, and each subscriber's queue is drained in order on a virtual thread, so a slow client
+ * never blocks a booking or delays other subscribers. A client that falls max-backlog events behind is
+ * disconnected and resynchronises from the snapshot when it reconnects.
+ *
+ * Events are only heard from this instance. A change committed on another instance reaches these
+ * subscribers when SlotAvailabilityIndex.reconcile finds the resident day drifted and publishes a
+ * SlotDayRepairedEvent (a fresh snapshot follows), so behind a load balancer the feed can lag by up to
+ * the reconcile interval.
+ */
+@Component
+public class SlotEventHub {
+
+    private final SlotAvailabilityIndex slotAvailabilityIndex;
+    private final ConcurrentHashMap<DayKey, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("slot-events-", 0).factory());
+    private final Duration timeout;
+    private final int maxSubscribers;
+    private final int maxBacklog;
+
+    public SlotEventHub(SlotAvailabilityIndex slotAvailabilityIndex,
+                        MeterRegistry meterRegistry,
+                        @Value("${smartswasthya.slot-events.timeout:PT30M}") Duration timeout,
+                        @Value("${smartswasthya.slot-events.max-subscribers:10000}") int maxSubscribers,
+                        @Value("${smartswasthya.slot-events.max-backlog:256}") int maxBacklog) {
+        this.slotAvailabilityIndex = slotAvailabilityIndex;
+        this.timeout = timeout;
+        this.maxSubscribers = maxSubscribers;
+        this.maxBacklog = maxBacklog;
+        meterRegistry.gauge("smartswasthya.slot-events.subscribers", subscriberCount);
+    }
+
+    public SseEmitter subscribe(Long doctorId, LocalDate date) {
+        if (doctorId == null || date == null) {
+            throw new IllegalArgumentException("doctorId and date are required.");
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new IllegalStateException("Too many slot event subscribers; poll /available-slots instead.");
+        }
+        DayKey key = new DayKey(doctorId, date);
+        Subscriber subscriber = new Subscriber(key, new SseEmitter(timeout.toMillis()));
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(error -> remove(subscriber));
+        // Added inside compute: a concurrent remove() of the day's last subscriber could otherwise drop the set in between
+        subscribers.compute(key, (k, watching) -> {
+            Set<Subscriber> set = watching != null ? watching : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        // Registered before the snapshot is read, so no change can fall between the two
+        deliver(subscriber, () -> snapshot(key));
+        return subscriber.emitter;
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    // SlotAvailabilityIndex applies the same event first, so a snapshot read later already includes it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSlotChanged(SlotChangedEvent event) {
+        Set<Subscriber> watching = subscribers.get(new DayKey(event.doctorId(), event.date()));
+        if (watching == null) {
+            return;
+        }
+        String name = event.kind().name().toLowerCase();
+        watching.forEach(subscriber -> deliver(subscriber, () -> SseEmitter.event().name(name).data(event, MediaType.APPLICATION_JSON)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(DoctorScheduleChangedEvent event) {
+        // Bulk generation doesn't report slot ids, so subscribers of the affected days get a fresh snapshot
+        for (LocalDate date = event.fromDate(); !date.isAfter(event.toDate()); date = date.plusDays(1)) {
+            DayKey key = new DayKey(event.doctorId(), date);
+            subscribers.getOrDefault(key, Set.of()).forEach(subscriber -> deliver(subscriber, () -> snapshot(key)));
+        }
+    }
+
+    // Reconcile runs outside a transaction; the repaired day is already in the index
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDayRepaired(SlotDayRepairedEvent event) {
+        DayKey key = new DayKey(event.doctorId(), event.date());
+        subscribers.getOrDefault(key, Set.of()).forEach(subscriber -> deliver(subscriber, () -> snapshot(key)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDoctorsRemoved(DoctorsRemovedEvent event) {
+        // The days are gone; an empty snapshot tells subscribers so
+        subscribers.forEach((key, watching) -> {
+            if (event.doctorIds().contains(key.doctorId())) {
+                watching.forEach(subscriber -> deliver(subscriber, () -> snapshot(key)));
+            }
+        });
+    }
+
+    // Keeps proxies from closing idle streams and finds clients that went away without closing
+    @Scheduled(fixedDelayString = "${smartswasthya.slot-events.heartbeat:PT25S}")
+    public void heartbeat() {
+        subscribers.values().forEach(watching ->
+                watching.forEach(subscriber -> deliver(subscriber, () -> SseEmitter.event().comment("ping"))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(watching -> watching.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    private SseEmitter.SseEventBuilder snapshot(DayKey key) {
+        return SseEmitter.event()
+                .name("snapshot")
+                .data(slotAvailabilityIndex.getFreeSlots(key.doctorId(), key.date()), MediaType.APPLICATION_JSON);
+    }
+
+    private void deliver(Subscriber subscriber, Supplier<SseEmitter.SseEventBuilder> message) {
+        if (subscriber.backlog.incrementAndGet() > maxBacklog) {
+            subscriber.emitter.complete();
+            remove(subscriber);
+            return;
+        }
+        subscriber.pending.add(message);
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Supplier<SseEmitter.SseEventBuilder> message;
+            while ((message = subscriber.pending.poll()) != null) {
+                subscriber.backlog.decrementAndGet();
+                try {
+                    subscriber.emitter.send(message.get());
+                } catch (IOException | RuntimeException e) {
+                    subscriber.emitter.completeWithError(e);
+                    remove(subscriber);
+                    subscriber.pending.clear();
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // Something may have been queued after the last poll but before draining was cleared
+        } while (!subscriber.pending.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.removed.compareAndSet(false, true)) {
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.key, (key, watching) -> {
+                watching.remove(subscriber);
+                return watching.isEmpty() ? null : watching;
+            });
+        }
+    }
+
+    private record DayKey(Long doctorId, LocalDate date) {
+    }
+
+    private static final class Subscriber {
+        private final DayKey key;
+        private final SseEmitter emitter;
+        private final Queue<Supplier<SseEmitter.SseEventBuilder>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger backlog = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+
+        private Subscriber(DayKey key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.backend.SmartSwasthya.Services;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Latency, outcome and volume meters shared by the CloudinaryImageService implementations, tagged with
+ * the storage backend so Cloudinary and local-disk numbers stay apart.
+ */
+final class StorageMeters {
+
+    @FunctionalInterface
+    interface StorageCall<T> {
+        T call() throws IOException;
+    }
+
+    private final MeterRegistry registry;
+    private final String backend;
+    private final DistributionSummary uploadBytes;
+
+    StorageMeters(MeterRegistry registry, String backend) {
+        this.registry = registry;
+        this.backend = backend;
+        this.uploadBytes = DistributionSummary.builder("smartswasthya.storage.upload.bytes")
+                .baseUnit("bytes")
+                .tag("backend", backend)
+                .register(registry);
+    }
+
+    <T> T upload(Path file, StorageCall<T> call) throws IOException {
+        long size = Files.size(file);
+        T result = timed("smartswasthya.storage.upload", call);
+        uploadBytes.record(size);
+        return result;
+    }
+
+    <T> T delete(int blobs, StorageCall<T> call) throws IOException {
+        T result = timed("smartswasthya.storage.delete", call);
+        registry.counter("smartswasthya.storage.delete.blobs", "backend", backend).increment(blobs);
+        return result;
+    }
+
+    private <T> T timed(String name, StorageCall<T> call) throws IOException {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "failure";
+        try {
+            T result = call.call();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(registry.timer(name, "backend", backend, "outcome", outcome));
+        }
+    }
+}
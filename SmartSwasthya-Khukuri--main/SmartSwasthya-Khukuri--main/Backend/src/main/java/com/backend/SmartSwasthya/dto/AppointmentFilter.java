@@ -0,0 +1,19 @@
+package com.backend.SmartSwasthya.dto;
+
+import com.backend.SmartSwasthya.Models.AppointmentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional, combinable criteria for listing appointments. Null fields are not applied, except status:
+ * without one, cancelled appointments are left out (they used to be deleted).
+ * from is inclusive, to is exclusive.
+ */
+public record AppointmentFilter(
+        Long patientId,
+        Long doctorId,
+        Long departmentId,
+        LocalDateTime from,
+        LocalDateTime to,
+        AppointmentStatus status) {
+}
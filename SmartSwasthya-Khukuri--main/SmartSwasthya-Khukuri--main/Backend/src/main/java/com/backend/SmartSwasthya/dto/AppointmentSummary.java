@@ -0,0 +1,33 @@
+package com.backend.SmartSwasthya.dto;
+
+import com.backend.SmartSwasthya.Models.Appointment;
+import com.backend.SmartSwasthya.Models.AppointmentStatus;
+import com.fasterxml.jackson.annotation.JsonView;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for appointment listings. Carries the foreign keys instead of the associated
+ * entities, so building it never initialises a lazy proxy.
+ */
+public record AppointmentSummary(
+        Long id,
+        LocalDateTime appointmentTime,
+        @JsonView(Views.Full.class) String reason,
+        AppointmentStatus status,
+        Long patientId,
+        Long doctorId,
+        Long departmentId) {
+
+    public static AppointmentSummary from(Appointment appointment) {
+        // getId() on an uninitialised Hibernate proxy returns the FK value without a select
+        return new AppointmentSummary(
+                appointment.getId(),
+                appointment.getAppointmentTime(),
+                appointment.getReason(),
+                appointment.getStatus(),
+                appointment.getPatient().getId(),
+                appointment.getDoctor().getId(),
+                appointment.getDepartment().getId());
+    }
+}
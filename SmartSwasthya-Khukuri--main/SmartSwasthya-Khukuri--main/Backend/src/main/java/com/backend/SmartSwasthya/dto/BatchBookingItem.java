@@ -0,0 +1,11 @@
+package com.backend.SmartSwasthya.dto;
+
+/**
+ * One booking in a batch. The department is the one the slot's doctor belongs to.
+ */
+public record BatchBookingItem(
+        Long patientId,
+        Long doctorId,
+        Long availableSlotId,
+        String reason) {
+}
@@ -0,0 +1,30 @@
+package com.backend.SmartSwasthya.dto;
+
+/**
+ * Outcome of one item of a batch booking, at the same position as the item in the request.
+ * appointmentId is set for BOOKED items only; message explains the other outcomes.
+ */
+public record BatchBookingResult(
+        int index,
+        Outcome outcome,
+        Long appointmentId,
+        String message) {
+
+    public enum Outcome {
+        BOOKED,   // appointment created
+        CONFLICT, // slot already taken, by an earlier booking or an earlier item of the same batch
+        INVALID   // unknown id or a slot that belongs to another doctor
+    }
+
+    public static BatchBookingResult booked(int index, Long appointmentId) {
+        return new BatchBookingResult(index, Outcome.BOOKED, appointmentId, null);
+    }
+
+    public static BatchBookingResult conflict(int index) {
+        return new BatchBookingResult(index, Outcome.CONFLICT, null, "This time slot is already booked. Please choose another one.");
+    }
+
+    public static BatchBookingResult invalid(int index, String message) {
+        return new BatchBookingResult(index, Outcome.INVALID, null, message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.backend.SmartSwasthya.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Everything bookAppointment checks before claiming a slot, read in one query: the slot, the department
+ * and hospital of the doctor who owns it, and the patient's hospital.
+ */
+public record BookingContext(
+        Long slotId,
+        Long doctorId,
+        LocalDate availableDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        boolean booked,
+        Long departmentId,
+        Long hospitalId,
+        Long patientHospitalId) {
+}
@@ -0,0 +1,10 @@
+package com.backend.SmartSwasthya.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. nextCursor is null on the last page;
+ * otherwise pass it back as the "cursor" parameter to fetch the following page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
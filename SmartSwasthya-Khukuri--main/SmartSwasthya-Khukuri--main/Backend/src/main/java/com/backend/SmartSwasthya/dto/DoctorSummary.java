@@ -0,0 +1,15 @@
+package com.backend.SmartSwasthya.dto;
+
+import com.fasterxml.jackson.annotation.JsonView;
+
+/**
+ * Read model for doctor listings, produced directly by a constructor-expression query.
+ */
+public record DoctorSummary(
+        Long id,
+        String name,
+        @JsonView(Views.Full.class) String contact,
+        String specialization,
+        @JsonView(Views.Full.class) Long hospitalId,
+        Long departmentId) {
+}
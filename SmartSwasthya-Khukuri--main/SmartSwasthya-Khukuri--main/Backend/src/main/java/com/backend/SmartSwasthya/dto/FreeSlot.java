@@ -0,0 +1,22 @@
+package com.backend.SmartSwasthya.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A free slot found by the earliest-slot search, with what the client needs to book it straight away.
+ */
+public record FreeSlot(
+        Long slotId,
+        Long doctorId,
+        String doctorName,
+        Long departmentId,
+        LocalDate availableDate,
+        LocalTime startTime,
+        LocalTime endTime) {
+
+    public static FreeSlot of(SlotView slot, DoctorSummary doctor) {
+        return new FreeSlot(slot.id(), doctor.id(), doctor.name(), doctor.departmentId(),
+                slot.availableDate(), slot.startTime(), slot.endTime());
+    }
+}
@@ -0,0 +1,21 @@
+package com.backend.SmartSwasthya.dto;
+
+import com.backend.SmartSwasthya.Models.Patient;
+import com.fasterxml.jackson.annotation.JsonView;
+
+/**
+ * A patient as held by the search index and returned by GET /api/patients/search.
+ */
+public record PatientMatch(
+        Long id,
+        Long hospitalId,
+        String name,
+        @JsonView(Views.Full.class) String phone,
+        @JsonView(Views.Full.class) String gender,
+        @JsonView(Views.Full.class) int age) {
+
+    public static PatientMatch of(Patient patient) {
+        return new PatientMatch(patient.getId(), patient.getHospital().getId(), patient.getName(),
+                patient.getPhone(), patient.getGender(), patient.getAge());
+    }
+}
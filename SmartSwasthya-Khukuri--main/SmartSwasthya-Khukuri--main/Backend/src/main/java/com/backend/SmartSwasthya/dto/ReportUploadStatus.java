@@ -0,0 +1,16 @@
+package com.backend.SmartSwasthya.dto;
+
+import com.backend.SmartSwasthya.Models.PatientReport;
+import com.backend.SmartSwasthya.Models.ReportStatus;
+
+/**
+ * Progress of a background report upload, returned by GET /api/patient-reports/{id}/status.
+ */
+public record ReportUploadStatus(Long id, ReportStatus status, String reportUrl, int uploadAttempts) {
+
+    public static ReportUploadStatus from(PatientReport report) {
+        // Rows written before the upload queue existed have no status and were uploaded synchronously
+        ReportStatus status = report.getStatus() != null ? report.getStatus() : ReportStatus.UPLOADED;
+        return new ReportUploadStatus(report.getId(), status, report.getReportUrl(), report.getUploadAttempts());
+    }
+}
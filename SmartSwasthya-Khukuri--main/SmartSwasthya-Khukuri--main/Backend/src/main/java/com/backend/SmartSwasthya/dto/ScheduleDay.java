@@ -0,0 +1,20 @@
+package com.backend.SmartSwasthya.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A doctor's slots for one date in start-time order, with free/booked counts for the day header.
+ * Days without slots are included (with an empty list) so a week view can render every column.
+ */
+public record ScheduleDay(
+        LocalDate date,
+        int free,
+        int booked,
+        List<ScheduleEntry> slots) {
+
+    public static ScheduleDay of(LocalDate date, List<ScheduleEntry> slots) {
+        int booked = (int) slots.stream().filter(ScheduleEntry::booked).count();
+        return new ScheduleDay(date, slots.size() - booked, booked, slots);
+    }
+}
@@ -0,0 +1,27 @@
+package com.backend.SmartSwasthya.dto;
+
+import com.backend.SmartSwasthya.Models.AppointmentStatus;
+import com.fasterxml.jackson.annotation.JsonView;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * One slot of a doctor's schedule with the appointment holding it, if any (booked, completed or no-show;
+ * cancelled appointments don't hold a slot). The appointment and patient fields are null for a free slot.
+ */
+public record ScheduleEntry(
+        Long slotId,
+        LocalDate date,
+        LocalTime startTime,
+        LocalTime endTime,
+        boolean booked,
+        Long appointmentId,
+        AppointmentStatus status,
+        @JsonView(Views.Full.class) String reason,
+        Long patientId,
+        String patientName,
+        @JsonView(Views.Full.class) String patientPhone,
+        @JsonView(Views.Full.class) String patientGender,
+        @JsonView(Views.Full.class) Integer patientAge) {
+}
@@ -0,0 +1,8 @@
+package com.backend.SmartSwasthya.dto;
+
+/**
+ * Outcome of expanding a SlotScheduleTemplate: how many slots were inserted and how many were
+ * skipped because the doctor already had an overlapping slot.
+ */
+public record SlotGenerationResult(int created, int skipped) {
+}
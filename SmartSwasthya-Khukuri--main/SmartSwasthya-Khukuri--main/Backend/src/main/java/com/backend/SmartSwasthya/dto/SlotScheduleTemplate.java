@@ -0,0 +1,25 @@
+package com.backend.SmartSwasthya.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recurrence template expanded server-side into DoctorAvailability slots.
+ * Slots of slotMinutes are laid back-to-back from workStart to workEnd on every matching day
+ * between fromDate and toDate (both inclusive), skipping anything that overlaps a break.
+ */
+public record SlotScheduleTemplate(
+        LocalDate fromDate,
+        LocalDate toDate,
+        Set<DayOfWeek> daysOfWeek,
+        LocalTime workStart,
+        LocalTime workEnd,
+        int slotMinutes,
+        List<Break> breaks) {
+
+    public record Break(LocalTime start, LocalTime end) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.backend.SmartSwasthya.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Flat, association-free view of a DoctorAvailability row.
+ */
+public record SlotView(
+        Long id,
+        Long doctorId,
+        LocalDate availableDate,
+        LocalTime startTime,
+        LocalTime endTime,
+        boolean booked) {
+}
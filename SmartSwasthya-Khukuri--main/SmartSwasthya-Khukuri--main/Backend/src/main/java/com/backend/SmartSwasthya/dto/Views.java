@@ -0,0 +1,18 @@
+package com.backend.SmartSwasthya.dto;
+
+/**
+ * Jackson views selected with ?view=compact (see Config/ResponseViewAdvice). Properties without a view
+ * are part of every view; properties marked Full are left out of the compact one. Without the
+ * parameter, responses are serialised in full as before.
+ */
+public final class Views {
+
+    private Views() {
+    }
+
+    public interface Compact {
+    }
+
+    public interface Full extends Compact {
+    }
+}
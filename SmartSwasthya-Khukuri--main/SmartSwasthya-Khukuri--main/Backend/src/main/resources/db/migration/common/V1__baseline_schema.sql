@@ -0,0 +1,73 @@
+-- Schema as created by spring.jpa.hibernate.ddl-auto=update before migrations were introduced.
+-- Databases that already have these tables are baselined at version 1 and skip this script.
+
+CREATE TABLE hospitals (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    address VARCHAR(255),
+    email   VARCHAR(255),
+    name    VARCHAR(255)
+);
+
+CREATE TABLE departments (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    hospital_id BIGINT NOT NULL,
+    description VARCHAR(255),
+    name        VARCHAR(255),
+    CONSTRAINT fkbvl4qy6xpecfnfmihch7j07im FOREIGN KEY (hospital_id) REFERENCES hospitals (id)
+);
+
+CREATE TABLE doctors (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    department_id  BIGINT NOT NULL,
+    hospital_id    BIGINT NOT NULL,
+    contact        VARCHAR(255),
+    name           VARCHAR(255),
+    specialization VARCHAR(255),
+    CONSTRAINT fkl2mro81neln9topymd898urh1 FOREIGN KEY (department_id) REFERENCES departments (id),
+    CONSTRAINT fkavgx42jjd4i4bo52ox3o6k460 FOREIGN KEY (hospital_id) REFERENCES hospitals (id)
+);
+
+CREATE TABLE patients (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    age         INTEGER NOT NULL,
+    hospital_id BIGINT NOT NULL,
+    gender      VARCHAR(255),
+    name        VARCHAR(255),
+    phone       VARCHAR(255),
+    CONSTRAINT fkavr69byb4acg3j289g1oq08pk FOREIGN KEY (hospital_id) REFERENCES hospitals (id)
+);
+
+CREATE TABLE doctor_availabilities (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    available_date DATE NOT NULL,
+    start_time     TIME(6) NOT NULL,
+    end_time       TIME(6) NOT NULL,
+    is_booked      BOOLEAN NOT NULL,
+    doctor_id      BIGINT NOT NULL,
+    CONSTRAINT fkol2460vhuyiy2wjjy62cc4uxo FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+);
+
+CREATE TABLE appointments (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    appointment_time  TIMESTAMP(6) NOT NULL,
+    available_slot_id BIGINT NOT NULL UNIQUE,
+    department_id     BIGINT NOT NULL,
+    doctor_id         BIGINT NOT NULL,
+    patient_id        BIGINT NOT NULL,
+    reason            TEXT,
+    CONSTRAINT fkaqhemkr1xiw45dvssdtdmxibx FOREIGN KEY (available_slot_id) REFERENCES doctor_availabilities (id),
+    CONSTRAINT fk7s6sk12lb7298bm0j92j4cdgg FOREIGN KEY (department_id) REFERENCES departments (id),
+    CONSTRAINT fkmujeo4tymoo98cmf7uj3vsv76 FOREIGN KEY (doctor_id) REFERENCES doctors (id),
+    CONSTRAINT fk8exap5wmg8kmb1g1rx3by21yt FOREIGN KEY (patient_id) REFERENCES patients (id)
+);
+
+CREATE TABLE patient_reports (
+    id                   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    patient_id           BIGINT NOT NULL,
+    report_type          VARCHAR(255),
+    report_url           VARCHAR(255),
+    cloudinary_public_id VARCHAR(255),
+    uploaded_by          VARCHAR(255),
+    uploaded_date        DATE,
+    CONSTRAINT fkfgiyuuk565yj9q8ty642ixcnp FOREIGN KEY (patient_id) REFERENCES patients (id)
+);
@@ -0,0 +1,16 @@
+-- Background report uploads and the blob deletion outbox. Written with IF NOT EXISTS because databases
+-- that ran these versions under ddl-auto=update may already have the columns and table.
+
+ALTER TABLE patient_reports ADD COLUMN IF NOT EXISTS status VARCHAR(16)
+    CHECK (status IN ('PENDING', 'UPLOADED', 'FAILED'));
+ALTER TABLE patient_reports ADD COLUMN IF NOT EXISTS upload_attempts INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE patient_reports ADD COLUMN IF NOT EXISTS spool_file VARCHAR(255);
+
+CREATE TABLE IF NOT EXISTS blob_deletions (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    public_id       VARCHAR(255) NOT NULL,
+    attempts        INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    last_error      TEXT
+);
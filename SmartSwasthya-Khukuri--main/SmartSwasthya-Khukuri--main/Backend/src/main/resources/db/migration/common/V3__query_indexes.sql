@@ -0,0 +1,31 @@
+-- One index per repository access path. Postgres doesn't index foreign keys on its own, so every
+-- "find by parent" finder was a sequential scan. The appointment keyset indexes may already exist where
+-- ddl-auto=update created them from the old @Index annotations.
+
+-- DoctorAvailabilityRepository: findByDoctorIdAndAvailableDate, findSlotViews, the overlap check in
+-- insertIfNoOverlap, and the doctor_id foreign key
+CREATE INDEX IF NOT EXISTS idx_doctor_availabilities_doctor_date_start
+    ON doctor_availabilities (doctor_id, available_date, start_time);
+-- findSlotViewsBetween (index warm-up over the booking horizon)
+CREATE INDEX IF NOT EXISTS idx_doctor_availabilities_date ON doctor_availabilities (available_date);
+
+-- AppointmentRepository finders and the keyset listing on (appointment_time, id), optionally narrowed by one foreign key
+CREATE INDEX IF NOT EXISTS idx_appointments_time_id ON appointments (appointment_time, id);
+CREATE INDEX IF NOT EXISTS idx_appointments_patient_time_id ON appointments (patient_id, appointment_time, id);
+CREATE INDEX IF NOT EXISTS idx_appointments_doctor_time_id ON appointments (doctor_id, appointment_time, id);
+CREATE INDEX IF NOT EXISTS idx_appointments_department_time_id ON appointments (department_id, appointment_time, id);
+
+-- DoctorRepository: by department, and by hospital + department, both ordered by id
+CREATE INDEX IF NOT EXISTS idx_doctors_department_id ON doctors (department_id, id);
+CREATE INDEX IF NOT EXISTS idx_doctors_hospital_department_id ON doctors (hospital_id, department_id, id);
+
+-- DepartmentRepository.findByHospitalId, PatientRepository.findByHospitalId
+CREATE INDEX IF NOT EXISTS idx_departments_hospital_id ON departments (hospital_id);
+CREATE INDEX IF NOT EXISTS idx_patients_hospital_id ON patients (hospital_id);
+
+-- PatientReportRepository.findByPatientId and the blob reference check in findReferencedPublicIds
+CREATE INDEX IF NOT EXISTS idx_patient_reports_patient_id ON patient_reports (patient_id);
+CREATE INDEX IF NOT EXISTS idx_patient_reports_public_id ON patient_reports (cloudinary_public_id);
+
+-- BlobDeletionRepository: due entries in order
+CREATE INDEX IF NOT EXISTS idx_blob_deletions_next_attempt ON blob_deletions (next_attempt_at, id);
@@ -0,0 +1,2 @@
+-- BlobDeletionRepository.deleteByPublicId: an upload that stores a blob cancels any pending delete of it
+CREATE INDEX IF NOT EXISTS idx_blob_deletions_public_id ON blob_deletions (public_id);
@@ -0,0 +1,7 @@
+-- BlobDeletionOutbox claims due entries for the length of a remote delete instead of holding row locks
+-- across it, and keeps deleted entries for a while so an upload sharing the blob can tell it raced the delete
+ALTER TABLE blob_deletions ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMP(6);
+ALTER TABLE blob_deletions ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+
+-- BlobDeletionRepository.deleteByDeletedAtBefore: purging the kept entries
+CREATE INDEX IF NOT EXISTS idx_blob_deletions_deleted_at ON blob_deletions (deleted_at);
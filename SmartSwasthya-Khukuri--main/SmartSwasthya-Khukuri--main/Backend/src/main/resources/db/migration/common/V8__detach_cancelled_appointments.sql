@@ -0,0 +1,3 @@
+-- Deleting a slot detaches its cancelled appointments (available_slot_id = NULL) instead of deleting them,
+-- so the cancellation history stays. appointment_time and doctor_id still say when and with whom.
+ALTER TABLE appointments ALTER COLUMN available_slot_id DROP NOT NULL;
@@ -0,0 +1,6 @@
+-- H2 has no partial indexes; these plain indexes serve the same finders as the Postgres versions.
+
+CREATE INDEX IF NOT EXISTS idx_doctor_availabilities_free
+    ON doctor_availabilities (doctor_id, available_date, is_booked, start_time);
+
+CREATE INDEX IF NOT EXISTS idx_patient_reports_pending ON patient_reports (status);
@@ -0,0 +1,25 @@
+-- Appointment lifecycle: cancelling sets status = 'CANCELLED' instead of deleting the row, so a slot can
+-- accumulate cancelled appointments but holds at most one that isn't cancelled.
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS status VARCHAR(16) DEFAULT 'BOOKED' NOT NULL
+    CHECK (status IN ('BOOKED', 'CANCELLED', 'COMPLETED', 'NO_SHOW'));
+
+-- The one-appointment-per-slot constraint goes. V1 leaves it to H2 to name, so the name is looked up
+EXECUTE IMMEDIATE COALESCE((
+    SELECT 'ALTER TABLE appointments DROP CONSTRAINT "' || tc.constraint_name || '"'
+    FROM information_schema.table_constraints tc
+    JOIN information_schema.key_column_usage kcu
+      ON kcu.constraint_schema = tc.constraint_schema AND kcu.constraint_name = tc.constraint_name
+    WHERE tc.table_schema = CURRENT_SCHEMA AND LOWER(tc.table_name) = 'appointments'
+      AND tc.constraint_type = 'UNIQUE' AND LOWER(kcu.column_name) = 'available_slot_id'
+      AND NOT EXISTS (SELECT 1 FROM information_schema.key_column_usage other
+                      WHERE other.constraint_schema = tc.constraint_schema AND other.constraint_name = tc.constraint_name
+                        AND other.ordinal_position > 1)
+), 'SELECT 1');
+
+-- H2 has no partial indexes: a generated column that is NULL for cancelled rows gives the same
+-- guarantee as the Postgres partial unique index (unique indexes allow any number of NULLs).
+-- The foreign key keeps its own index on available_slot_id.
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS active_slot_id BIGINT
+    GENERATED ALWAYS AS (CASE WHEN status <> 'CANCELLED' THEN available_slot_id END);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_appointments_active_slot ON appointments (active_slot_id);
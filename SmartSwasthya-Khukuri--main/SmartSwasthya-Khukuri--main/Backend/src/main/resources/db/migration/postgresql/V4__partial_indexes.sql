@@ -0,0 +1,8 @@
+-- Partial indexes for the predicates that only ever select a small slice of the table.
+
+-- findByDoctorIdAndAvailableDateAndIsBookedFalse: only free slots are indexed, so the index shrinks as the day fills up
+CREATE INDEX IF NOT EXISTS idx_doctor_availabilities_free
+    ON doctor_availabilities (doctor_id, available_date, start_time) WHERE is_booked = false;
+
+-- findByStatus(PENDING) on startup; everything else is UPLOADED (or NULL for rows older than the upload queue)
+CREATE INDEX IF NOT EXISTS idx_patient_reports_pending ON patient_reports (id) WHERE status = 'PENDING';
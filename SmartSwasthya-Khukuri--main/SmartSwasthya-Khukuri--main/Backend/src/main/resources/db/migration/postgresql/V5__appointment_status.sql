@@ -0,0 +1,28 @@
+-- Appointment lifecycle: cancelling sets status = 'CANCELLED' instead of deleting the row, so a slot can
+-- accumulate cancelled appointments but holds at most one that isn't cancelled.
+
+ALTER TABLE appointments ADD COLUMN IF NOT EXISTS status VARCHAR(16) NOT NULL DEFAULT 'BOOKED'
+    CHECK (status IN ('BOOKED', 'CANCELLED', 'COMPLETED', 'NO_SHOW'));
+
+-- The one-appointment-per-slot constraint goes, whatever it is called (V1 and older ddl-auto schemas differ)
+DO $$
+DECLARE
+    c record;
+BEGIN
+    FOR c IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+        WHERE con.conrelid = 'appointments'::regclass AND con.contype = 'u'
+          AND array_length(con.conkey, 1) = 1 AND att.attname = 'available_slot_id'
+    LOOP
+        EXECUTE format('ALTER TABLE appointments DROP CONSTRAINT %I', c.conname);
+    END LOOP;
+END $$;
+
+-- ...and is replaced by one over active bookings only
+CREATE UNIQUE INDEX IF NOT EXISTS idx_appointments_active_slot
+    ON appointments (available_slot_id) WHERE status <> 'CANCELLED';
+
+-- Full index for the foreign key (slot deletes check it) and for a slot's booking history
+CREATE INDEX IF NOT EXISTS idx_appointments_slot ON appointments (available_slot_id);
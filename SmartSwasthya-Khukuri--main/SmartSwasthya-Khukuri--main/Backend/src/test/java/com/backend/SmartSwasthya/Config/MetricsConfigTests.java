@@ -0,0 +1,134 @@
+package com.backend.SmartSwasthya.Config;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The hot-path meters are registered and recorded: bookings by outcome, availability lookups by query,
+ * SQL statements per request by URI pattern, and the Hikari pool gauges.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MetricsConfigTests {
+
+	private static final LocalDate DAY = LocalDate.now().plusDays(37);
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private MeterRegistry meterRegistry;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+
+	private Patient patient;
+	private Doctor doctor;
+	private DoctorAvailability slot;
+
+	@BeforeEach
+	void seed() {
+		Hospital hospital = new Hospital();
+		hospital.setName("Metrics Hospital");
+		hospital = hospitalRepository.save(hospital);
+		Department department = new Department();
+		department.setName("Metrics Department");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+		doctor = new Doctor();
+		doctor.setName("Dr. Metrics");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		doctor = doctorRepository.save(doctor);
+		patient = new Patient();
+		patient.setName("Metrics Patient");
+		patient.setHospital(hospital);
+		patient = patientRepository.save(patient);
+		slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(DAY);
+		slot.setStartTime(LocalTime.of(9, 0));
+		slot.setEndTime(LocalTime.of(9, 30));
+		slot = doctorAvailabilityRepository.save(slot);
+	}
+
+	@Test
+	void bookingsAreTimedByOutcome() throws Exception {
+		long booked = timerCount("smartswasthya.booking", "outcome", "booked");
+		long conflicts = timerCount("smartswasthya.booking", "outcome", "conflict");
+
+		book().andExpect(status().isCreated());
+		book().andExpect(status().isConflict());
+		assertEquals(booked + 1, timerCount("smartswasthya.booking", "outcome", "booked"));
+		assertEquals(conflicts + 1, timerCount("smartswasthya.booking", "outcome", "conflict"));
+	}
+
+	@Test
+	void availabilityQueriesAreTimed() throws Exception {
+		long before = timerCount("smartswasthya.availability.query", "query", "free");
+		mockMvc.perform(get("/api/doctor-availabilities/available-slots")
+						.param("doctorId", doctor.getId().toString())
+						.param("date", DAY.toString()))
+				.andExpect(status().isOk());
+		assertEquals(before + 1, timerCount("smartswasthya.availability.query", "query", "free"));
+	}
+
+	@Test
+	void statementsAreCountedPerRequestPattern() throws Exception {
+		DistributionSummary before = meterRegistry.find("smartswasthya.http.db.statements")
+				.tags("method", "GET", "uri", "/api/doctors").summary();
+		long count = before == null ? 0 : before.count();
+		double total = before == null ? 0 : before.totalAmount();
+
+		mockMvc.perform(get("/api/doctors")).andExpect(status().isOk());
+		DistributionSummary after = meterRegistry.get("smartswasthya.http.db.statements")
+				.tags("method", "GET", "uri", "/api/doctors").summary();
+		assertEquals(count + 1, after.count());
+		assertEquals(1, after.totalAmount() - total, "The doctor listing is one statement");
+	}
+
+	@Test
+	void poolGaugesAreRegistered() {
+		assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+		assertNotNull(meterRegistry.find("hikaricp.connections.pending").gauge());
+		assertNotNull(meterRegistry.find("hikaricp.connections.acquire").timer());
+	}
+
+	private ResultActions book() throws Exception {
+		return mockMvc.perform(post("/api/appointments/book")
+				.param("patientId", patient.getId().toString())
+				.param("departmentId", doctor.getDepartment().getId().toString())
+				.param("doctorId", doctor.getId().toString())
+				.param("availableSlotId", slot.getId().toString())
+				.param("reason", "metrics"));
+	}
+
+	private long timerCount(String name, String tag, String value) {
+		Timer timer = meterRegistry.find(name).tag(tag, value).timer();
+		return timer == null ? 0 : timer.count();
+	}
+}
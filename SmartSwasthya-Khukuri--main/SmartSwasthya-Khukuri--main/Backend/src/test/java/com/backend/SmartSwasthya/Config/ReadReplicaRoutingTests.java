@@ -0,0 +1,176 @@
+package com.backend.SmartSwasthya.Config;
+
+import com.backend.SmartSwasthya.Models.Hospital;
+import com.backend.SmartSwasthya.Repository.HospitalRepository;
+import com.backend.SmartSwasthya.Services.HospitalService;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A second in-memory H2 database stands in for the replica. Nothing replicates to it, so which rows a read
+ * returns shows which datasource served it.
+ */
+@SpringBootTest(properties = {
+		"smartswasthya.datasource.replica.jdbc-url=jdbc:h2:mem:smartswasthya-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"smartswasthya.datasource.replica.username=sa",
+		"smartswasthya.read-replica.lag-tolerance=PT2S",
+		"smartswasthya.read-replica.lag-check-interval=PT1H",
+		"smartswasthya.read-replica.lag-query=SELECT lag_ms FROM replica_lag"
+})
+@AutoConfigureMockMvc
+class ReadReplicaRoutingTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private HospitalService hospitalService;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private ReplicaRouting replicaRouting;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primaryDataSource;
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replicaDataSource;
+
+	private JdbcTemplate replica;
+	private Hospital hospital;
+
+	@TestConfiguration
+	static class ReplicaSchema {
+
+		// The replica gets the schema from replication in production; here it is migrated like the primary
+		@Bean
+		InitializingBean migrateReplica(@Qualifier("replicaDataSource") DataSource replicaDataSource) {
+			return () -> {
+				Flyway.configure()
+						.dataSource(replicaDataSource)
+						.locations("classpath:db/migration/common", "classpath:db/migration/h2")
+						.load()
+						.migrate();
+				JdbcTemplate jdbcTemplate = new JdbcTemplate(replicaDataSource);
+				jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_ms BIGINT)");
+				jdbcTemplate.execute("DELETE FROM replica_lag");
+				jdbcTemplate.execute("INSERT INTO replica_lag VALUES (0)");
+			};
+		}
+	}
+
+	@BeforeEach
+	void seed() {
+		replica = new JdbcTemplate(replicaDataSource);
+		replica.update("MERGE INTO hospitals (id, name) KEY (id) VALUES (900001, 'Replica Hospital')");
+		hospital = new Hospital();
+		hospital.setName("Primary Hospital");
+		hospital = hospitalRepository.save(hospital);
+	}
+
+	@AfterEach
+	void catchUp() {
+		replica.update("UPDATE replica_lag SET lag_ms = 0");
+		replicaRouting.checkLag();
+	}
+
+	@Test
+	void readOnlyTransactionsUseTheReplica() {
+		List<String> names = hospitalService.getAllHospitals().stream().map(Hospital::getName).toList();
+		assertTrue(names.contains("Replica Hospital"));
+		assertFalse(names.contains("Primary Hospital"));
+	}
+
+	@Test
+	void writesGoToThePrimary() {
+		Hospital created = new Hospital();
+		created.setName("Written Hospital");
+		Long id = hospitalService.createHospital(created).getId();
+		// Not existsById: Spring Data's own reads are read-only transactions and would ask the replica
+		assertEquals(1, new JdbcTemplate(primaryDataSource).queryForObject("SELECT COUNT(*) FROM hospitals WHERE id = ?", Integer.class, id));
+		assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM hospitals WHERE name = 'Written Hospital'", Integer.class));
+	}
+
+	@Test
+	void aClientThatWroteReadsFromThePrimary() throws Exception {
+		Cookie sticky = mockMvc.perform(post("/api/patients").param("hospitalId", hospital.getId().toString())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Sticky Patient\"}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getCookie(ReplicaRouting.STICKY_COOKIE);
+		assertNotNull(sticky);
+		assertTrue(sticky.isHttpOnly());
+
+		mockMvc.perform(get("/api/patients").param("hospitalId", hospital.getId().toString()).cookie(sticky))
+				.andExpect(jsonPath("$[0].name").value("Sticky Patient"));
+		// Anyone else, or the same client once the tolerance has passed, reads the replica
+		mockMvc.perform(get("/api/patients").param("hospitalId", hospital.getId().toString()))
+				.andExpect(jsonPath("$.length()").value(0));
+		mockMvc.perform(get("/api/patients").param("hospitalId", hospital.getId().toString())
+						.cookie(new Cookie(ReplicaRouting.STICKY_COOKIE, "0")))
+				.andExpect(jsonPath("$.length()").value(0));
+	}
+
+	@Test
+	void aLaggingReplicaSendsReadsToThePrimary() {
+		replica.update("UPDATE replica_lag SET lag_ms = 60000");
+		replicaRouting.checkLag();
+		assertTrue(replicaRouting.isReplicaBehind());
+		List<String> names = hospitalService.getAllHospitals().stream().map(Hospital::getName).toList();
+		assertTrue(names.contains("Primary Hospital"));
+
+		replica.update("UPDATE replica_lag SET lag_ms = 100");
+		replicaRouting.checkLag();
+		assertFalse(replicaRouting.isReplicaBehind());
+	}
+
+	@Test
+	void replicaReadsDoNotFillTheReferenceCache() {
+		Cache cache = entityManagerFactory.getCache();
+		cache.evict(Hospital.class);
+		assertEquals("Replica Hospital", hospitalService.getHospitalById(900001L).orElseThrow().getName());
+		assertFalse(cache.contains(Hospital.class, 900001L));
+
+		// The same read served by the primary is cached as before
+		replica.update("UPDATE replica_lag SET lag_ms = 60000");
+		replicaRouting.checkLag();
+		assertEquals("Primary Hospital", hospitalService.getHospitalById(hospital.getId()).orElseThrow().getName());
+		assertTrue(cache.contains(Hospital.class, hospital.getId()));
+	}
+
+	@Test
+	void catalogListingsReadThePrimary() throws Exception {
+		// Their ETags follow primary commits, so the body must not come from a replica that is behind them
+		String body = mockMvc.perform(get("/api/hospitals"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertTrue(body.contains("Primary Hospital"));
+		assertFalse(body.contains("Replica Hospital"));
+		assertNull(mockMvc.perform(get("/api/hospitals")).andReturn().getResponse().getCookie(ReplicaRouting.STICKY_COOKIE));
+	}
+}
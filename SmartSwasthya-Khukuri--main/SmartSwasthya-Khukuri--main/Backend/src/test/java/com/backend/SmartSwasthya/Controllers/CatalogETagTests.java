@@ -0,0 +1,92 @@
+package com.backend.SmartSwasthya.Controllers;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Catalog listings answer a matching If-None-Match with 304 and no SQL, and a write changes the ETag. The
+ * compact view is tagged separately from the full one, and every response, 304s included, varies by Accept.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class CatalogETagTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void unchangedCatalogIsNotModified() throws Exception {
+		for (String url : new String[]{"/api/hospitals", "/api/departments", "/api/doctors"}) {
+			String etag = mockMvc.perform(get(url))
+					.andExpect(status().isOk())
+					.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+					.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+			Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+			statistics.clear();
+			mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+					.andExpect(status().isNotModified())
+					.andExpect(header().string(HttpHeaders.ETAG, etag))
+					.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+			assertEquals(0, statistics.getPrepareStatementCount(), () -> "SQL statements for a 304 of " + url);
+		}
+	}
+
+	@Test
+	void viewsHaveTheirOwnETagAndFormatsShareAWeakOne() throws Exception {
+		String full = etag(get("/api/doctors"));
+		String compact = etag(get("/api/doctors").param("view", "compact"));
+		String cbor = etag(get("/api/doctors").accept(MediaType.valueOf("application/cbor")));
+		assertNotEquals(full, compact);
+		assertEquals(full, cbor);
+		assertTrue(full.startsWith("W/"), full);
+
+		// A full body's tag doesn't validate the compact view
+		mockMvc.perform(get("/api/doctors").param("view", "compact").header(HttpHeaders.IF_NONE_MATCH, full))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/doctors").accept(MediaType.valueOf("application/cbor")).header(HttpHeaders.IF_NONE_MATCH, cbor))
+				.andExpect(status().isNotModified())
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+	}
+
+	@Test
+	void writeChangesTheETag() throws Exception {
+		String before = mockMvc.perform(get("/api/hospitals"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(post("/api/hospitals").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"ETag Hospital\"}"))
+				.andExpect(status().isCreated());
+
+		String after = mockMvc.perform(get("/api/hospitals").header(HttpHeaders.IF_NONE_MATCH, before))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertNotEquals(before, after);
+	}
+
+	private String etag(MockHttpServletRequestBuilder request) throws Exception {
+		return mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+	}
+}
@@ -0,0 +1,87 @@
+package com.backend.SmartSwasthya.Controllers;
+
+import com.backend.SmartSwasthya.Models.Department;
+import com.backend.SmartSwasthya.Models.Doctor;
+import com.backend.SmartSwasthya.Models.Hospital;
+import com.backend.SmartSwasthya.Repository.DepartmentRepository;
+import com.backend.SmartSwasthya.Repository.DoctorRepository;
+import com.backend.SmartSwasthya.Repository.HospitalRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class CompactResponseTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+
+	private Hospital hospital;
+
+	@BeforeEach
+	void seed() {
+		hospital = new Hospital();
+		hospital.setName("View Hospital");
+		hospital = hospitalRepository.save(hospital);
+		Department department = new Department();
+		department.setName("View Department");
+		department.setDescription("Long description nobody on 2G needs");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+		Doctor doctor = new Doctor();
+		doctor.setName("Dr. View");
+		doctor.setContact("9800000000");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		doctorRepository.save(doctor);
+	}
+
+	@Test
+	void fullViewIsTheDefault() throws Exception {
+		mockMvc.perform(get("/api/departments").param("hospitalId", hospital.getId().toString()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].description").exists())
+				.andExpect(jsonPath("$[0].doctors[0].contact").value("9800000000"));
+	}
+
+	@Test
+	void compactViewDropsVerboseFields() throws Exception {
+		mockMvc.perform(get("/api/departments").param("hospitalId", hospital.getId().toString()).param("view", "compact"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[0].name").value("View Department"))
+				.andExpect(jsonPath("$[0].description").doesNotExist())
+				.andExpect(jsonPath("$[0].doctors").doesNotExist());
+	}
+
+	@Test
+	void cborIsNegotiatedByAccept() throws Exception {
+		byte[] body = mockMvc.perform(get("/api/departments").param("hospitalId", hospital.getId().toString())
+						.accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+				.andReturn().getResponse().getContentAsByteArray();
+		JsonNode departments = new ObjectMapper(new CBORFactory()).readTree(body);
+		assertEquals("View Department", departments.get(0).get("name").asText());
+	}
+}
@@ -0,0 +1,150 @@
+package com.backend.SmartSwasthya.Controllers;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * List endpoints must issue a fixed number of SQL statements regardless of how many rows they return, and a
+ * booking a fixed number before and including its writes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ListingQueryCountTests {
+
+	private static final int DEPARTMENTS = 4;
+	private static final int DOCTORS_PER_DEPARTMENT = 3;
+	private static final int SLOTS_PER_DOCTOR = 5;
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	private Statistics statistics;
+	private Hospital hospital;
+	private Patient patient;
+	private Doctor lastDoctor;
+	private DoctorAvailability freeSlot;
+	private final LocalDate day = LocalDate.now().plusDays(3);
+
+	@BeforeEach
+	void seed() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		hospital = new Hospital();
+		hospital.setName("Listing Hospital");
+		hospital = hospitalRepository.save(hospital);
+
+		patient = new Patient();
+		patient.setName("Listing Patient");
+		patient.setHospital(hospital);
+		patient = patientRepository.save(patient);
+
+		for (int d = 0; d < DEPARTMENTS; d++) {
+			Department department = new Department();
+			department.setName("Department " + d);
+			department.setHospital(hospital);
+			department = departmentRepository.save(department);
+			for (int n = 0; n < DOCTORS_PER_DEPARTMENT; n++) {
+				Doctor doctor = new Doctor();
+				doctor.setName("Doctor " + d + "-" + n);
+				doctor.setHospital(hospital);
+				doctor.setDepartment(department);
+				lastDoctor = doctorRepository.save(doctor);
+				for (int s = 0; s < SLOTS_PER_DOCTOR; s++) {
+					DoctorAvailability slot = new DoctorAvailability();
+					slot.setDoctor(lastDoctor);
+					slot.setAvailableDate(day);
+					slot.setStartTime(LocalTime.of(10, s * 10));
+					slot.setEndTime(LocalTime.of(10, s * 10 + 10));
+					slot.setBooked(true);
+					slot = doctorAvailabilityRepository.save(slot);
+
+					Appointment appointment = new Appointment();
+					appointment.setPatient(patient);
+					appointment.setDepartment(department);
+					appointment.setDoctor(lastDoctor);
+					appointment.setAvailableSlot(slot);
+					appointment.setAppointmentTime(LocalDateTime.of(day, slot.getStartTime()));
+					appointmentRepository.save(appointment);
+				}
+			}
+		}
+
+		freeSlot = new DoctorAvailability();
+		freeSlot.setDoctor(lastDoctor);
+		freeSlot.setAvailableDate(day);
+		freeSlot.setStartTime(LocalTime.of(11, 0));
+		freeSlot.setEndTime(LocalTime.of(11, 10));
+		freeSlot = doctorAvailabilityRepository.save(freeSlot);
+	}
+
+	@Test
+	void departmentListingIsOneStatement() throws Exception {
+		assertStatements(1, "/api/departments?hospitalId=" + hospital.getId());
+	}
+
+	@Test
+	void doctorListingIsOneStatement() throws Exception {
+		assertStatements(1, "/api/doctors");
+	}
+
+	@Test
+	void appointmentListingIsOneStatement() throws Exception {
+		assertStatements(1, "/api/appointments?limit=200");
+	}
+
+	@Test
+	void slotListingIsOneStatement() throws Exception {
+		assertStatements(1, "/api/doctor-availabilities?doctorId=" + lastDoctor.getId() + "&date=" + day);
+	}
+
+	@Test
+	void bookingIsOneReadAndTwoWrites() throws Exception {
+		// Validation context select, slot claim update, appointment insert
+		statistics.clear();
+		mockMvc.perform(post("/api/appointments/book")
+						.param("patientId", patient.getId().toString())
+						.param("departmentId", lastDoctor.getDepartment().getId().toString())
+						.param("doctorId", lastDoctor.getId().toString())
+						.param("availableSlotId", freeSlot.getId().toString())
+						.param("reason", "count"))
+				.andExpect(status().isCreated());
+		assertEquals(3, statistics.getPrepareStatementCount());
+	}
+
+	private void assertStatements(long expected, String url) throws Exception {
+		statistics.clear();
+		mockMvc.perform(get(url)).andExpect(status().isOk());
+		assertEquals(expected, statistics.getPrepareStatementCount(), () -> "SQL statements for " + url);
+	}
+}
@@ -0,0 +1,140 @@
+package com.backend.SmartSwasthya.Controllers;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import com.backend.SmartSwasthya.Services.AppointmentService;
+import com.backend.SmartSwasthya.Services.SlotAvailabilityIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * A subscriber to a doctor's day gets the free slots first, then booked and released events as they commit,
+ * and a fresh snapshot when reconciliation repairs a change made behind this instance's back.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class SlotEventStreamTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private AppointmentService appointmentService;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+	@Autowired
+	private SlotAvailabilityIndex slotAvailabilityIndex;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void streamsSnapshotThenBookingDeltas() throws Exception {
+		Hospital hospital = new Hospital();
+		hospital.setName("Live Hospital");
+		hospital = hospitalRepository.save(hospital);
+
+		Department department = new Department();
+		department.setName("Live Department");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+
+		Doctor doctor = new Doctor();
+		doctor.setName("Dr. Live");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		doctor = doctorRepository.save(doctor);
+
+		Patient patient = new Patient();
+		patient.setName("Live Patient");
+		patient.setHospital(hospital);
+		patient = patientRepository.save(patient);
+
+		LocalDate day = LocalDate.now().plusDays(41);
+		DoctorAvailability slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(day);
+		slot.setStartTime(LocalTime.of(11, 0));
+		slot.setEndTime(LocalTime.of(11, 15));
+		slot = doctorAvailabilityRepository.save(slot);
+
+		MockHttpServletResponse stream = mockMvc.perform(get("/api/doctor-availabilities/events")
+						.param("doctorId", doctor.getId().toString())
+						.param("date", day.toString()))
+				.andExpect(request().asyncStarted())
+				.andReturn().getResponse();
+		awaitContent(stream, "event:snapshot");
+		awaitContent(stream, "\"id\":" + slot.getId()); // the free slot, in the snapshot's data
+
+		Long appointmentId = appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), slot.getId(), "live").getId();
+		awaitContent(stream, "event:booked");
+		appointmentService.cancelAppointment(appointmentId);
+		awaitContent(stream, "event:released");
+	}
+
+	@Test
+	void repairedDaysAreSentAgain() throws Exception {
+		Hospital hospital = new Hospital();
+		hospital.setName("Repair Hospital");
+		hospital = hospitalRepository.save(hospital);
+
+		Department department = new Department();
+		department.setName("Repair Department");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+
+		Doctor doctor = new Doctor();
+		doctor.setName("Dr. Repair");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		doctor = doctorRepository.save(doctor);
+
+		LocalDate day = LocalDate.now().plusDays(42);
+		DoctorAvailability slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(day);
+		slot.setStartTime(LocalTime.of(11, 0));
+		slot.setEndTime(LocalTime.of(11, 15));
+		slot = doctorAvailabilityRepository.save(slot);
+
+		MockHttpServletResponse stream = mockMvc.perform(get("/api/doctor-availabilities/events")
+						.param("doctorId", doctor.getId().toString())
+						.param("date", day.toString()))
+				.andExpect(request().asyncStarted())
+				.andReturn().getResponse();
+		awaitContent(stream, "\"id\":" + slot.getId());
+
+		// Booked on another instance: no event here, until reconciliation notices
+		jdbcTemplate.update("UPDATE doctor_availabilities SET is_booked = TRUE WHERE id = ?", slot.getId());
+		slotAvailabilityIndex.reconcile();
+		awaitContent(stream, "event:snapshot\ndata:[]");
+	}
+
+	private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+		for (int i = 0; i < 100; i++) {
+			if (response.getContentAsString().contains(expected)) {
+				return;
+			}
+			Thread.sleep(50);
+		}
+		fail("No " + expected + " in stream: " + response.getContentAsString());
+	}
+}
@@ -0,0 +1,207 @@
+package com.backend.SmartSwasthya.Repository;
+
+import com.backend.SmartSwasthya.Models.AppointmentStatus;
+import com.backend.SmartSwasthya.Models.Department;
+import com.backend.SmartSwasthya.Models.Doctor;
+import com.backend.SmartSwasthya.Models.Hospital;
+import com.backend.SmartSwasthya.Services.AppointmentService;
+import com.backend.SmartSwasthya.dto.AppointmentFilter;
+import com.backend.SmartSwasthya.dto.SlotView;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Every filtered repository finder must be served by an index from db/migration. The SQL Hibernate
+ * actually issued is captured through H2's query statistics and fed back through EXPLAIN; a plan that
+ * scans one of the finder's tables fails the test. Unfiltered listings (findAll, findAllSummaries) are
+ * full reads by design and not checked.
+ */
+@SpringBootTest
+class RepositoryIndexUsageTests {
+
+	private static final LocalDate DAY = LocalDate.of(2030, 1, 7);
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+	@Autowired
+	private AppointmentService appointmentService;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private PatientReportRepository patientReportRepository;
+	@Autowired
+	private BlobDeletionRepository blobDeletionRepository;
+
+	@Test
+	void appointmentFindersUseIndexes() {
+		assertIndexed("appointments", () -> appointmentRepository.findByPatientId(1L));
+		assertIndexed("appointments", () -> appointmentRepository.findByDoctorId(1L));
+		assertIndexed("appointments", () -> appointmentRepository.findByDepartmentId(1L));
+		assertIndexed("appointments", () -> appointmentService.getAppointments(
+				new AppointmentFilter(null, 1L, null, LocalDateTime.of(DAY, LocalTime.NOON), null, null), null, 20));
+		assertIndexed("appointments", () -> appointmentService.getAppointments(
+				new AppointmentFilter(1L, null, null, null, null, AppointmentStatus.CANCELLED), null, 20));
+		assertIndexed("appointments", () -> rolledBack(() -> appointmentRepository.transitionFromBooked(1L, AppointmentStatus.COMPLETED)));
+		assertIndexed("appointments", () -> rolledBack(() -> appointmentRepository.detachCancelledFromSlot(-1L)));
+	}
+
+	@Test
+	void appointmentCursorBoundsTheIndexRange() {
+		String cursor = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((LocalDateTime.of(DAY, LocalTime.NOON) + "|5").getBytes(StandardCharsets.UTF_8));
+		// The page must start at the cursor, not walk the index from the start of the doctor's range
+		assertIndexCondition("appointments", "appointment_time >=", () -> appointmentService.getAppointments(
+				new AppointmentFilter(null, 1L, null, null, null, null), cursor, 20));
+		assertIndexCondition("appointments", "appointment_time >=", () -> appointmentService.getAppointments(
+				new AppointmentFilter(null, null, null, null, null, null), cursor, 20));
+	}
+
+	@Test
+	void slotFindersUseIndexes() {
+		assertIndexed("doctor_availabilities", () -> doctorAvailabilityRepository.findByDoctorIdAndAvailableDateAndIsBookedFalse(1L, DAY));
+		assertIndexed("doctor_availabilities", () -> doctorAvailabilityRepository.findByDoctorIdAndAvailableDate(1L, DAY));
+		assertIndexed("doctor_availabilities", () -> doctorAvailabilityRepository.findSlotViews(1L, DAY));
+		assertIndexed("doctor_availabilities", () -> doctorAvailabilityRepository.findSlotViewsBetween(DAY, DAY.plusDays(6)));
+		assertIndexed("doctor_availabilities", () -> doctorAvailabilityRepository.findSlotViews(List.of(1L, 2L), DAY, DAY.plusDays(6)));
+		assertIndexed("doctor_availabilities", () -> doctorAvailabilityRepository.findScheduleEntries(1L, DAY, DAY.plusDays(6)));
+		assertIndexed("appointments", () -> doctorAvailabilityRepository.findScheduleEntries(1L, DAY, DAY.plusDays(6)));
+		assertIndexed("doctor_availabilities", () -> doctorAvailabilityRepository.findBookingContext(1L, 1L));
+		assertIndexed("patients", () -> doctorAvailabilityRepository.findBookingContext(1L, 1L));
+		assertIndexed("doctor_availabilities", () -> doctorAvailabilityRepository.findBookingContexts(List.of(1L, 2L)));
+		assertIndexed("doctor_availabilities", () -> rolledBack(() -> doctorAvailabilityRepository.claimSlot(1L, 1L)));
+		assertIndexed("doctor_availabilities", () -> rolledBack(() -> doctorAvailabilityRepository.releaseSlot(1L)));
+		assertIndexed("doctor_availabilities", () -> rolledBack(() -> {
+			// The generated slot needs a real doctor for its foreign key
+			Doctor doctor = seedDoctor();
+			doctorAvailabilityRepository.insertIfNoOverlap(List.of(
+					new SlotView(null, doctor.getId(), DAY, LocalTime.of(9, 0), LocalTime.of(9, 15), false)));
+		}));
+	}
+
+	@Test
+	void referenceDataFindersUseIndexes() {
+		assertIndexed("doctors", () -> doctorRepository.findByDepartmentId(1L));
+		assertIndexed("doctors", () -> doctorRepository.findByHospitalIdAndDepartmentId(1L, 1L));
+		assertIndexed("doctors", () -> doctorRepository.findSummariesByDepartmentId(1L));
+		assertIndexed("doctors", () -> doctorRepository.findSummariesByHospitalIdAndDepartmentId(1L, 1L));
+		assertIndexed("doctors", () -> doctorRepository.findSummariesByHospitalIdAndSpecialization(1L, "Cardiologist"));
+		assertIndexed("departments", () -> departmentRepository.findByHospitalId(1L));
+		assertIndexed("patients", () -> patientRepository.findByHospitalId(1L));
+		assertIndexed("patients", () -> patientRepository.findExistingIds(List.of(1L, 2L)));
+	}
+
+	@Test
+	void reportAndOutboxFindersUseIndexes() {
+		assertIndexed("patient_reports", () -> patientReportRepository.findByPatientId(1L));
+		assertIndexed("patient_reports", () -> patientReportRepository.findPending());
+		assertIndexed("patient_reports", () -> patientReportRepository.findReferencedPublicIds(Set.of("a", "b")));
+		// Locking finders need a transaction
+		assertIndexed("blob_deletions", () -> rolledBack(() -> blobDeletionRepository
+				.findByDeletedAtIsNullAndNextAttemptAtLessThanEqualOrderByNextAttemptAtAscIdAsc(LocalDateTime.now(), Limit.of(10))));
+		assertIndexed("blob_deletions", () -> rolledBack(() -> blobDeletionRepository.findByPublicId("none")));
+		assertIndexed("blob_deletions", () -> rolledBack(() -> blobDeletionRepository.findByIdIn(List.of(-1L))));
+		assertIndexed("blob_deletions", () -> rolledBack(() -> blobDeletionRepository.deleteByDeletedAtBefore(LocalDateTime.now().minusYears(100))));
+	}
+
+	@Test
+	void cascadeDeletesUseIndexes() {
+		List<Long> ids = List.of(-1L, -2L); // no such rows, so the deletes can't trip over the other classes' data
+		assertIndexed("departments", () -> hospitalRepository.findDepartmentIdsOfHospital(1L));
+		assertIndexed("doctors", () -> hospitalRepository.findDoctorIdsOfHospital(1L, ids));
+		assertIndexed("doctors", () -> hospitalRepository.findDoctorIdsOfDepartment(1L));
+		assertIndexed("patients", () -> hospitalRepository.findPatientIdsOfHospital(1L, 0, 10));
+		assertIndexed("appointments", () -> hospitalRepository.findAppointmentIdsOfPatients(ids, 10));
+		assertIndexed("appointments", () -> hospitalRepository.findAppointmentIdsOfDoctors(ids, 10));
+		assertIndexed("appointments", () -> hospitalRepository.findAppointmentIdsOfDepartments(ids, 10));
+		assertIndexed("doctor_availabilities", () -> rolledBack(() -> hospitalRepository.releaseSlotsOf(ids)));
+		assertIndexed("appointments", () -> rolledBack(() -> hospitalRepository.deleteAppointments(ids)));
+		assertIndexed("patient_reports", () -> rolledBack(() -> hospitalRepository.enqueueReportBlobs(ids)));
+		assertIndexed("patient_reports", () -> rolledBack(() -> hospitalRepository.deleteReportsOfPatients(ids)));
+		assertIndexed("doctor_availabilities", () -> rolledBack(() -> hospitalRepository.deleteSlotsOfDoctors(ids, 10)));
+	}
+
+	// Writes must not leak into the database the other test classes share
+	private void rolledBack(Runnable write) {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			write.run();
+			status.setRollbackOnly();
+		});
+	}
+
+	private Doctor seedDoctor() {
+		Hospital hospital = new Hospital();
+		hospital.setName("Index Hospital");
+		hospital = hospitalRepository.save(hospital);
+		Department department = new Department();
+		department.setName("Index Department");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+		Doctor doctor = new Doctor();
+		doctor.setName("Dr. Index");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		return doctorRepository.save(doctor);
+	}
+
+	private void assertIndexed(String table, Runnable finder) {
+		for (String plan : plans(table, finder)) {
+			assertFalse(plan.contains(table + ".tableScan"), () -> "Sequential scan of " + table + ":\n" + plan);
+		}
+	}
+
+	// The index lookup itself (the /* index: ... */ comment of the plan) must carry the condition
+	private void assertIndexCondition(String table, String condition, Runnable finder) {
+		for (String plan : plans(table, finder)) {
+			Matcher lookup = Pattern.compile("/\\* public\\.idx_\\w+: ([^*]*)\\*/").matcher(plan.toLowerCase());
+			assertTrue(lookup.find() && lookup.group(1).contains(condition),
+					() -> "Index lookup on " + table + " is not bounded by " + condition + ":\n" + plan);
+		}
+	}
+
+	private List<String> plans(String table, Runnable finder) {
+		// Turning statistics off clears them, so only this finder's statements are collected
+		jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+		jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+		finder.run();
+		List<String> statements = jdbcTemplate.queryForList(
+				"SELECT sql_statement FROM information_schema.query_statistics", String.class).stream()
+				.filter(sql -> sql.contains(table) && !sql.contains("information_schema"))
+				.toList();
+		jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+
+		assertFalse(statements.isEmpty(), "No statement on " + table + " was captured");
+		return statements.stream()
+				.map(sql -> String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class)))
+				.toList();
+	}
+}
@@ -0,0 +1,104 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import com.backend.SmartSwasthya.dto.BatchBookingItem;
+import com.backend.SmartSwasthya.dto.BatchBookingResult;
+import com.backend.SmartSwasthya.dto.BatchBookingResult.Outcome;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AppointmentBatchBookingTests {
+
+	@Autowired
+	private AppointmentService appointmentService;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+	@Autowired
+	private DoctorAvailabilityService doctorAvailabilityService;
+
+	@Test
+	void eachItemGetsItsOwnOutcome() {
+		Hospital hospital = new Hospital();
+		hospital.setName("Camp Hospital");
+		hospital = hospitalRepository.save(hospital);
+
+		Department department = new Department();
+		department.setName("Camp OPD");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+
+		Doctor doctor = new Doctor();
+		doctor.setName("Dr. Camp");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		doctor = doctorRepository.save(doctor);
+
+		Patient first = patient(hospital, "Camp Patient 1");
+		Patient second = patient(hospital, "Camp Patient 2");
+		LocalDate day = LocalDate.now().plusDays(9);
+		DoctorAvailability free = slot(doctor, day, LocalTime.of(8, 0), false);
+		DoctorAvailability alsoFree = slot(doctor, day, LocalTime.of(8, 15), false);
+		DoctorAvailability taken = slot(doctor, day, LocalTime.of(8, 30), true);
+
+		Long doctorId = doctor.getId();
+		List<BatchBookingResult> results = appointmentService.bookAppointments(List.of(
+				new BatchBookingItem(first.getId(), doctorId, free.getId(), "camp"),
+				new BatchBookingItem(second.getId(), doctorId, free.getId(), "same slot twice"),
+				new BatchBookingItem(second.getId(), doctorId, taken.getId(), "already booked"),
+				new BatchBookingItem(-1L, doctorId, alsoFree.getId(), "unknown patient"),
+				new BatchBookingItem(second.getId(), -1L, alsoFree.getId(), "wrong doctor"),
+				new BatchBookingItem(second.getId(), doctorId, alsoFree.getId(), "camp")));
+
+		assertEquals(List.of(Outcome.BOOKED, Outcome.CONFLICT, Outcome.CONFLICT, Outcome.INVALID, Outcome.INVALID, Outcome.BOOKED),
+				results.stream().map(BatchBookingResult::outcome).toList());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i, results.get(i).index());
+		}
+
+		Appointment booked = appointmentRepository.findById(results.get(5).appointmentId()).orElseThrow();
+		assertEquals(department.getId(), booked.getDepartment().getId());
+		assertEquals(alsoFree.getId(), booked.getAvailableSlot().getId());
+		assertNotNull(results.get(0).appointmentId());
+		assertEquals(2, appointmentRepository.findByDoctorId(doctorId).size());
+		assertTrue(doctorAvailabilityRepository.findById(free.getId()).orElseThrow().isBooked());
+		assertTrue(doctorAvailabilityService.getAvailableSlotsForDoctorAndDate(doctorId, day).isEmpty());
+	}
+
+	private Patient patient(Hospital hospital, String name) {
+		Patient patient = new Patient();
+		patient.setName(name);
+		patient.setHospital(hospital);
+		return patientRepository.save(patient);
+	}
+
+	private DoctorAvailability slot(Doctor doctor, LocalDate day, LocalTime start, boolean booked) {
+		DoctorAvailability slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(day);
+		slot.setStartTime(start);
+		slot.setEndTime(start.plusMinutes(15));
+		slot.setBooked(booked);
+		return doctorAvailabilityRepository.save(slot);
+	}
+}
@@ -0,0 +1,169 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import com.backend.SmartSwasthya.dto.AppointmentFilter;
+import com.backend.SmartSwasthya.dto.AppointmentSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cancelling keeps the appointment and frees its slot; a slot still holds only one active appointment.
+ * Deleting a freed slot keeps its cancelled appointments as history, detached from the slot.
+ */
+@SpringBootTest
+class AppointmentLifecycleTests {
+
+	@Autowired
+	private AppointmentService appointmentService;
+	@Autowired
+	private DoctorAvailabilityService doctorAvailabilityService;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+
+	@Test
+	void cancelIsSoftAndFreesTheSlotForRebooking() {
+		Hospital unsaved = new Hospital();
+		unsaved.setName("Lifecycle Hospital");
+		Hospital hospital = hospitalRepository.save(unsaved);
+
+		Department department = new Department();
+		department.setName("Lifecycle Department");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+
+		Doctor doctor = new Doctor();
+		doctor.setName("Dr. Lifecycle");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		doctor = doctorRepository.save(doctor);
+
+		Patient first = patient(hospital, "Lifecycle Patient 1");
+		Patient second = patient(hospital, "Lifecycle Patient 2");
+
+		DoctorAvailability slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(LocalDate.now().plusDays(60));
+		slot.setStartTime(LocalTime.of(15, 0));
+		slot.setEndTime(LocalTime.of(15, 15));
+		slot = doctorAvailabilityRepository.save(slot);
+		Long slotId = slot.getId();
+
+		Long cancelledId = appointmentService.bookAppointment(first.getId(), department.getId(), doctor.getId(), slotId, "first").getId();
+		assertTrue(appointmentService.cancelAppointment(cancelledId));
+		assertEquals(AppointmentStatus.CANCELLED, appointmentRepository.findById(cancelledId).orElseThrow().getStatus());
+		assertFalse(doctorAvailabilityRepository.findById(slotId).orElseThrow().isBooked());
+		assertTrue(appointmentService.cancelAppointment(cancelledId)); // cancelling twice is harmless
+
+		Long bookedId = appointmentService.bookAppointment(second.getId(), department.getId(), doctor.getId(), slotId, "second").getId();
+		assertTrue(doctorAvailabilityRepository.findById(slotId).orElseThrow().isBooked());
+
+		// A second active appointment on the slot is rejected by the database, whatever the caller
+		Appointment duplicate = new Appointment();
+		duplicate.setPatient(first);
+		duplicate.setDepartment(department);
+		duplicate.setDoctor(doctor);
+		duplicate.setAvailableSlot(slot);
+		duplicate.setAppointmentTime(slot.getAvailableDate().atTime(slot.getStartTime()));
+		assertThrows(DataIntegrityViolationException.class, () -> appointmentRepository.saveAndFlush(duplicate));
+
+		Long doctorId = doctor.getId();
+		assertEquals(List.of(bookedId), listed(new AppointmentFilter(null, doctorId, null, null, null, null)));
+		assertEquals(List.of(cancelledId), listed(new AppointmentFilter(null, doctorId, null, null, null, AppointmentStatus.CANCELLED)));
+
+		assertEquals(AppointmentStatus.COMPLETED, appointmentService.updateStatus(bookedId, AppointmentStatus.COMPLETED).orElseThrow().getStatus());
+		assertThrows(IllegalStateException.class, () -> appointmentService.cancelAppointment(bookedId));
+		assertThrows(IllegalArgumentException.class, () -> appointmentService.updateStatus(bookedId, AppointmentStatus.BOOKED));
+		assertTrue(doctorAvailabilityRepository.findById(slotId).orElseThrow().isBooked());
+	}
+
+	@Test
+	void cancelledSlotCanBeDeleted() {
+		Doctor doctor = seedDoctor("Slot Delete");
+		Department department = doctor.getDepartment();
+		Patient patient = patient(doctor.getHospital(), "Slot Delete Patient");
+		Long slotId = slot(doctor, LocalTime.of(15, 0)).getId();
+
+		Long appointmentId = appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), slotId, "delete").getId();
+		assertThrows(IllegalStateException.class, () -> doctorAvailabilityService.deleteAvailability(slotId));
+
+		appointmentService.cancelAppointment(appointmentId);
+		assertTrue(doctorAvailabilityService.deleteAvailability(slotId));
+		assertFalse(doctorAvailabilityRepository.existsById(slotId));
+		Appointment kept = appointmentRepository.findById(appointmentId).orElseThrow();
+		assertEquals(AppointmentStatus.CANCELLED, kept.getStatus());
+		assertNull(kept.getAvailableSlot());
+		assertEquals(List.of(appointmentId), listed(new AppointmentFilter(patient.getId(), null, null, null, null, AppointmentStatus.CANCELLED)));
+		assertThrows(IllegalStateException.class, () -> appointmentService.updateStatus(appointmentId, AppointmentStatus.COMPLETED));
+	}
+
+	@Test
+	void slotWithAnActiveAppointmentIsNotDeleted() {
+		Doctor doctor = seedDoctor("Slot Keep");
+		Department department = doctor.getDepartment();
+		Patient patient = patient(doctor.getHospital(), "Slot Keep Patient");
+		Long slotId = slot(doctor, LocalTime.of(16, 0)).getId();
+		Long appointmentId = appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), slotId, "keep").getId();
+
+		// The flag can be cleared by hand through PUT; the appointment still holds the slot
+		DoctorAvailability booked = doctorAvailabilityRepository.findById(slotId).orElseThrow();
+		booked.setBooked(false);
+		doctorAvailabilityRepository.save(booked);
+		assertThrows(IllegalStateException.class, () -> doctorAvailabilityService.deleteAvailability(slotId));
+		assertTrue(doctorAvailabilityRepository.existsById(slotId));
+		assertTrue(appointmentRepository.existsById(appointmentId));
+	}
+
+	private Doctor seedDoctor(String name) {
+		Hospital hospital = new Hospital();
+		hospital.setName(name + " Hospital");
+		hospital = hospitalRepository.save(hospital);
+		Department department = new Department();
+		department.setName(name + " Department");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+		Doctor doctor = new Doctor();
+		doctor.setName("Dr. " + name);
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		return doctorRepository.save(doctor);
+	}
+
+	private DoctorAvailability slot(Doctor doctor, LocalTime start) {
+		DoctorAvailability slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(LocalDate.now().plusDays(61));
+		slot.setStartTime(start);
+		slot.setEndTime(start.plusMinutes(15));
+		return doctorAvailabilityRepository.save(slot);
+	}
+
+	private List<Long> listed(AppointmentFilter filter) {
+		return appointmentService.getAppointments(filter, null, 10).items().stream().map(AppointmentSummary::id).toList();
+	}
+
+	private Patient patient(Hospital hospital, String name) {
+		Patient patient = new Patient();
+		patient.setName(name);
+		patient.setHospital(hospital);
+		return patientRepository.save(patient);
+	}
+}
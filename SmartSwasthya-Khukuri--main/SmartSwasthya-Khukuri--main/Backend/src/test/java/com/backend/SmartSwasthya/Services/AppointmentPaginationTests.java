@@ -0,0 +1,164 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import com.backend.SmartSwasthya.dto.AppointmentFilter;
+import com.backend.SmartSwasthya.dto.AppointmentSummary;
+import com.backend.SmartSwasthya.dto.CursorPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * GET /api/appointments pages: filters combine, cursors continue in (appointmentTime, id) order without
+ * gaps or repeats, and the date range is from-inclusive, to-exclusive.
+ */
+@SpringBootTest
+class AppointmentPaginationTests {
+
+	private static final LocalDate DAY = LocalDate.now().plusDays(35);
+
+	@Autowired
+	private AppointmentService appointmentService;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+
+	private Department department;
+	private Doctor first;
+	private Doctor second;
+	private Patient regular;
+	private Patient other;
+	private Long cancelledId;
+
+	@BeforeEach
+	void seed() {
+		Hospital hospital = new Hospital();
+		hospital.setName("Paging Hospital");
+		hospital = hospitalRepository.save(hospital);
+
+		department = new Department();
+		department.setName("Paging Department");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+
+		first = doctor(hospital, "Dr. Paging One");
+		second = doctor(hospital, "Dr. Paging Two");
+		regular = patient(hospital, "Paging Patient");
+		other = patient(hospital, "Other Paging Patient");
+
+		book(regular, first, DAY, LocalTime.of(9, 0));
+		book(regular, first, DAY, LocalTime.of(9, 15));
+		cancelledId = book(regular, first, DAY, LocalTime.of(9, 30));
+		appointmentService.cancelAppointment(cancelledId);
+		book(regular, first, DAY.plusDays(1), LocalTime.of(9, 0));
+		// Same time as the first doctor's first appointment; the id breaks the tie
+		book(other, second, DAY, LocalTime.of(9, 0));
+	}
+
+	@Test
+	void cursorsContinueWithoutGapsOrRepeats() {
+		AppointmentFilter byDoctor = new AppointmentFilter(null, first.getId(), null, null, null, null);
+		CursorPage<AppointmentSummary> page = appointmentService.getAppointments(byDoctor, null, 2);
+		assertEquals(2, page.items().size());
+		assertNotNull(page.nextCursor());
+
+		CursorPage<AppointmentSummary> last = appointmentService.getAppointments(byDoctor, page.nextCursor(), 2);
+		assertEquals(List.of(LocalDateTime.of(DAY.plusDays(1), LocalTime.of(9, 0))),
+				last.items().stream().map(AppointmentSummary::appointmentTime).toList());
+		assertNull(last.nextCursor());
+
+		// One row per page through equal appointment times still visits every row once, in order
+		List<AppointmentSummary> all = walk(new AppointmentFilter(null, null, department.getId(), null, null, null), 1);
+		assertEquals(4, all.size());
+		assertEquals(all.stream().map(AppointmentSummary::id).distinct().count(), all.size());
+		for (int i = 1; i < all.size(); i++) {
+			AppointmentSummary previous = all.get(i - 1);
+			AppointmentSummary current = all.get(i);
+			int byTime = previous.appointmentTime().compareTo(current.appointmentTime());
+			assertTrue(byTime < 0 || (byTime == 0 && previous.id() < current.id()));
+		}
+	}
+
+	@Test
+	void filtersCombine() {
+		List<AppointmentSummary> cancelled = walk(new AppointmentFilter(regular.getId(), first.getId(), department.getId(),
+				null, null, AppointmentStatus.CANCELLED), 10);
+		assertEquals(List.of(cancelledId), cancelled.stream().map(AppointmentSummary::id).toList());
+
+		assertTrue(walk(new AppointmentFilter(other.getId(), first.getId(), null, null, null, null), 10).isEmpty());
+		assertEquals(1, walk(new AppointmentFilter(other.getId(), second.getId(), department.getId(), null, null, null), 10).size());
+		// Cancelled appointments are left out unless asked for
+		assertEquals(3, walk(new AppointmentFilter(regular.getId(), null, null, null, null, null), 10).size());
+	}
+
+	@Test
+	void dateRangeIsFromInclusiveToExclusive() {
+		List<AppointmentSummary> morning = walk(new AppointmentFilter(null, null, department.getId(),
+				LocalDateTime.of(DAY, LocalTime.of(9, 0)), LocalDateTime.of(DAY, LocalTime.of(9, 15)), null), 1);
+		assertEquals(2, morning.size());
+		assertTrue(morning.stream().allMatch(a -> a.appointmentTime().equals(LocalDateTime.of(DAY, LocalTime.of(9, 0)))));
+
+		List<AppointmentSummary> nextDay = walk(new AppointmentFilter(null, first.getId(), null,
+				DAY.plusDays(1).atStartOfDay(), DAY.plusDays(2).atStartOfDay(), null), 10);
+		assertEquals(1, nextDay.size());
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> appointmentService.getAppointments(
+				new AppointmentFilter(null, first.getId(), null, null, null, null), "not-a-cursor", 10));
+	}
+
+	private List<AppointmentSummary> walk(AppointmentFilter filter, int limit) {
+		List<AppointmentSummary> all = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPage<AppointmentSummary> page = appointmentService.getAppointments(filter, cursor, limit);
+			all.addAll(page.items());
+			cursor = page.nextCursor();
+		} while (cursor != null);
+		return all;
+	}
+
+	private Long book(Patient patient, Doctor doctor, LocalDate date, LocalTime start) {
+		DoctorAvailability slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(date);
+		slot.setStartTime(start);
+		slot.setEndTime(start.plusMinutes(15));
+		slot = doctorAvailabilityRepository.save(slot);
+		return appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), slot.getId(), "paging").getId();
+	}
+
+	private Doctor doctor(Hospital hospital, String name) {
+		Doctor doctor = new Doctor();
+		doctor.setName(name);
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		return doctorRepository.save(doctor);
+	}
+
+	private Patient patient(Hospital hospital, String name) {
+		Patient patient = new Patient();
+		patient.setName(name);
+		patient.setHospital(hospital);
+		return patientRepository.save(patient);
+	}
+}
@@ -0,0 +1,117 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AppointmentServiceConcurrencyTests {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	private AppointmentService appointmentService;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+	@Autowired
+	private AppointmentRepository appointmentRepository;
+	@Autowired
+	private DoctorAvailabilityService doctorAvailabilityService;
+	@Autowired
+	private SlotAvailabilityIndex slotAvailabilityIndex;
+
+	@Test
+	void concurrentBookingsOfOneSlotHaveExactlyOneWinner() throws Exception {
+		Hospital hospital = new Hospital();
+		hospital.setName("Concurrency Hospital");
+		hospital = hospitalRepository.save(hospital);
+
+		Department department = new Department();
+		department.setName("OPD");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+
+		Doctor doctor = new Doctor();
+		doctor.setName("Dr. Rush");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		doctor = doctorRepository.save(doctor);
+
+		DoctorAvailability slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(LocalDate.now().plusDays(1));
+		slot.setStartTime(LocalTime.of(9, 0));
+		slot.setEndTime(LocalTime.of(9, 15));
+		slot = doctorAvailabilityRepository.save(slot);
+
+		List<Long> patientIds = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			Patient patient = new Patient();
+			patient.setName("Patient " + i);
+			patient.setHospital(hospital);
+			patientIds.add(patientRepository.save(patient).getId());
+		}
+
+		assertEquals(1, doctorAvailabilityService.getAvailableSlotsForDoctorAndDate(doctor.getId(), slot.getAvailableDate()).size());
+
+		Long departmentId = department.getId();
+		Long doctorId = doctor.getId();
+		Long slotId = slot.getId();
+		AtomicInteger booked = new AtomicInteger();
+		AtomicInteger conflicts = new AtomicInteger();
+		List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (Long patientId : patientIds) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					try {
+						appointmentService.bookAppointment(patientId, departmentId, doctorId, slotId, "Fever");
+						booked.incrementAndGet();
+					} catch (IllegalStateException e) {
+						conflicts.incrementAndGet();
+					} catch (Throwable t) {
+						unexpected.add(t);
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+		assertEquals(1, booked.get());
+		assertEquals(THREADS - 1, conflicts.get());
+		assertEquals(1, appointmentRepository.findByDoctorId(doctorId).size());
+		assertTrue(doctorAvailabilityRepository.findById(slotId).orElseThrow().isBooked());
+		assertTrue(doctorAvailabilityService.getAvailableSlotsForDoctorAndDate(doctorId, slot.getAvailableDate()).isEmpty());
+		assertEquals(0, slotAvailabilityIndex.reconcile());
+	}
+}
@@ -0,0 +1,215 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.BlobDeletion;
+import com.backend.SmartSwasthya.Models.Hospital;
+import com.backend.SmartSwasthya.Models.Patient;
+import com.backend.SmartSwasthya.Models.PatientReport;
+import com.backend.SmartSwasthya.Models.ReportStatus;
+import com.backend.SmartSwasthya.Repository.BlobDeletionRepository;
+import com.backend.SmartSwasthya.Repository.HospitalRepository;
+import com.backend.SmartSwasthya.Repository.PatientReportRepository;
+import com.backend.SmartSwasthya.Repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Deleting a report queues its blob; the drain removes blobs nothing references any more, backs off on
+ * storage failures, holds no row locks during the remote delete, and never leaves an upload of identical
+ * content pointing at a blob it deleted.
+ */
+@SpringBootTest(properties = {
+		"smartswasthya.blob-deletion.interval=PT1H", // drained by the tests only
+		"smartswasthya.upload.retry-backoff=PT0.1S"
+})
+class BlobDeletionOutboxTests {
+
+	@MockitoSpyBean
+	private CloudinaryImageService storage;
+	@Autowired
+	private BlobDeletionOutbox blobDeletionOutbox;
+	@Autowired
+	private BlobDeletionRepository blobDeletionRepository;
+	@Autowired
+	private PatientReportService patientReportService;
+	@Autowired
+	private PatientReportRepository patientReportRepository;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@TempDir
+	private Path temp;
+
+	private Patient patient;
+
+	@BeforeEach
+	void seed() {
+		Hospital hospital = new Hospital();
+		hospital.setName("Outbox Hospital");
+		hospital = hospitalRepository.save(hospital);
+		patient = new Patient();
+		patient.setName("Outbox Patient");
+		patient.setHospital(hospital);
+		patient = patientRepository.save(patient);
+	}
+
+	@Test
+	void deletingAReportQueuesItsBlobUntilDrained() throws Exception {
+		PatientReport report = awaitStatus(upload(uniqueContent()).getId(), ReportStatus.UPLOADED);
+		String publicId = report.getCloudinaryPublicId();
+
+		assertTrue(patientReportService.deleteReport(report.getId()));
+		assertEquals(1, pending(publicId).size());
+		assertTrue(stored(publicId), "Nothing is deleted before the drain");
+
+		blobDeletionOutbox.drain();
+		assertFalse(stored(publicId));
+		assertTrue(pending(publicId).isEmpty());
+	}
+
+	@Test
+	void sharedBlobsAreKept() throws Exception {
+		byte[] content = uniqueContent();
+		PatientReport first = awaitStatus(upload(content).getId(), ReportStatus.UPLOADED);
+		PatientReport second = awaitStatus(upload(content).getId(), ReportStatus.UPLOADED);
+		assertEquals(first.getCloudinaryPublicId(), second.getCloudinaryPublicId());
+
+		patientReportService.deleteReport(first.getId());
+		blobDeletionOutbox.drain();
+		assertTrue(stored(second.getCloudinaryPublicId()));
+		assertTrue(pending(second.getCloudinaryPublicId()).isEmpty(), "A still-referenced blob completes the entry");
+	}
+
+	@Test
+	void failedDeletesBackOff() throws Exception {
+		PatientReport report = awaitStatus(upload(uniqueContent()).getId(), ReportStatus.UPLOADED);
+		String publicId = report.getCloudinaryPublicId();
+		patientReportService.deleteReport(report.getId());
+		doThrow(new IOException("storage down")).when(storage).deleteImages(anyCollection());
+
+		LocalDateTime before = LocalDateTime.now();
+		blobDeletionOutbox.drain();
+		BlobDeletion entry = pending(publicId).get(0);
+		assertEquals(1, entry.getAttempts());
+		assertEquals("storage down", entry.getLastError());
+		assertTrue(entry.getNextAttemptAt().isAfter(before));
+
+		// Not due again yet
+		blobDeletionOutbox.drain();
+		assertEquals(1, pending(publicId).get(0).getAttempts());
+		assertTrue(stored(publicId));
+	}
+
+	@Test
+	void remoteDeletesHoldNoLocks() throws Exception {
+		byte[] content = uniqueContent();
+		String publicId = orphanBlob(content);
+		// An upload of the same blob committing while the remote delete is in flight neither waits nor wins
+		doAnswer(invocation -> {
+			assertThrows(BlobDeletionOutbox.DeleteInProgressException.class, () -> new TransactionTemplate(transactionManager)
+					.executeWithoutResult(status -> blobDeletionOutbox.cancel(publicId, LocalDateTime.now())));
+			return invocation.callRealMethod();
+		}).when(storage).deleteImages(anyCollection());
+
+		assertEquals(1, blobDeletionOutbox.drain());
+		assertFalse(stored(publicId));
+		assertTrue(pending(publicId).isEmpty());
+	}
+
+	@Test
+	void reuploadCancelsAPendingDelete() throws Exception {
+		byte[] content = uniqueContent();
+		String publicId = orphanBlob(content);
+
+		PatientReport report = awaitStatus(upload(content).getId(), ReportStatus.UPLOADED);
+		assertEquals(publicId, report.getCloudinaryPublicId());
+		assertTrue(pending(publicId).isEmpty());
+		blobDeletionOutbox.drain();
+		assertTrue(stored(publicId));
+	}
+
+	@Test
+	void blobDeletedDuringTheUploadIsStoredAgain() throws Exception {
+		byte[] content = uniqueContent();
+		String publicId = orphanBlob(content);
+		clearInvocations(storage);
+		// The drain runs after the upload deduped onto the orphan but before the report references it
+		doAnswer(invocation -> {
+			Object result = invocation.callRealMethod();
+			blobDeletionOutbox.drain();
+			return result;
+		}).when(storage).upload(any(Path.class));
+
+		PatientReport report = awaitStatus(upload(content).getId(), ReportStatus.UPLOADED);
+		assertEquals(publicId, report.getCloudinaryPublicId());
+		assertTrue(stored(publicId));
+		assertTrue(pending(publicId).isEmpty());
+		// The first commit found the delete had returned after its upload started, so it uploaded again
+		verify(storage, times(2)).upload(any(Path.class));
+	}
+
+	// A stored blob nothing references, with its delete queued
+	private String orphanBlob(byte[] content) throws IOException {
+		String publicId = (String) storage.upload(Files.write(temp.resolve("orphan"), content)).get("public_id");
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> blobDeletionOutbox.enqueue(publicId));
+		return publicId;
+	}
+
+	private PatientReport upload(byte[] content) {
+		return patientReportService.uploadReport(patient.getId(), "Blood Test",
+				new MockMultipartFile("file", "report.pdf", "application/pdf", content), "Lab");
+	}
+
+	// Entries not yet deleted; deleted ones are kept for a while as tombstones
+	private List<BlobDeletion> pending(String publicId) {
+		return blobDeletionRepository.findAll().stream()
+				.filter(entry -> entry.getPublicId().equals(publicId) && entry.getDeletedAt() == null)
+				.toList();
+	}
+
+	private boolean stored(String publicId) {
+		return ((LocalFileImageService) storage).resolve(publicId).isPresent();
+	}
+
+	private static byte[] uniqueContent() {
+		return ("report " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private PatientReport awaitStatus(Long reportId, ReportStatus expected) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			PatientReport report = patientReportRepository.findById(reportId).orElseThrow();
+			if (report.getStatus() == expected) {
+				return report;
+			}
+			Thread.sleep(50);
+		}
+		return fail("Report " + reportId + " never reached " + expected);
+	}
+}
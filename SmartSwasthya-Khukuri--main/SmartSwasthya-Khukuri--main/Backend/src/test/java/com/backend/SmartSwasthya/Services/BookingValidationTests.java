@@ -0,0 +1,129 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A booking is validated from one query: a valid one costs that select plus the slot claim and the insert.
+ * Ids that don't exist or don't belong together are still reported the way they were before.
+ */
+@SpringBootTest
+class BookingValidationTests {
+
+	private static final LocalDate DAY = LocalDate.now().plusDays(38);
+
+	@Autowired
+	private AppointmentService appointmentService;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+
+	private Patient patient;
+	private Department department;
+	private Doctor doctor;
+	private Doctor otherDoctor;
+	private DoctorAvailability slot;
+
+	@BeforeEach
+	void seed() {
+		Hospital hospital = new Hospital();
+		hospital.setName("Validation Hospital");
+		hospital = hospitalRepository.save(hospital);
+		department = new Department();
+		department.setName("Validation Department");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+		Department otherDepartment = new Department();
+		otherDepartment.setName("Other Validation Department");
+		otherDepartment.setHospital(hospital);
+		otherDepartment = departmentRepository.save(otherDepartment);
+
+		doctor = doctor(hospital, department, "Dr. Validation");
+		otherDoctor = doctor(hospital, otherDepartment, "Dr. Elsewhere");
+		patient = new Patient();
+		patient.setName("Validation Patient");
+		patient.setHospital(hospital);
+		patient = patientRepository.save(patient);
+
+		slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(DAY);
+		slot.setStartTime(LocalTime.of(9, 0));
+		slot.setEndTime(LocalTime.of(9, 30));
+		slot = doctorAvailabilityRepository.save(slot);
+	}
+
+	@Test
+	void bookingIsOneReadAndTwoWrites() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), slot.getId(), "count");
+		// Booking context select, slot claim update, appointment insert
+		assertEquals(3, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void unknownIdsAreNamed() {
+		assertRejected("Patient not found with ID: -1",
+				() -> appointmentService.bookAppointment(-1L, department.getId(), doctor.getId(), slot.getId(), "x"));
+		assertRejected("Department not found with ID: -1",
+				() -> appointmentService.bookAppointment(patient.getId(), -1L, doctor.getId(), slot.getId(), "x"));
+		assertRejected("Doctor not found with ID: -1",
+				() -> appointmentService.bookAppointment(patient.getId(), department.getId(), -1L, slot.getId(), "x"));
+		assertRejected("Available time slot not found with ID: -1",
+				() -> appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), -1L, "x"));
+		// Several unknown ids: the patient is reported first, as before
+		assertRejected("Patient not found with ID: -1",
+				() -> appointmentService.bookAppointment(-1L, department.getId(), -2L, -3L, "x"));
+	}
+
+	@Test
+	void mismatchedIdsAreRejected() {
+		assertRejected("Selected time slot does not belong to the chosen doctor.",
+				() -> appointmentService.bookAppointment(patient.getId(), department.getId(), otherDoctor.getId(), slot.getId(), "x"));
+		assertRejected("Chosen doctor does not belong to the selected department.",
+				() -> appointmentService.bookAppointment(patient.getId(), otherDoctor.getDepartment().getId(), doctor.getId(), slot.getId(), "x"));
+		assertFalse(doctorAvailabilityRepository.findById(slot.getId()).orElseThrow().isBooked());
+	}
+
+	@Test
+	void bookedSlotIsAConflict() {
+		appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), slot.getId(), "first");
+		assertThrows(IllegalStateException.class,
+				() -> appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), slot.getId(), "second"));
+	}
+
+	private static void assertRejected(String message, Executable booking) {
+		assertEquals(message, assertThrows(IllegalArgumentException.class, booking).getMessage());
+	}
+
+	private Doctor doctor(Hospital hospital, Department department, String name) {
+		Doctor doctor = new Doctor();
+		doctor.setName(name);
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		return doctorRepository.save(doctor);
+	}
+}
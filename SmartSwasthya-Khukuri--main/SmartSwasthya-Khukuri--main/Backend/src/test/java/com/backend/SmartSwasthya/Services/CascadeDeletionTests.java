@@ -0,0 +1,194 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Deletes run in chunks (two rows here) yet leave nothing behind, queue report blobs and free slots the
+ * deleted patients held in other hospitals. A single patient's delete frees their slots the same way.
+ */
+@SpringBootTest(properties = {
+		"smartswasthya.cascade-delete.chunk-size=2",
+		"smartswasthya.blob-deletion.interval=PT1H" // keep the outbox rows around for the assertions
+})
+class CascadeDeletionTests {
+
+	private static final LocalDate DAY = LocalDate.now().plusDays(70);
+
+	@Autowired
+	private HospitalService hospitalService;
+	@Autowired
+	private DoctorService doctorService;
+	@Autowired
+	private PatientService patientService;
+	@Autowired
+	private AppointmentService appointmentService;
+	@Autowired
+	private SlotAvailabilityIndex slotAvailabilityIndex;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private PatientReportRepository patientReportRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void deletingAHospitalRemovesEverythingBelowIt() {
+		Hospital hospital = hospital("Cascade Hospital");
+		Department cardiology = department(hospital, "Cascade Cardiology");
+		Department surgery = department(hospital, "Cascade Surgery");
+		Doctor cardiologist = doctor(hospital, cardiology, "Dr. Cascade 1");
+		doctor(hospital, cardiology, "Dr. Cascade 2");
+		Doctor surgeon = doctor(hospital, surgery, "Dr. Cascade 3");
+
+		List<Patient> patients = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			Patient patient = patient(hospital, "Cascade Patient " + i);
+			patients.add(patient);
+			PatientReport report = new PatientReport();
+			report.setPatient(patient);
+			report.setReportType("Blood Test");
+			report.setCloudinaryPublicId("cascade-report-" + patient.getId());
+			patientReportRepository.save(report);
+			DoctorAvailability slot = slot(i % 2 == 0 ? cardiologist : surgeon, LocalTime.of(9, 0).plusMinutes(15L * i));
+			appointmentService.bookAppointment(patient.getId(), (i % 2 == 0 ? cardiology : surgery).getId(),
+					slot.getDoctor().getId(), slot.getId(), "cascade");
+		}
+
+		// One of the patients also booked a doctor in another hospital, which outlives the deletion
+		Hospital other = hospital("Cascade Neighbour");
+		Department otherDepartment = department(other, "Cascade Neighbour Department");
+		Doctor otherDoctor = doctor(other, otherDepartment, "Dr. Neighbour");
+		DoctorAvailability otherSlot = slot(otherDoctor, LocalTime.of(14, 0));
+		appointmentService.bookAppointment(patients.getFirst().getId(), otherDepartment.getId(), otherDoctor.getId(), otherSlot.getId(), "elsewhere");
+		assertTrue(slotAvailabilityIndex.getFreeSlots(otherDoctor.getId(), DAY).isEmpty());
+
+		assertTrue(hospitalService.deleteHospital(hospital.getId()));
+
+		assertTrue(hospitalRepository.findById(hospital.getId()).isEmpty());
+		assertEquals(0, count("SELECT COUNT(*) FROM departments WHERE hospital_id = ?", hospital.getId()));
+		assertEquals(0, count("SELECT COUNT(*) FROM doctors WHERE hospital_id = ?", hospital.getId()));
+		assertEquals(0, count("SELECT COUNT(*) FROM patients WHERE hospital_id = ?", hospital.getId()));
+		assertEquals(0, count("SELECT COUNT(*) FROM doctor_availabilities WHERE doctor_id IN (?, ?)", cardiologist.getId(), surgeon.getId()));
+		assertEquals(0, count("SELECT COUNT(*) FROM appointments WHERE doctor_id = ?", otherDoctor.getId()));
+		assertTrue(doctorRepository.findById(cardiologist.getId()).isEmpty()); // not served from the second-level cache
+		for (Patient patient : patients) {
+			assertEquals(1, count("SELECT COUNT(*) FROM blob_deletions WHERE public_id = ?", "cascade-report-" + patient.getId()));
+		}
+
+		assertFalse(doctorAvailabilityRepository.findById(otherSlot.getId()).orElseThrow().isBooked());
+		assertEquals(List.of(otherSlot.getId()), slotAvailabilityIndex.getFreeSlots(otherDoctor.getId(), DAY).stream().map(s -> s.id()).toList());
+		assertTrue(slotAvailabilityIndex.getFreeSlots(cardiologist.getId(), DAY).isEmpty());
+
+		assertFalse(hospitalService.deleteHospital(hospital.getId()));
+	}
+
+	@Test
+	void deletingADoctorKeepsTheDepartmentAndPatients() {
+		Hospital hospital = hospital("Cascade Doctor Hospital");
+		Department department = department(hospital, "Cascade Doctor Department");
+		Doctor doctor = doctor(hospital, department, "Dr. Leaving");
+		Patient patient = patient(hospital, "Cascade Doctor Patient");
+		DoctorAvailability booked = slot(doctor, LocalTime.of(10, 0));
+		for (int i = 1; i <= 4; i++) {
+			slot(doctor, LocalTime.of(10, 0).plusMinutes(15L * i));
+		}
+		appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), booked.getId(), "last visit");
+		assertEquals(4, slotAvailabilityIndex.getFreeSlots(doctor.getId(), DAY).size());
+
+		assertTrue(doctorService.deleteDoctor(doctor.getId()));
+
+		assertTrue(doctorRepository.findById(doctor.getId()).isEmpty());
+		assertEquals(0, count("SELECT COUNT(*) FROM doctor_availabilities WHERE doctor_id = ?", doctor.getId()));
+		assertEquals(0, count("SELECT COUNT(*) FROM appointments WHERE patient_id = ?", patient.getId()));
+		assertTrue(slotAvailabilityIndex.getFreeSlots(doctor.getId(), DAY).isEmpty());
+		assertTrue(departmentRepository.existsById(department.getId()));
+		assertTrue(patientRepository.existsById(patient.getId()));
+	}
+
+	@Test
+	void deletingAPatientReleasesTheirSlotsAndQueuesTheirReports() {
+		Hospital hospital = hospital("Cascade Patient Hospital");
+		Department department = department(hospital, "Cascade Patient Department");
+		Doctor doctor = doctor(hospital, department, "Dr. Staying");
+		Patient patient = patient(hospital, "Cascade Leaving Patient");
+		PatientReport report = new PatientReport();
+		report.setPatient(patient);
+		report.setReportType("X-Ray");
+		report.setCloudinaryPublicId("cascade-patient-report-" + patient.getId());
+		patientReportRepository.save(report);
+		DoctorAvailability booked = slot(doctor, LocalTime.of(11, 0));
+		appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), booked.getId(), "leaving");
+		assertTrue(slotAvailabilityIndex.getFreeSlots(doctor.getId(), DAY).isEmpty());
+
+		assertTrue(patientService.deletePatient(patient.getId()));
+
+		assertFalse(patientRepository.existsById(patient.getId()));
+		assertEquals(0, count("SELECT COUNT(*) FROM appointments WHERE patient_id = ?", patient.getId()));
+		assertEquals(0, count("SELECT COUNT(*) FROM patient_reports WHERE patient_id = ?", patient.getId()));
+		assertEquals(1, count("SELECT COUNT(*) FROM blob_deletions WHERE public_id = ?", "cascade-patient-report-" + patient.getId()));
+		assertFalse(doctorAvailabilityRepository.findById(booked.getId()).orElseThrow().isBooked());
+		assertEquals(List.of(booked.getId()), slotAvailabilityIndex.getFreeSlots(doctor.getId(), DAY).stream().map(s -> s.id()).toList());
+		assertFalse(patientService.deletePatient(patient.getId()));
+	}
+
+	private long count(String sql, Object... args) {
+		return jdbcTemplate.queryForObject(sql, Long.class, args);
+	}
+
+	private Hospital hospital(String name) {
+		Hospital hospital = new Hospital();
+		hospital.setName(name);
+		return hospitalRepository.save(hospital);
+	}
+
+	private Department department(Hospital hospital, String name) {
+		Department department = new Department();
+		department.setName(name);
+		department.setHospital(hospital);
+		return departmentRepository.save(department);
+	}
+
+	private Doctor doctor(Hospital hospital, Department department, String name) {
+		Doctor doctor = new Doctor();
+		doctor.setName(name);
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		return doctorRepository.save(doctor);
+	}
+
+	private Patient patient(Hospital hospital, String name) {
+		Patient patient = new Patient();
+		patient.setName(name);
+		patient.setHospital(hospital);
+		return patientRepository.save(patient);
+	}
+
+	private DoctorAvailability slot(Doctor doctor, LocalTime start) {
+		DoctorAvailability slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(DAY);
+		slot.setStartTime(start);
+		slot.setEndTime(start.plusMinutes(15));
+		return doctorAvailabilityRepository.save(slot);
+	}
+}
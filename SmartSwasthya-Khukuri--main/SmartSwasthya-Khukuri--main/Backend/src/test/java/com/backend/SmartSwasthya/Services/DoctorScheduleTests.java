@@ -0,0 +1,105 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import com.backend.SmartSwasthya.dto.ScheduleDay;
+import com.backend.SmartSwasthya.dto.ScheduleEntry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A doctor's schedule joins each slot with its appointment and patient in a single statement.
+ */
+@SpringBootTest
+class DoctorScheduleTests {
+
+	@Autowired
+	private DoctorAvailabilityService doctorAvailabilityService;
+	@Autowired
+	private AppointmentService appointmentService;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+
+	@Test
+	void slotsComeWithTheirAppointmentAndPatient() {
+		Hospital hospital = new Hospital();
+		hospital.setName("Schedule Hospital");
+		hospital = hospitalRepository.save(hospital);
+
+		Department department = new Department();
+		department.setName("Schedule Department");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+
+		Doctor doctor = new Doctor();
+		doctor.setName("Dr. Schedule");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		doctor = doctorRepository.save(doctor);
+
+		Patient patient = new Patient();
+		patient.setName("Schedule Patient");
+		patient.setPhone("9811111111");
+		patient.setAge(42);
+		patient.setHospital(hospital);
+		patient = patientRepository.save(patient);
+
+		LocalDate day = LocalDate.now().plusDays(50);
+		DoctorAvailability late = slot(doctor, day, LocalTime.of(10, 0));
+		DoctorAvailability early = slot(doctor, day, LocalTime.of(9, 0));
+		DoctorAvailability nextWeek = slot(doctor, day.plusDays(7), LocalTime.of(9, 0));
+		Long appointmentId = appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), late.getId(), "checkup").getId();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		List<ScheduleDay> week = doctorAvailabilityService.getSchedule(doctor.getId(), day, 7);
+		assertEquals(1, statistics.getPrepareStatementCount());
+
+		assertEquals(7, week.size());
+		ScheduleDay first = week.get(0);
+		assertEquals(day, first.date());
+		assertEquals(1, first.free());
+		assertEquals(1, first.booked());
+		assertEquals(List.of(early.getId(), late.getId()), first.slots().stream().map(ScheduleEntry::slotId).toList());
+		ScheduleEntry booked = first.slots().get(1);
+		assertEquals(appointmentId, booked.appointmentId());
+		assertEquals("Schedule Patient", booked.patientName());
+		assertEquals("9811111111", booked.patientPhone());
+		assertEquals(42, booked.patientAge());
+		assertNull(first.slots().get(0).patientId());
+		assertTrue(week.get(1).slots().isEmpty());
+		assertFalse(week.stream().flatMap(d -> d.slots().stream()).anyMatch(e -> e.slotId().equals(nextWeek.getId())));
+
+		assertThrows(IllegalArgumentException.class, () -> doctorAvailabilityService.getSchedule(-1L, day, 1));
+		assertThrows(IllegalArgumentException.class, () -> doctorAvailabilityService.getSchedule(1L, day, 8));
+	}
+
+	private DoctorAvailability slot(Doctor doctor, LocalDate day, LocalTime start) {
+		DoctorAvailability slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(day);
+		slot.setStartTime(start);
+		slot.setEndTime(start.plusMinutes(30));
+		return doctorAvailabilityRepository.save(slot);
+	}
+}
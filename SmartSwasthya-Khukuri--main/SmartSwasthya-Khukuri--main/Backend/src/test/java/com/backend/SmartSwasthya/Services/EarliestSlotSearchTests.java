@@ -0,0 +1,91 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import com.backend.SmartSwasthya.dto.FreeSlot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class EarliestSlotSearchTests {
+
+	@Autowired
+	private DoctorAvailabilityService doctorAvailabilityService;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+
+	@Test
+	void mergesDoctorsInTimeOrderAndSkipsBookedSlots() {
+		Hospital unsaved = new Hospital();
+		unsaved.setName("Search Hospital");
+		Hospital hospital = hospitalRepository.save(unsaved);
+		Department cardiology = department(hospital, "Cardiology");
+		Department neurology = department(hospital, "Neurology");
+		Doctor early = doctor(hospital, cardiology, "Dr. Early", "Cardiologist");
+		Doctor late = doctor(hospital, cardiology, "Dr. Late", "Cardiologist");
+		Doctor other = doctor(hospital, neurology, "Dr. Other", "Neurologist");
+
+		LocalDate first = LocalDate.now().plusDays(20);
+		LocalDate second = first.plusDays(1);
+		DoctorAvailability a = slot(late, first, LocalTime.of(9, 0), false);
+		slot(early, first, LocalTime.of(9, 30), true);
+		DoctorAvailability b = slot(early, first, LocalTime.of(10, 0), false);
+		DoctorAvailability c = slot(late, first, LocalTime.of(10, 0), false);
+		DoctorAvailability d = slot(early, second, LocalTime.of(8, 0), false);
+		slot(other, first, LocalTime.of(7, 0), false);
+
+		List<FreeSlot> found = doctorAvailabilityService.findEarliestFreeSlots(cardiology.getId(), null, null, first, second, 10);
+		assertEquals(List.of(a.getId(), b.getId(), c.getId(), d.getId()), found.stream().map(FreeSlot::slotId).toList());
+		assertEquals(cardiology.getId(), found.get(0).departmentId());
+		assertEquals("Dr. Late", found.get(0).doctorName());
+
+		List<FreeSlot> limited = doctorAvailabilityService.findEarliestFreeSlots(cardiology.getId(), null, null, first, second, 2);
+		assertEquals(List.of(a.getId(), b.getId()), limited.stream().map(FreeSlot::slotId).toList());
+
+		List<FreeSlot> bySpecialization = doctorAvailabilityService.findEarliestFreeSlots(null, hospital.getId(), "neurologist", first, second, 10);
+		assertEquals(List.of(other.getId()), bySpecialization.stream().map(FreeSlot::doctorId).toList());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> doctorAvailabilityService.findEarliestFreeSlots(null, hospital.getId(), null, first, second, 10));
+	}
+
+	private Department department(Hospital hospital, String name) {
+		Department department = new Department();
+		department.setName(name);
+		department.setHospital(hospital);
+		return departmentRepository.save(department);
+	}
+
+	private Doctor doctor(Hospital hospital, Department department, String name, String specialization) {
+		Doctor doctor = new Doctor();
+		doctor.setName(name);
+		doctor.setSpecialization(specialization);
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		return doctorRepository.save(doctor);
+	}
+
+	private DoctorAvailability slot(Doctor doctor, LocalDate day, LocalTime start, boolean booked) {
+		DoctorAvailability slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(day);
+		slot.setStartTime(start);
+		slot.setEndTime(start.plusMinutes(30));
+		slot.setBooked(booked);
+		return doctorAvailabilityRepository.save(slot);
+	}
+}
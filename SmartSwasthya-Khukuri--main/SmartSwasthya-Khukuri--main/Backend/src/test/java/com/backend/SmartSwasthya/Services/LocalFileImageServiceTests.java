@@ -0,0 +1,85 @@
+package com.backend.SmartSwasthya.Services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Blobs are addressed by the SHA-256 of their bytes: identical uploads share one file, and the staging
+ * area is left empty.
+ */
+class LocalFileImageServiceTests {
+
+	@TempDir
+	private Path temp;
+
+	private Path root;
+	private LocalFileImageService storage;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		root = temp.resolve("store");
+		storage = new LocalFileImageService(root.toString(), "/api/blobs/", new SimpleMeterRegistry());
+	}
+
+	@Test
+	void storesUnderTheContentHash() throws Exception {
+		byte[] content = "x-ray of the left knee".getBytes(StandardCharsets.UTF_8);
+		String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+
+		Map<String, Object> result = storage.upload(file("knee.png", content));
+		assertEquals(hash, result.get("public_id"));
+		assertEquals("/api/blobs/" + hash, result.get("url"));
+		assertEquals((long) content.length, result.get("bytes"));
+
+		Path stored = storage.resolve(hash).orElseThrow();
+		assertEquals(root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash), stored);
+		assertArrayEquals(content, Files.readAllBytes(stored));
+		try (var staging = Files.list(root.resolve("tmp"))) {
+			assertEquals(0, staging.count());
+		}
+	}
+
+	@Test
+	void identicalUploadsShareOneBlob() throws Exception {
+		byte[] content = "same lab result".getBytes(StandardCharsets.UTF_8);
+		Object first = storage.upload(file("a.pdf", content)).get("public_id");
+		Object second = storage.upload(file("b.pdf", content)).get("public_id");
+		Object other = storage.upload(file("c.pdf", "another result".getBytes(StandardCharsets.UTF_8))).get("public_id");
+
+		assertEquals(first, second);
+		assertNotEquals(first, other);
+		try (var blobs = Files.walk(root)) {
+			assertEquals(2, blobs.filter(Files::isRegularFile).count());
+		}
+		// The source files are untouched; the caller owns them
+		assertTrue(Files.exists(temp.resolve("a.pdf")));
+	}
+
+	@Test
+	void deletesOnlyWellFormedIds() throws Exception {
+		String id = (String) storage.upload(file("scan.png", "scan".getBytes(StandardCharsets.UTF_8))).get("public_id");
+
+		assertEquals(Set.of(), storage.deleteImages(Set.of(id, "../../etc/passwd", "not-a-hash")));
+		assertTrue(storage.resolve(id).isEmpty());
+		// Already gone counts as deleted
+		storage.deleteImage(id);
+		assertTrue(storage.resolve("../../etc/passwd").isEmpty());
+	}
+
+	private Path file(String name, byte[] content) throws IOException {
+		return Files.write(temp.resolve(name), content);
+	}
+}
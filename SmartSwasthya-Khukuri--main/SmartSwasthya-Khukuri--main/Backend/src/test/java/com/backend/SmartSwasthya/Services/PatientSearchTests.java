@@ -0,0 +1,127 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.Hospital;
+import com.backend.SmartSwasthya.Models.Patient;
+import com.backend.SmartSwasthya.Repository.HospitalRepository;
+import com.backend.SmartSwasthya.Repository.PatientRepository;
+import com.backend.SmartSwasthya.dto.PatientMatch;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Patients are found by phone prefix, by name across romanisation variants and small misspellings, and the
+ * index follows creates, updates and deletes.
+ */
+@SpringBootTest
+class PatientSearchTests {
+
+	@Autowired
+	private PatientService patientService;
+	@Autowired
+	private HospitalService hospitalService;
+	@Autowired
+	private PatientSearchIndex patientSearchIndex;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+
+	@Test
+	void findsPatientsByPhoneAndNameVariants() {
+		Hospital hospital = hospital("Search Hospital");
+		Hospital other = hospital("Search Neighbour");
+		Patient sita = patient(hospital, "Sita Shrestha", "+977-984-1234567");
+		Patient ram = patient(hospital, "Ram Bahadur Thapa", "9841239999");
+		Patient laxmi = patient(hospital, "Laxmi Gurung", "9812345678");
+		Patient neighbour = patient(other, "Sita Srestha", "9801111111");
+		Long hospitalId = hospital.getId();
+
+		assertEquals(List.of(sita.getId(), ram.getId()), ids(patientService.searchPatients("984-123", hospitalId, 10)));
+		assertEquals(List.of(sita.getId()), ids(patientService.searchPatients("+977 9841234567", hospitalId, 10)));
+		assertEquals(List.of(sita.getId()), ids(patientService.searchPatients("srestha", hospitalId, 10)));
+		assertEquals(List.of(laxmi.getId()), ids(patientService.searchPatients("Lakshmi", hospitalId, 10)));
+		assertEquals(List.of(laxmi.getId()), ids(patientService.searchPatients("laxmi gurang", hospitalId, 10))); // misspelt
+		assertEquals(List.of(ram.getId()), ids(patientService.searchPatients("thapa ram", hospitalId, 10)));
+		// Without a hospital, the literal match ranks above the phonetic one
+		List<Long> sitas = ids(patientService.searchPatients("sita shre", null, 50));
+		assertTrue(sitas.indexOf(sita.getId()) >= 0 && sitas.indexOf(sita.getId()) < sitas.indexOf(neighbour.getId()), sitas::toString);
+
+		Patient renamed = new Patient();
+		renamed.setName("Hari Thapa");
+		renamed.setPhone(ram.getPhone());
+		patientService.updatePatient(ram.getId(), renamed, hospitalId);
+		assertTrue(patientService.searchPatients("ram bahadur", hospitalId, 10).isEmpty());
+		assertEquals(List.of(ram.getId()), ids(patientService.searchPatients("hari", hospitalId, 10)));
+
+		assertTrue(patientService.deletePatient(sita.getId()));
+		assertTrue(patientService.searchPatients("sita", hospitalId, 10).isEmpty());
+
+		assertTrue(hospitalService.deleteHospital(hospitalId));
+		assertTrue(patientService.searchPatients("laxmi", hospitalId, 10).isEmpty());
+		assertEquals(List.of(neighbour.getId()), ids(patientService.searchPatients("9801111111", null, 10)));
+	}
+
+	@Test
+	void hospitalSearchesOnlySeeThatHospital() {
+		Hospital east = hospital("Search East");
+		Hospital west = hospital("Search West");
+		Hospital empty = hospital("Search Empty");
+		Patient gita = patient(east, "Gita Karki", "9851000001");
+		Patient moving = patient(west, "Gita Khadka", "9851000002");
+
+		assertEquals(List.of(gita.getId()), ids(patientService.searchPatients("985100", east.getId(), 10)));
+		assertEquals(List.of(moving.getId()), ids(patientService.searchPatients("gita", west.getId(), 10)));
+		assertTrue(patientService.searchPatients("985100", empty.getId(), 10).isEmpty());
+		assertTrue(patientService.searchPatients("gita", empty.getId(), 10).isEmpty());
+
+		Patient details = new Patient();
+		details.setName(moving.getName());
+		details.setPhone(moving.getPhone());
+		patientService.updatePatient(moving.getId(), details, east.getId());
+		assertEquals(List.of(gita.getId(), moving.getId()), ids(patientService.searchPatients("985100", east.getId(), 10)));
+		assertTrue(patientService.searchPatients("gita", west.getId(), 10).isEmpty());
+		assertTrue(patientService.searchPatients("khadka", west.getId(), 10).isEmpty());
+	}
+
+	@Test
+	void rebuildPicksUpRowsWrittenBehindItsBack() {
+		Hospital hospital = hospital("Search Rebuild Hospital");
+		Patient patient = new Patient();
+		patient.setName("Bishnu Maya Rai");
+		patient.setHospital(hospital);
+		patient = patientRepository.save(patient); // as another instance would
+
+		assertTrue(patientService.searchPatients("bishnu", hospital.getId(), 10).isEmpty());
+		patientSearchIndex.rebuild();
+		assertEquals(List.of(patient.getId()), ids(patientService.searchPatients("Visnu", hospital.getId(), 10)));
+	}
+
+	@Test
+	void rejectsQueriesTheIndexCannotAnswer() {
+		assertThrows(IllegalArgumentException.class, () -> patientService.searchPatients(" ", null, 10));
+		assertThrows(IllegalArgumentException.class, () -> patientService.searchPatients("98", null, 10));
+		assertThrows(IllegalArgumentException.class, () -> patientService.searchPatients("sita", null, 0));
+	}
+
+	private static List<Long> ids(List<PatientMatch> matches) {
+		return matches.stream().map(PatientMatch::id).toList();
+	}
+
+	private Hospital hospital(String name) {
+		Hospital hospital = new Hospital();
+		hospital.setName(name);
+		return hospitalRepository.save(hospital);
+	}
+
+	private Patient patient(Hospital hospital, String name, String phone) {
+		Patient patient = new Patient();
+		patient.setName(name);
+		patient.setPhone(phone);
+		return patientService.createPatient(patient, hospital.getId());
+	}
+}
@@ -0,0 +1,109 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bookings and doctor listings read hospitals, departments and doctors from the second-level cache, and
+ * the reference-data services keep it current.
+ */
+@SpringBootTest
+class ReferenceDataCacheTests {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private AppointmentService appointmentService;
+	@Autowired
+	private HospitalService hospitalService;
+	@Autowired
+	private DepartmentService departmentService;
+	@Autowired
+	private DoctorService doctorService;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+
+	@Test
+	void bookingAndListingReadReferenceDataFromCache() {
+		Hospital hospital = new Hospital();
+		hospital.setName("Cache Hospital");
+		hospital = hospitalRepository.save(hospital);
+
+		Department department = new Department();
+		department.setName("Cache Department");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+
+		Doctor doctor = new Doctor();
+		doctor.setName("Dr. Cache");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		doctor = doctorRepository.save(doctor);
+
+		Patient patient = new Patient();
+		patient.setName("Cache Patient");
+		patient.setHospital(hospital);
+		patient = patientRepository.save(patient);
+
+		DoctorAvailability slot = new DoctorAvailability();
+		slot.setDoctor(doctor);
+		slot.setAvailableDate(LocalDate.now().plusDays(5));
+		slot.setStartTime(LocalTime.of(14, 0));
+		slot.setEndTime(LocalTime.of(14, 15));
+		slot = doctorAvailabilityRepository.save(slot);
+
+		// Rows with identity keys are cached on first read, not on insert
+		hospitalService.getHospitalById(hospital.getId());
+		departmentService.getDepartmentById(department.getId());
+		doctorService.getDoctorById(doctor.getId());
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), slot.getId(), "cache");
+		doctorService.getDoctorsByHospitalAndDepartment(hospital.getId(), department.getId());
+
+		for (String region : new String[]{"reference.hospitals", "reference.departments", "reference.doctors"}) {
+			CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+			assertEquals(0, regionStatistics.getMissCount(), () -> region + " was read from the database");
+		}
+		assertTrue(statistics.getDomainDataRegionStatistics("reference.hospitals").getHitCount() > 0);
+		assertTrue(statistics.getDomainDataRegionStatistics("reference.departments").getHitCount() > 0);
+	}
+
+	@Test
+	void updatesReplaceCachedRows() {
+		Hospital hospital = new Hospital();
+		hospital.setName("Before");
+		Long id = hospitalService.createHospital(hospital).getId();
+		assertEquals("Before", hospitalService.getHospitalById(id).orElseThrow().getName());
+
+		Hospital details = new Hospital();
+		details.setName("After");
+		hospitalService.updateHospital(id, details);
+		assertEquals("After", hospitalService.getHospitalById(id).orElseThrow().getName());
+
+		hospitalService.deleteHospital(id);
+		assertTrue(hospitalService.getHospitalById(id).isEmpty());
+	}
+}
@@ -0,0 +1,177 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.Hospital;
+import com.backend.SmartSwasthya.Models.Patient;
+import com.backend.SmartSwasthya.Models.PatientReport;
+import com.backend.SmartSwasthya.Models.ReportStatus;
+import com.backend.SmartSwasthya.Repository.HospitalRepository;
+import com.backend.SmartSwasthya.Repository.PatientReportRepository;
+import com.backend.SmartSwasthya.Repository.PatientRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Uploads are accepted as PENDING and finished by the background queue, which retries with backoff,
+ * gives up (cleaning the spool) after max-attempts, and resumes PENDING rows after a restart.
+ */
+@SpringBootTest(properties = {
+		"smartswasthya.upload.retry-backoff=PT0.1S",
+		"smartswasthya.upload.max-attempts=3"
+})
+@AutoConfigureMockMvc
+class ReportUploadQueueTests {
+
+	@MockitoSpyBean
+	private CloudinaryImageService storage;
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ObjectMapper objectMapper;
+	@Autowired
+	private PatientReportService patientReportService;
+	@Autowired
+	private ReportUploadQueue reportUploadQueue;
+	@Autowired
+	private PatientReportRepository patientReportRepository;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+
+	private Patient patient;
+
+	@BeforeEach
+	void seed() {
+		Hospital hospital = new Hospital();
+		hospital.setName("Queue Hospital");
+		hospital = hospitalRepository.save(hospital);
+		patient = new Patient();
+		patient.setName("Queue Patient");
+		patient.setHospital(hospital);
+		patient = patientRepository.save(patient);
+	}
+
+	@Test
+	void uploadIsAcceptedThenFinishedInTheBackground() throws Exception {
+		MockHttpServletResponse response = mockMvc.perform(multipart("/api/patient-reports/upload")
+						.file(new MockMultipartFile("file", "report.pdf", "application/pdf", uniqueContent()))
+						.param("patientId", patient.getId().toString())
+						.param("reportType", "X-Ray"))
+				.andExpect(status().isAccepted())
+				.andReturn().getResponse();
+		JsonNode accepted = objectMapper.readTree(response.getContentAsString());
+		assertEquals("PENDING", accepted.get("status").asText());
+		String location = response.getHeader(HttpHeaders.LOCATION);
+		assertEquals("/api/patient-reports/" + accepted.get("id").asLong() + "/status", location);
+
+		JsonNode done = null;
+		for (int i = 0; i < 100 && (done == null || !"UPLOADED".equals(done.get("status").asText())); i++) {
+			Thread.sleep(50);
+			done = objectMapper.readTree(mockMvc.perform(get(location)).andReturn().getResponse().getContentAsString());
+		}
+		assertEquals("UPLOADED", done.get("status").asText());
+		assertTrue(done.get("reportUrl").asText().startsWith("/api/blobs/"));
+		// A patient's report: only the browser may cache it
+		assertEquals("private, max-age=31536000, immutable", mockMvc.perform(get(done.get("reportUrl").asText()))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader(HttpHeaders.CACHE_CONTROL));
+	}
+
+	@Test
+	void failedUploadsAreRetriedWithBackoff() throws Exception {
+		doThrow(new IOException("storage down")).doThrow(new IOException("storage down")).doCallRealMethod()
+				.when(storage).upload(any(Path.class));
+
+		long started = System.nanoTime();
+		PatientReport report = upload();
+		PatientReport uploaded = awaitStatus(report.getId(), ReportStatus.UPLOADED);
+		// Two failures: waits of 0.1s and 0.2s before the third attempt
+		assertTrue(System.nanoTime() - started >= 300_000_000L);
+		assertEquals(2, uploaded.getUploadAttempts());
+		assertNull(uploaded.getSpoolFile());
+	}
+
+	@Test
+	void givingUpRemovesTheSpoolFile() throws Exception {
+		doThrow(new IOException("storage down")).when(storage).upload(any(Path.class));
+
+		PatientReport report = upload();
+		Path spooled = reportUploadQueue.spoolDirectory().resolve(report.getSpoolFile());
+		PatientReport failed = awaitStatus(report.getId(), ReportStatus.FAILED);
+		assertEquals(3, failed.getUploadAttempts());
+		assertNull(failed.getSpoolFile());
+		awaitDeleted(spooled);
+	}
+
+	@Test
+	void pendingReportsAreResumedAfterARestart() throws Exception {
+		// What a previous instance left behind: a spooled file and its PENDING row, never queued here
+		String spoolName = UUID.randomUUID().toString();
+		Files.write(reportUploadQueue.spoolDirectory().resolve(spoolName), uniqueContent());
+		PatientReport pending = new PatientReport();
+		pending.setPatient(patient);
+		pending.setReportType("MRI");
+		pending.setUploadedBy("System");
+		pending.setUploadedDate(LocalDate.now());
+		pending.setStatus(ReportStatus.PENDING);
+		pending.setSpoolFile(spoolName);
+		pending = patientReportRepository.save(pending);
+
+		reportUploadQueue.resumePending();
+		PatientReport uploaded = awaitStatus(pending.getId(), ReportStatus.UPLOADED);
+		assertNotNull(uploaded.getCloudinaryPublicId());
+		awaitDeleted(reportUploadQueue.spoolDirectory().resolve(spoolName));
+	}
+
+	private PatientReport upload() {
+		return patientReportService.uploadReport(patient.getId(), "Blood Test",
+				new MockMultipartFile("file", "report.pdf", "application/pdf", uniqueContent()), "Lab");
+	}
+
+	private static byte[] uniqueContent() {
+		return ("report " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private PatientReport awaitStatus(Long reportId, ReportStatus expected) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			PatientReport report = patientReportRepository.findById(reportId).orElseThrow();
+			if (report.getStatus() == expected) {
+				return report;
+			}
+			Thread.sleep(50);
+		}
+		return fail("Report " + reportId + " never reached " + expected);
+	}
+
+	// The spool file is removed after the status commits, so it can briefly outlive the status change
+	private static void awaitDeleted(Path spooled) throws InterruptedException {
+		for (int i = 0; i < 100 && Files.exists(spooled); i++) {
+			Thread.sleep(50);
+		}
+		assertFalse(Files.exists(spooled), spooled + " was never removed");
+	}
+}
@@ -0,0 +1,82 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.Hospital;
+import com.backend.SmartSwasthya.Models.Patient;
+import com.backend.SmartSwasthya.Models.PatientReport;
+import com.backend.SmartSwasthya.Models.ReportStatus;
+import com.backend.SmartSwasthya.Repository.HospitalRepository;
+import com.backend.SmartSwasthya.Repository.PatientReportRepository;
+import com.backend.SmartSwasthya.Repository.PatientRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * The storage call of a report upload runs with no database transaction (and so no pooled connection)
+ * held; the request itself only spools the file and writes the PENDING row.
+ */
+@SpringBootTest
+class ReportUploadTransactionTests {
+
+	@MockitoSpyBean
+	private CloudinaryImageService storage;
+	@Autowired
+	private PatientReportService patientReportService;
+	@Autowired
+	private PatientReportRepository patientReportRepository;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+
+	@Test
+	void storageIsCalledOutsideAnyTransaction() throws Exception {
+		List<Boolean> inTransaction = new CopyOnWriteArrayList<>();
+		doAnswer(invocation -> {
+			inTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+			return invocation.callRealMethod();
+		}).when(storage).upload(any(Path.class));
+
+		Hospital hospital = new Hospital();
+		hospital.setName("Upload Hospital");
+		hospital = hospitalRepository.save(hospital);
+		Patient patient = new Patient();
+		patient.setName("Upload Patient");
+		patient.setHospital(hospital);
+		patient = patientRepository.save(patient);
+
+		byte[] content = ("report " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+		PatientReport report = patientReportService.uploadReport(patient.getId(), "Blood Test",
+				new MockMultipartFile("file", "report.pdf", "application/pdf", content), "Lab");
+		assertEquals(ReportStatus.PENDING, report.getStatus());
+		assertTrue(inTransaction.isEmpty(), "The request thread must not upload");
+
+		PatientReport uploaded = awaitStatus(report.getId(), ReportStatus.UPLOADED);
+		assertNotNull(uploaded.getReportUrl());
+		assertEquals(List.of(false), inTransaction);
+	}
+
+	private PatientReport awaitStatus(Long reportId, ReportStatus expected) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			PatientReport report = patientReportRepository.findById(reportId).orElseThrow();
+			if (report.getStatus() == expected) {
+				return report;
+			}
+			Thread.sleep(50);
+		}
+		return fail("Report " + reportId + " never reached " + expected);
+	}
+}
@@ -0,0 +1,134 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import com.backend.SmartSwasthya.dto.SlotView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The index agrees with doctor_availabilities after warm-up, after booking events and after a reconcile,
+ * and only keeps days inside its horizon.
+ */
+@SpringBootTest
+class SlotAvailabilityIndexTests {
+
+	private static final LocalDate DAY = LocalDate.now().plusDays(33);
+	private static final LocalDate EMPTY_DAY = LocalDate.now().plusDays(34);
+	private static final LocalDate FAR_DAY = LocalDate.now().plusDays(300);
+
+	@Autowired
+	private SlotAvailabilityIndex slotAvailabilityIndex;
+	@Autowired
+	private AppointmentService appointmentService;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private PatientRepository patientRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Department department;
+	private Doctor doctor;
+	private Patient patient;
+	private DoctorAvailability slot;
+	private DoctorAvailability farSlot;
+
+	@BeforeEach
+	void seed() {
+		Hospital hospital = new Hospital();
+		hospital.setName("Index Hospital");
+		hospital = hospitalRepository.save(hospital);
+
+		department = new Department();
+		department.setName("Index Department");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+
+		doctor = new Doctor();
+		doctor.setName("Dr. Index");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		doctor = doctorRepository.save(doctor);
+
+		patient = new Patient();
+		patient.setName("Index Patient");
+		patient.setHospital(hospital);
+		patient = patientRepository.save(patient);
+
+		// Saved through the repository, so no event reaches the index; warm-up has to find them
+		slot = slot(DAY, LocalTime.of(9, 0));
+		farSlot = slot(FAR_DAY, LocalTime.of(9, 0));
+		slotAvailabilityIndex.warmUp();
+	}
+
+	@Test
+	void warmUpLoadsDaysUpToTheHorizon() {
+		assertTrue(slotAvailabilityIndex.isResident(doctor.getId(), DAY));
+		assertEquals(List.of(slot.getId()), freeSlotIds(DAY));
+
+		// Beyond the horizon the table answers, but the day isn't kept
+		assertFalse(slotAvailabilityIndex.isResident(doctor.getId(), FAR_DAY));
+		assertEquals(List.of(farSlot.getId()), freeSlotIds(FAR_DAY));
+		assertFalse(slotAvailabilityIndex.isResident(doctor.getId(), FAR_DAY));
+	}
+
+	@Test
+	void bookingEventsKeepResidentDaysCurrent() {
+		Long appointmentId = appointmentService.bookAppointment(patient.getId(), department.getId(), doctor.getId(), slot.getId(), "index").getId();
+		assertTrue(freeSlotIds(DAY).isEmpty());
+
+		appointmentService.cancelAppointment(appointmentId);
+		assertEquals(List.of(slot.getId()), freeSlotIds(DAY));
+		assertEquals(0, slotAvailabilityIndex.reconcile());
+	}
+
+	@Test
+	void reconcileRepairsDriftAndDropsEmptyDays() {
+		// A write behind the index's back, e.g. from another instance
+		jdbcTemplate.update("UPDATE doctor_availabilities SET is_booked = TRUE WHERE id = ?", slot.getId());
+		assertEquals(List.of(slot.getId()), freeSlotIds(DAY));
+		assertTrue(freeSlotIds(EMPTY_DAY).isEmpty());
+		assertTrue(slotAvailabilityIndex.isResident(doctor.getId(), EMPTY_DAY));
+
+		assertTrue(slotAvailabilityIndex.reconcile() >= 1);
+		assertTrue(freeSlotIds(DAY).isEmpty());
+		assertFalse(slotAvailabilityIndex.isResident(doctor.getId(), EMPTY_DAY));
+	}
+
+	@Test
+	void arbitraryDatesAreNotRetained() {
+		int resident = slotAvailabilityIndex.residentDays();
+		assertTrue(slotAvailabilityIndex.getFreeSlots(-1L, LocalDate.now().minusDays(1)).isEmpty());
+		assertTrue(slotAvailabilityIndex.getFreeSlots(-1L, LocalDate.now().plusYears(5)).isEmpty());
+		assertEquals(resident, slotAvailabilityIndex.residentDays());
+	}
+
+	private List<Long> freeSlotIds(LocalDate date) {
+		return slotAvailabilityIndex.getFreeSlots(doctor.getId(), date).stream().map(SlotView::id).toList();
+	}
+
+	private DoctorAvailability slot(LocalDate date, LocalTime start) {
+		DoctorAvailability availability = new DoctorAvailability();
+		availability.setDoctor(doctor);
+		availability.setAvailableDate(date);
+		availability.setStartTime(start);
+		availability.setEndTime(start.plusMinutes(15));
+		return doctorAvailabilityRepository.save(availability);
+	}
+}
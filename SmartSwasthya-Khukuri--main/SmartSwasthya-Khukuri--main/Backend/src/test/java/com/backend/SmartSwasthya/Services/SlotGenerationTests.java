@@ -0,0 +1,113 @@
+package com.backend.SmartSwasthya.Services;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import com.backend.SmartSwasthya.dto.SlotGenerationResult;
+import com.backend.SmartSwasthya.dto.SlotScheduleTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A recurrence template becomes slots on the matching days around the breaks; submitting it again, or
+ * over slots the doctor already has, only skips.
+ */
+@SpringBootTest
+class SlotGenerationTests {
+
+	private static final LocalDate MONDAY = LocalDate.now().plusDays(44).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+	@Autowired
+	private DoctorAvailabilityService doctorAvailabilityService;
+	@Autowired
+	private HospitalRepository hospitalRepository;
+	@Autowired
+	private DepartmentRepository departmentRepository;
+	@Autowired
+	private DoctorRepository doctorRepository;
+	@Autowired
+	private DoctorAvailabilityRepository doctorAvailabilityRepository;
+
+	private Doctor doctor;
+
+	@BeforeEach
+	void seed() {
+		Hospital hospital = new Hospital();
+		hospital.setName("Template Hospital");
+		hospital = hospitalRepository.save(hospital);
+
+		Department department = new Department();
+		department.setName("Template Department");
+		department.setHospital(hospital);
+		department = departmentRepository.save(department);
+
+		doctor = new Doctor();
+		doctor.setName("Dr. Template");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		doctor = doctorRepository.save(doctor);
+	}
+
+	@Test
+	void expandsOnMatchingDaysAroundBreaks() {
+		// Asked for before generation, so the index holds the day as empty and must pick up the new slots
+		assertTrue(doctorAvailabilityService.getAvailableSlotsForDoctorAndDate(doctor.getId(), MONDAY).isEmpty());
+
+		SlotGenerationResult result = doctorAvailabilityService.generateSlots(doctor.getId(), mondaysAndWednesdays());
+		assertEquals(new SlotGenerationResult(6, 0), result);
+
+		assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(9, 30), LocalTime.of(10, 30)), startTimes(MONDAY));
+		assertEquals(3, startTimes(MONDAY.plusDays(2)).size());
+		assertTrue(startTimes(MONDAY.plusDays(1)).isEmpty());
+		assertEquals(3, doctorAvailabilityService.getAvailableSlotsForDoctorAndDate(doctor.getId(), MONDAY).size());
+	}
+
+	@Test
+	void resubmittingOrOverlappingOnlySkips() {
+		DoctorAvailability manual = new DoctorAvailability();
+		manual.setDoctor(doctor);
+		manual.setAvailableDate(MONDAY);
+		manual.setStartTime(LocalTime.of(9, 15));
+		manual.setEndTime(LocalTime.of(9, 45));
+		doctorAvailabilityRepository.save(manual);
+
+		// 9:00 and 9:30 overlap the manual 9:15-9:45 slot
+		assertEquals(new SlotGenerationResult(4, 2), doctorAvailabilityService.generateSlots(doctor.getId(), mondaysAndWednesdays()));
+		assertEquals(new SlotGenerationResult(0, 6), doctorAvailabilityService.generateSlots(doctor.getId(), mondaysAndWednesdays()));
+		assertEquals(List.of(LocalTime.of(9, 15), LocalTime.of(10, 30)), startTimes(MONDAY));
+	}
+
+	@Test
+	void rejectsInvalidTemplatesAndUnknownDoctors() {
+		assertThrows(IllegalArgumentException.class, () -> doctorAvailabilityService.generateSlots(-1L, mondaysAndWednesdays()));
+		assertThrows(IllegalArgumentException.class, () -> doctorAvailabilityService.generateSlots(doctor.getId(),
+				new SlotScheduleTemplate(MONDAY, MONDAY, null, LocalTime.of(11, 0), LocalTime.of(9, 0), 30, null)));
+		assertThrows(IllegalArgumentException.class, () -> doctorAvailabilityService.generateSlots(doctor.getId(),
+				new SlotScheduleTemplate(MONDAY, MONDAY.plusYears(2), null, LocalTime.of(9, 0), LocalTime.of(11, 0), 30, null)));
+		assertThrows(IllegalArgumentException.class, () -> doctorAvailabilityService.generateSlots(doctor.getId(),
+				new SlotScheduleTemplate(MONDAY, MONDAY, null, LocalTime.of(9, 0), LocalTime.of(11, 0), 1, null)));
+	}
+
+	private static SlotScheduleTemplate mondaysAndWednesdays() {
+		return new SlotScheduleTemplate(MONDAY, MONDAY.plusDays(6), Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY),
+				LocalTime.of(9, 0), LocalTime.of(11, 0), 30,
+				List.of(new SlotScheduleTemplate.Break(LocalTime.of(10, 0), LocalTime.of(10, 30))));
+	}
+
+	private List<LocalTime> startTimes(LocalDate date) {
+		return doctorAvailabilityService.getAllSlotsForDoctorAndDate(doctor.getId(), date).stream()
+				.map(DoctorAvailability::getStartTime)
+				.sorted()
+				.toList();
+	}
+}
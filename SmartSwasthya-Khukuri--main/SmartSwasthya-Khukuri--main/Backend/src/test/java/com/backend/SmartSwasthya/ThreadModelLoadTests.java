@@ -0,0 +1,235 @@
+package com.backend.SmartSwasthya;
+
+import com.backend.SmartSwasthya.Models.*;
+import com.backend.SmartSwasthya.Repository.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Throughput and latency of the booking and report-upload endpoints under the default platform-thread
+ * Tomcat pool versus the "virtual" profile. Each mode boots the full application on a random port and is
+ * driven over HTTP by a fixed number of concurrent clients. Both modes get the same Hikari pool, so only
+ * the thread model differs.
+ *
+ * Opt-in, because it takes a while:
+ *   mvn test -Dtest=ThreadModelLoadTests -Dloadtest=true [-Dloadtest.clients=200] [-Dloadtest.seconds=10]
+ *       [-Dloadtest.pool-size=20]
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class ThreadModelLoadTests {
+
+	private static final Logger log = LoggerFactory.getLogger(ThreadModelLoadTests.class);
+	private static final int CLIENTS = Integer.getInteger("loadtest.clients", 200);
+	private static final Duration WARM_UP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 3));
+	private static final Duration MEASURE = Duration.ofSeconds(Long.getLong("loadtest.seconds", 10));
+	private static final int POOL_SIZE = Integer.getInteger("loadtest.pool-size", 20);
+	private static final int SLOTS = Integer.getInteger("loadtest.slots", 100_000);
+	private static final byte[] REPORT = new byte[64 * 1024];
+
+	private final HttpClient http = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.executor(Executors.newVirtualThreadPerTaskExecutor())
+			.build();
+
+	@Test
+	void compareThreadModels() throws Exception {
+		new Random(42).nextBytes(REPORT);
+		Map<String, Result> results = new LinkedHashMap<>();
+		for (String mode : List.of("platform", "virtual")) {
+			try (ConfigurableApplicationContext context = boot(mode)) {
+				String base = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+				Fixture fixture = seed(context);
+				AtomicInteger nextSlot = new AtomicInteger();
+
+				IntFunction<HttpRequest> booking = client -> {
+					int slot = nextSlot.getAndIncrement();
+					if (slot >= fixture.slotIds().size()) {
+						return null; // Out of slots; the client stops
+					}
+					String query = "patientId=" + fixture.patientId() + "&departmentId=" + fixture.departmentId()
+							+ "&doctorId=" + fixture.doctorId() + "&availableSlotId=" + fixture.slotIds().get(slot)
+							+ "&reason=load";
+					return HttpRequest.newBuilder(URI.create(base + "/api/appointments/book?" + query))
+							.POST(HttpRequest.BodyPublishers.noBody()).build();
+				};
+				IntFunction<HttpRequest> upload = client -> multipart(base + "/api/patient-reports/upload", fixture.patientId());
+
+				results.put(mode + " POST /api/appointments/book", drive(booking));
+				results.put(mode + " POST /api/patient-reports/upload", drive(upload));
+			}
+		}
+
+		StringBuilder table = new StringBuilder(String.format("%n%-45s %9s %10s %9s %9s %7s",
+				"scenario (" + CLIENTS + " clients, pool " + POOL_SIZE + ")", "requests", "req/s", "p50 ms", "p99 ms", "errors"));
+		results.forEach((name, result) -> table.append(String.format("%n%-45s %9d %10.1f %9.2f %9.2f %7d",
+				name, result.requests(), result.throughput(), result.percentile(0.50), result.percentile(0.99), result.errors())));
+		log.info("{}", table);
+		results.values().forEach(result -> assertTrue(result.requests() > 0));
+	}
+
+	private ConfigurableApplicationContext boot(String mode) {
+		List<String> args = new ArrayList<>(List.of(
+				"--server.port=0",
+				"--management.server.port=0",
+				// A database of its own, so load data never reaches the one other test contexts share
+				"--spring.datasource.url=jdbc:h2:mem:load-" + mode + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+				// The profiles default to different pool sizes; pinning it keeps the comparison about threads
+				"--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+				"--spring.jpa.properties.hibernate.generate_statistics=false",
+				"--logging.level.root=WARN"));
+		if (mode.equals("virtual")) {
+			args.add("--spring.profiles.active=virtual");
+		}
+		return new SpringApplicationBuilder(SmartSwasthyaApplication.class).run(args.toArray(String[]::new));
+	}
+
+	private Fixture seed(ConfigurableApplicationContext context) {
+		Hospital hospital = new Hospital();
+		hospital.setName("Load Hospital");
+		hospital = context.getBean(HospitalRepository.class).save(hospital);
+
+		Department department = new Department();
+		department.setName("Load Department");
+		department.setHospital(hospital);
+		department = context.getBean(DepartmentRepository.class).save(department);
+
+		Doctor doctor = new Doctor();
+		doctor.setName("Load Doctor");
+		doctor.setHospital(hospital);
+		doctor.setDepartment(department);
+		doctor = context.getBean(DoctorRepository.class).save(doctor);
+
+		Patient patient = new Patient();
+		patient.setName("Load Patient");
+		patient.setHospital(hospital);
+		patient = context.getBean(PatientRepository.class).save(patient);
+
+		// Enough 15-minute slots that no client ever fights over one; every booking is a real write
+		JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+		List<Object[]> rows = new ArrayList<>(SLOTS);
+		LocalDate firstDay = LocalDate.now().plusDays(1);
+		for (int i = 0; i < SLOTS; i++) {
+			LocalTime start = LocalTime.MIDNIGHT.plusMinutes(15L * (i % 95));
+			rows.add(new Object[]{doctor.getId(), Date.valueOf(firstDay.plusDays(i / 95)),
+					Time.valueOf(start), Time.valueOf(start.plusMinutes(15))});
+		}
+		jdbc.batchUpdate("INSERT INTO doctor_availabilities (doctor_id, available_date, start_time, end_time, is_booked) "
+				+ "VALUES (?, ?, ?, ?, false)", rows);
+		List<Long> slotIds = jdbc.queryForList("SELECT id FROM doctor_availabilities WHERE doctor_id = ? ORDER BY id",
+				Long.class, doctor.getId());
+		return new Fixture(patient.getId(), department.getId(), doctor.getId(), slotIds);
+	}
+
+	private Result drive(IntFunction<HttpRequest> requests) throws Exception {
+		run(requests, WARM_UP); // JIT, connection pools and caches; not measured
+		return run(requests, MEASURE);
+	}
+
+	private Result run(IntFunction<HttpRequest> requests, Duration duration) throws Exception {
+		long deadline = System.nanoTime() + duration.toNanos();
+		long started = System.nanoTime();
+		List<Future<long[]>> clients = new ArrayList<>();
+		AtomicInteger errors = new AtomicInteger();
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int c = 0; c < CLIENTS; c++) {
+				int client = c;
+				clients.add(executor.submit(() -> {
+					long[] latencies = new long[1024];
+					int count = 0;
+					while (System.nanoTime() < deadline) {
+						HttpRequest request = requests.apply(client);
+						if (request == null) {
+							break;
+						}
+						long sent = System.nanoTime();
+						HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+						long took = System.nanoTime() - sent;
+						if (response.statusCode() >= 300) {
+							errors.incrementAndGet();
+							continue;
+						}
+						if (count == latencies.length) {
+							latencies = Arrays.copyOf(latencies, count * 2);
+						}
+						latencies[count++] = took;
+					}
+					return Arrays.copyOf(latencies, count);
+				}));
+			}
+		}
+		long elapsed = System.nanoTime() - started;
+
+		long[] all = new long[0];
+		for (Future<long[]> client : clients) {
+			long[] latencies = client.get();
+			int offset = all.length;
+			all = Arrays.copyOf(all, offset + latencies.length);
+			System.arraycopy(latencies, 0, all, offset, latencies.length);
+		}
+		Arrays.sort(all);
+		return new Result(all, elapsed, errors.get());
+	}
+
+	private static HttpRequest multipart(String url, Long patientId) {
+		String boundary = "load-" + UUID.randomUUID();
+		String head = "--" + boundary + "\r\nContent-Disposition: form-data; name=\"patientId\"\r\n\r\n" + patientId + "\r\n"
+				+ "--" + boundary + "\r\nContent-Disposition: form-data; name=\"reportType\"\r\n\r\nLoad\r\n"
+				+ "--" + boundary + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"report.bin\"\r\n"
+				+ "Content-Type: application/octet-stream\r\n\r\n";
+		String tail = "\r\n--" + boundary + "--\r\n";
+		return HttpRequest.newBuilder(URI.create(url))
+				.header("Content-Type", "multipart/form-data; boundary=" + boundary)
+				.POST(HttpRequest.BodyPublishers.concat(
+						HttpRequest.BodyPublishers.ofString(head, StandardCharsets.UTF_8),
+						HttpRequest.BodyPublishers.ofByteArray(REPORT),
+						HttpRequest.BodyPublishers.ofString(tail, StandardCharsets.UTF_8)))
+				.build();
+	}
+
+	private record Fixture(Long patientId, Long departmentId, Long doctorId, List<Long> slotIds) {
+	}
+
+	private record Result(long[] latenciesNanos, long elapsedNanos, int errors) {
+
+		int requests() {
+			return latenciesNanos.length;
+		}
+
+		double throughput() {
+			return latenciesNanos.length / (elapsedNanos / 1e9);
+		}
+
+		double percentile(double p) {
+			if (latenciesNanos.length == 0) {
+				return Double.NaN;
+			}
+			int index = (int) Math.ceil(p * latenciesNanos.length) - 1;
+			return latenciesNanos[Math.max(index, 0)] / 1e6;
+		}
+	}
+}